@@ -36,3 +36,116 @@ export async function apiRequest(path, options = {}) {
     throw error;
   }
 }
+
+export async function apiImageRequest(path, options = {}) {
+  try {
+    const response = await fetch(`${API_BASE}${path}`, options);
+
+    if (!response.ok) {
+      if (response.status === 401) {
+        localStorage.removeItem("token");
+        throw new Error("Session expired. Please log in again.");
+      }
+      throw new Error(`${response.status} ${response.statusText}` || "Request failed");
+    }
+
+    const blob = await response.blob();
+    return URL.createObjectURL(blob);
+  } catch (error) {
+    if (error instanceof TypeError) {
+      throw new Error(
+        `Unable to reach server. Start backend on ${API_BASE} and check CORS settings.`
+      );
+    }
+    throw error;
+  }
+}
+
+export async function apiDownload(path, options = {}, fallbackName = "download") {
+  const objectUrl = await apiImageRequest(path, options);
+  const link = document.createElement("a");
+  link.href = objectUrl;
+  link.download = fallbackName;
+  document.body.appendChild(link);
+  link.click();
+  link.remove();
+  setTimeout(() => URL.revokeObjectURL(objectUrl), 0);
+}
+
+// EventSource cannot send the Authorization header, so the stream is read with fetch.
+// Reconnects resume from the last event id; the server answers with "resync" when it can't.
+export function subscribeRequestEvents(onEvent) {
+  let stopped = false;
+  let controller = null;
+  let retryTimer = null;
+  let lastEventId = null;
+
+  const dispatch = (block) => {
+    let name = "message";
+    let id = null;
+    const data = [];
+    for (const line of block.split(/\r?\n/)) {
+      if (!line || line.startsWith(":")) continue;
+      const colon = line.indexOf(":");
+      const field = colon < 0 ? line : line.slice(0, colon);
+      const value = colon < 0 ? "" : line.slice(colon + 1).replace(/^ /, "");
+      if (field === "event") name = value;
+      else if (field === "id") id = value;
+      else if (field === "data") data.push(value);
+    }
+    if (id !== null) lastEventId = id;
+    if (data.length === 0) return;
+    let payload = data.join("\n");
+    try {
+      payload = JSON.parse(payload);
+    } catch {
+      // Plain text payload, e.g. "resync"
+    }
+    onEvent(name, payload);
+  };
+
+  const connect = async () => {
+    const token = localStorage.getItem("token");
+    if (!token) return;
+    controller = new AbortController();
+    const headers = { Authorization: `Bearer ${token}`, Accept: "text/event-stream" };
+    if (lastEventId) headers["Last-Event-ID"] = lastEventId;
+
+    try {
+      const response = await fetch(`${API_BASE}/requests/events`, {
+        headers,
+        signal: controller.signal
+      });
+      // An expired or rejected token will not get better by retrying
+      if (response.status === 401 || response.status === 403) return;
+      if (!response.ok || !response.body) throw new Error(`${response.status}`);
+
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = "";
+      while (true) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true });
+        let boundary;
+        while ((boundary = buffer.search(/\r?\n\r?\n/)) >= 0) {
+          const block = buffer.slice(0, boundary);
+          buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, "");
+          dispatch(block);
+        }
+      }
+    } catch {
+      if (stopped) return;
+    }
+
+    if (!stopped) retryTimer = setTimeout(connect, 5000);
+  };
+
+  connect();
+
+  return () => {
+    stopped = true;
+    clearTimeout(retryTimer);
+    if (controller) controller.abort();
+  };
+}
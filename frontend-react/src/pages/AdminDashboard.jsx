@@ -1,6 +1,6 @@
 import { useEffect, useMemo, useState } from "react";
 import { Link, useNavigate } from "react-router-dom";
-import { apiRequest } from "../api.js";
+import { apiDownload, apiImageRequest, apiRequest } from "../api.js";
 
 const STATUS_OPTIONS = [
   "PENDING",
@@ -28,6 +28,16 @@ const FILTER_CHIPS = [
   { id: "REJECTED", label: "Rejected" }
 ];
 
+// Server-side status filter matching each chip, used by exports
+const CHIP_STATUSES = {
+  PICKUP: "SCHEDULED,PICKUP_SCHEDULED",
+  COMPLETED: "PICKED_UP",
+  REJECTED: "REJECTED"
+};
+
+const IMAGE_BATCH_SIZE = 200;
+const REQUEST_PAGE_SIZE = 50;
+
 const TIME_SLOTS = [
   { value: "09:00:00", label: "Morning (9:00 AM - 12:00 PM)" },
   { value: "12:00:00", label: "Noon (12:00 PM - 03:00 PM)" },
@@ -53,6 +63,17 @@ function getTimeSlotOptions(currentValue) {
   return [{ value: currentValue, label: currentValue }, ...TIME_SLOTS];
 }
 
+// Free places per slot time for one date and zone, from /admin/pickup-slots
+function getSlotAvailabilityKey(draft) {
+  if (!draft?.pickupDate) return null;
+  return `${draft.pickupDate}|${(draft.pickupZone || "").trim().toLowerCase()}`;
+}
+
+function getSlotOptionLabel(slot, available) {
+  if (available === undefined) return slot.label;
+  return available > 0 ? `${slot.label} · ${available} left` : `${slot.label} · Full`;
+}
+
 function getTimeSlotLabel(value) {
   return TIME_SLOTS.find((slot) => slot.value === value)?.label || value;
 }
@@ -121,6 +142,21 @@ function getStatusFieldClass(status) {
   }
 }
 
+// Server-wide counts from /admin/stats; the loaded page is only a fallback
+function getStatsCount(stats, chipId) {
+  const byStatus = stats.byStatus || {};
+  switch (chipId) {
+    case "PICKUP":
+      return (byStatus.SCHEDULED || 0) + (byStatus.PICKUP_SCHEDULED || 0);
+    case "COMPLETED":
+      return byStatus.PICKED_UP || 0;
+    case "REJECTED":
+      return byStatus.REJECTED || 0;
+    default:
+      return stats.total;
+  }
+}
+
 function getStatusCount(requests, chipId) {
   switch (chipId) {
     case "PICKUP":
@@ -153,10 +189,23 @@ function getTodayInputValue() {
   return new Date(now.getTime() - offsetMs).toISOString().split("T")[0];
 }
 
+function toDraft(req) {
+  return {
+    status: req.status || "PENDING",
+    pickupDate: req.pickupDate || "",
+    pickupTime: req.pickupTime || "",
+    pickupZone: req.pickupZone || "",
+    pickupPersonnelName: req.pickupPersonnelName || "",
+    rejectionReason: req.rejectionReason || ""
+  };
+}
+
 export default function AdminDashboard() {
   const navigate = useNavigate();
   const [profile, setProfile] = useState(null);
   const [requests, setRequests] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [requestImages, setRequestImages] = useState({});
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
@@ -166,6 +215,10 @@ export default function AdminDashboard() {
   const [savingId, setSavingId] = useState(null);
   const [expandedId, setExpandedId] = useState(null);
   const [updateNotice, setUpdateNotice] = useState(null);
+  const [exporting, setExporting] = useState(null);
+  const [stats, setStats] = useState(null);
+  const [slotAvailability, setSlotAvailability] = useState({});
+  const [personnel, setPersonnel] = useState([]);
   const minPickupDate = getTodayInputValue();
 
   useEffect(() => {
@@ -184,24 +237,27 @@ export default function AdminDashboard() {
           return;
         }
 
-        const data = await apiRequest("/admin/requests", {
+        const page = await apiRequest(`/admin/requests?limit=${REQUEST_PAGE_SIZE}`, {
           headers: { Authorization: `Bearer ${token}` }
         });
-        const normalized = Array.isArray(data) ? data : [];
+        const normalized = Array.isArray(page?.items) ? page.items : [];
         setRequests(normalized);
+        setNextCursor(page?.nextCursor ?? null);
 
         const initialDrafts = {};
         normalized.forEach((req) => {
-          initialDrafts[req.id] = {
-            status: req.status || "PENDING",
-            pickupDate: req.pickupDate || "",
-            pickupTime: req.pickupTime || "",
-            pickupPersonnelName: req.pickupPersonnelName || "",
-            rejectionReason: req.rejectionReason || ""
-          };
+          initialDrafts[req.id] = toDraft(req);
         });
         setDrafts(initialDrafts);
         setExpandedId(normalized[0]?.id ?? null);
+
+        apiRequest("/admin/personnel", {
+          headers: { Authorization: `Bearer ${token}` }
+        })
+          .then((list) => setPersonnel(Array.isArray(list) ? list.filter((person) => person.active) : []))
+          .catch(() => {
+            // Personnel suggestions are optional; the name stays free text
+          });
       } catch (err) {
         setError(err.message);
       } finally {
@@ -212,6 +268,54 @@ export default function AdminDashboard() {
     load();
   }, []);
 
+  const loadStats = async () => {
+    try {
+      const next = await apiRequest("/admin/stats", {
+        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` }
+      });
+      setStats(next);
+    } catch {
+      // Counts fall back to the loaded page
+    }
+  };
+
+  useEffect(() => {
+    if (profile?.role !== "ADMIN") return;
+    loadStats();
+    const intervalId = setInterval(loadStats, 30000);
+    return () => clearInterval(intervalId);
+  }, [profile?.role]);
+
+  const expandedSlotKey = getSlotAvailabilityKey(expandedId ? drafts[expandedId] : null);
+
+  useEffect(() => {
+    if (!expandedSlotKey || slotAvailability[expandedSlotKey]) return;
+
+    let isActive = true;
+    const [date, zone] = expandedSlotKey.split("|");
+    const params = new URLSearchParams({ from: date, to: date });
+    if (zone) params.set("zone", zone);
+
+    apiRequest(`/admin/pickup-slots?${params}`, {
+      headers: { Authorization: `Bearer ${localStorage.getItem("token")}` }
+    })
+      .then((slots) => {
+        if (!isActive || !Array.isArray(slots)) return;
+        const byTime = {};
+        slots.forEach((slot) => {
+          byTime[slot.time] = slot.available;
+        });
+        setSlotAvailability((prev) => ({ ...prev, [expandedSlotKey]: byTime }));
+      })
+      .catch(() => {
+        // Slot labels simply omit the free count
+      });
+
+    return () => {
+      isActive = false;
+    };
+  }, [expandedSlotKey, slotAvailability]);
+
   useEffect(() => {
     if (requests.length === 0) return;
 
@@ -219,25 +323,45 @@ export default function AdminDashboard() {
     const token = localStorage.getItem("token");
 
     const fetchImages = async () => {
-      const updates = {};
+      const missingIds = requests.map((request) => request?.id).filter((id) => id && !requestImages[id]);
+      if (missingIds.length === 0) return;
 
-      await Promise.all(
-        requests.map(async (request) => {
-          if (!request?.id || requestImages[request.id]) return;
+      const updates = {};
 
-          try {
-            const imagePayload = await apiRequest(`/admin/requests/${request.id}/image-data`, {
-              headers: { Authorization: `Bearer ${token}` }
-            });
+      for (let start = 0; start < missingIds.length; start += IMAGE_BATCH_SIZE) {
+        try {
+          const batch = await apiRequest("/admin/requests/images:batch", {
+            method: "POST",
+            headers: {
+              Authorization: `Bearer ${token}`,
+              "Content-Type": "application/json"
+            },
+            body: JSON.stringify({ ids: missingIds.slice(start, start + IMAGE_BATCH_SIZE), variant: "thumbnail" })
+          });
+
+          (Array.isArray(batch) ? batch : []).forEach((image) => {
+            if (image?.base64Data && !image.error) {
+              updates[image.requestId] = `data:${image.contentType || "image/jpeg"};base64,${image.base64Data}`;
+            }
+          });
+        } catch {
+          // Fall through to the per-request thumbnails below.
+        }
+      }
 
-            if (imagePayload?.base64Data) {
-              const contentType = imagePayload.contentType || "image/jpeg";
-              updates[request.id] = `data:${contentType};base64,${imagePayload.base64Data}`;
+      // Requests not yet migrated to the blob store are missing from the batch response.
+      await Promise.all(
+        missingIds
+          .filter((id) => !updates[id])
+          .map(async (id) => {
+            try {
+              updates[id] = await apiImageRequest(`/admin/requests/${id}/thumbnail`, {
+                headers: { Authorization: `Bearer ${token}` }
+              });
+            } catch {
+              // Leave the fallback tile when an image is missing.
             }
-          } catch {
-            // Leave the fallback tile when an image is missing.
-          }
-        })
+          })
       );
 
       if (isActive && Object.keys(updates).length > 0) {
@@ -252,6 +376,56 @@ export default function AdminDashboard() {
     };
   }, [requestImages, requests]);
 
+  const exportRequests = async (format) => {
+    setExporting(format);
+    try {
+      const params = new URLSearchParams({ format });
+      if (CHIP_STATUSES[statusFilter]) params.set("status", CHIP_STATUSES[statusFilter]);
+      const today = new Date().toISOString().slice(0, 10);
+      await apiDownload(
+        `/admin/requests/export?${params}`,
+        { headers: { Authorization: `Bearer ${localStorage.getItem("token")}` } },
+        `requests-${today}.${format}`
+      );
+    } catch (err) {
+      setError(err.message || "Export failed.");
+    } finally {
+      setExporting(null);
+    }
+  };
+
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    const token = localStorage.getItem("token");
+    setLoadingMore(true);
+    setError("");
+
+    try {
+      const page = await apiRequest(
+        `/admin/requests?limit=${REQUEST_PAGE_SIZE}&cursor=${encodeURIComponent(nextCursor)}`,
+        { headers: { Authorization: `Bearer ${token}` } }
+      );
+      const items = Array.isArray(page?.items) ? page.items : [];
+
+      setRequests((prev) => {
+        const seen = new Set(prev.map((req) => req.id));
+        return [...prev, ...items.filter((req) => !seen.has(req.id))];
+      });
+      setDrafts((prev) => {
+        const next = { ...prev };
+        items.forEach((req) => {
+          if (!next[req.id]) next[req.id] = toDraft(req);
+        });
+        return next;
+      });
+      setNextCursor(page?.nextCursor ?? null);
+    } catch (err) {
+      setError(err.message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const filtered = useMemo(() => {
     const q = query.trim().toLowerCase();
     return requests.filter((req) => {
@@ -276,12 +450,23 @@ export default function AdminDashboard() {
   }, [query, requests, statusFilter]);
 
   const metrics = useMemo(() => {
+    if (stats) {
+      const completed = stats.byStatus?.PICKED_UP || 0;
+      const rejected = stats.byStatus?.REJECTED || 0;
+      return {
+        total: stats.total,
+        active: stats.total - completed - rejected,
+        completed,
+        rejected,
+        today: stats.submittedToday
+      };
+    }
     const total = requests.length;
     const active = requests.filter((req) => req.status !== "PICKED_UP" && req.status !== "REJECTED").length;
     const completed = requests.filter((req) => req.status === "PICKED_UP").length;
     const rejected = requests.filter((req) => req.status === "REJECTED").length;
-    return { total, active, completed, rejected };
-  }, [requests]);
+    return { total, active, completed, rejected, today: null };
+  }, [requests, stats]);
 
   const handleDraftChange = (id, field, value) => {
     setDrafts((prev) => ({
@@ -311,7 +496,10 @@ export default function AdminDashboard() {
       if (requiresSchedule) {
         body.pickupDate = draft.pickupDate || null;
         body.pickupTime = draft.pickupTime || null;
+        body.pickupZone = draft.pickupZone?.trim() || null;
         body.pickupPersonnelName = draft.pickupPersonnelName || null;
+        body.pickupPersonnelId =
+          personnel.find((person) => person.name === draft.pickupPersonnelName?.trim())?.id ?? null;
       }
 
       if (isRejected) {
@@ -330,15 +518,11 @@ export default function AdminDashboard() {
       setRequests((prev) => prev.map((req) => (req.id === id ? updated : req)));
       setDrafts((prev) => ({
         ...prev,
-        [id]: {
-          status: updated.status,
-          pickupDate: updated.pickupDate || "",
-          pickupTime: updated.pickupTime || "",
-          pickupPersonnelName: updated.pickupPersonnelName || "",
-          rejectionReason: updated.rejectionReason || ""
-        }
+        [id]: toDraft(updated)
       }));
       setExpandedId((prev) => (prev === id ? null : prev));
+      setSlotAvailability({});
+      loadStats();
       setUpdateNotice({
         id: updated.id,
         status: STATUS_LABELS[updated.status] || updated.status
@@ -384,6 +568,22 @@ export default function AdminDashboard() {
             </p>
           </div>
           <div className="adminv2-topbar-actions">
+            <button
+              type="button"
+              className="btn adminv2-secondary-btn"
+              onClick={() => exportRequests("csv")}
+              disabled={exporting !== null}
+            >
+              {exporting === "csv" ? "Exporting..." : "Export CSV"}
+            </button>
+            <button
+              type="button"
+              className="btn adminv2-secondary-btn"
+              onClick={() => exportRequests("ndjson")}
+              disabled={exporting !== null}
+            >
+              {exporting === "ndjson" ? "Exporting..." : "Export NDJSON"}
+            </button>
             <Link to="/dashboard" className="btn adminv2-secondary-btn">
               User Dashboard
             </Link>
@@ -393,7 +593,9 @@ export default function AdminDashboard() {
         <section className="adminv2-stats">
           <article className="adminv2-stat-card">
             <span className="adminv2-stat-value">{metrics.total}</span>
-            <span className="adminv2-stat-label">Total</span>
+            <span className="adminv2-stat-label">
+              {metrics.today === null ? "Total" : `Total · ${metrics.today} today`}
+            </span>
           </article>
           <article className="adminv2-stat-card">
             <span className="adminv2-stat-value adminv2-stat-value-active">{metrics.active}</span>
@@ -419,7 +621,7 @@ export default function AdminDashboard() {
                 onClick={() => setStatusFilter(chip.id)}
               >
                 <span>{chip.label}</span>
-                <strong>{getStatusCount(requests, chip.id)}</strong>
+                <strong>{stats ? getStatsCount(stats, chip.id) : getStatusCount(requests, chip.id)}</strong>
               </button>
             ))}
           </div>
@@ -552,24 +754,49 @@ export default function AdminDashboard() {
                               disabled={!requiresSchedule}
                             >
                               <option value="">Select a time slot</option>
-                              {getTimeSlotOptions(draft.pickupTime).map((slot) => (
-                                <option key={slot.value} value={slot.value}>
-                                  {slot.label}
-                                </option>
-                              ))}
+                              {getTimeSlotOptions(draft.pickupTime).map((slot) => {
+                                const available = slotAvailability[getSlotAvailabilityKey(draft)]?.[slot.value];
+                                return (
+                                  <option
+                                    key={slot.value}
+                                    value={slot.value}
+                                    disabled={available === 0 && slot.value !== req.pickupTime}
+                                  >
+                                    {getSlotOptionLabel(slot, available)}
+                                  </option>
+                                );
+                              })}
                             </select>
                           </div>
 
+                          <div className={requiresSchedule ? "adminv2-editor-block adminv2-editor-block-accent" : "adminv2-editor-block adminv2-editor-block-muted"}>
+                            <label className="adminv2-label">Pickup zone</label>
+                            <input
+                              className="adminv2-field"
+                              type="text"
+                              placeholder="Default zone"
+                              value={draft.pickupZone || ""}
+                              onChange={(event) => handleDraftChange(req.id, "pickupZone", event.target.value)}
+                              disabled={!requiresSchedule}
+                            />
+                          </div>
+
                           <div className={requiresSchedule ? "adminv2-editor-block adminv2-editor-block-wide adminv2-editor-block-accent" : "adminv2-editor-block adminv2-editor-block-wide adminv2-editor-block-muted"}>
                             <label className="adminv2-label">Pickup personnel</label>
                             <input
                               className="adminv2-field"
                               type="text"
                               placeholder="Assign pickup personnel"
+                              list="adminv2-personnel"
                               value={draft.pickupPersonnelName || ""}
                               onChange={(event) => handleDraftChange(req.id, "pickupPersonnelName", event.target.value)}
                               disabled={!requiresSchedule}
                             />
+                            <datalist id="adminv2-personnel">
+                              {personnel.map((person) => (
+                                <option key={person.id} value={person.name} />
+                              ))}
+                            </datalist>
                           </div>
                         </>
                       )}
@@ -610,6 +837,14 @@ export default function AdminDashboard() {
               <p>Try a different search term or switch the status chips above.</p>
             </div>
           )}
+
+          {nextCursor && (
+            <div style={{ display: "flex", justifyContent: "center" }}>
+              <button type="button" className="btn adminv2-secondary-btn" onClick={loadMore} disabled={loadingMore}>
+                {loadingMore ? "Loading..." : "Load older requests"}
+              </button>
+            </div>
+          )}
         </section>
       </div>
 
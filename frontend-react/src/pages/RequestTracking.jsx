@@ -13,7 +13,7 @@ import {
   FaTag,
   FaHashtag
 } from "react-icons/fa";
-import { apiRequest } from "../api.js";
+import { apiRequest, subscribeRequestEvents } from "../api.js";
 
 const STATUS_STEPS = ["PENDING", "ACCEPTED", "PICKUP_SCHEDULED", "PICKED_UP"];
 const STATUS_LABELS = {
@@ -91,12 +91,20 @@ export default function RequestTracking() {
     loadSummary({ withLoading: true });
     loadImageOnce();
 
+    const unsubscribe = subscribeRequestEvents((type, event) => {
+      if (type === "resync" || String(event?.requestId) === String(id)) {
+        loadSummary();
+      }
+    });
+
+    // Fallback for when the event stream is down
     const intervalId = setInterval(() => {
       loadSummary();
-    }, 15000);
+    }, 60000);
 
     return () => {
       isActive = false;
+      unsubscribe();
       clearInterval(intervalId);
     };
   }, [id]);
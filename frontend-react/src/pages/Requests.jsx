@@ -1,4 +1,4 @@
-import { useEffect, useMemo, useState } from "react";
+import { useEffect, useMemo, useRef, useState } from "react";
 import { Link, useNavigate } from "react-router-dom";
 import { MapContainer, Marker, TileLayer, useMap, useMapEvents } from "react-leaflet";
 import L from "leaflet";
@@ -28,7 +28,7 @@ import {
   FaStickyNote,
   FaTools
 } from "react-icons/fa";
-import { apiRequest } from "../api.js";
+import { apiImageRequest, apiRequest, subscribeRequestEvents } from "../api.js";
 
 const CONDITIONS = ["WORKING", "DAMAGED", "DEAD"];
 const DEVICE_TYPES = ["Laptop", "Mobile", "Tablet", "Desktop", "Monitor", "Printer", "Battery", "Other"];
@@ -50,6 +50,8 @@ const STATUS_DETAILS = {
   PICKUP_SCHEDULED: "Pickup date and time have been scheduled.",
   PICKED_UP: "Your e-waste has been successfully collected."
 };
+const IMAGE_BATCH_SIZE = 200;
+const REQUEST_PAGE_SIZE = 50;
 const FORM_STEPS = [
   { id: 1, title: "Device", hint: "Item details" },
   { id: 2, title: "Pickup", hint: "Location & Notes" },
@@ -84,6 +86,52 @@ function MapClickSetter({ onPick }) {
   return null;
 }
 
+// Only pins from the map or device location are sent; typed addresses have none
+function appendCoordinates(payload, values) {
+  if (values.latitude == null || values.longitude == null) return;
+  payload.append("latitude", String(values.latitude));
+  payload.append("longitude", String(values.longitude));
+}
+
+function compareNewestFirst(a, b) {
+  if (a.createdAt !== b.createdAt) return a.createdAt < b.createdAt ? 1 : -1;
+  return b.id - a.id;
+}
+
+function applyChanges(previous, changed, deleted, hasOlderPages) {
+  const byId = new Map(previous.map((request) => [request.id, request]));
+  const oldest = previous[previous.length - 1];
+  let touched = false;
+  deleted.forEach((id) => {
+    touched = byId.delete(id) || touched;
+  });
+  changed.forEach((request) => {
+    const current = byId.get(request.id);
+    if (current) {
+      if (current.updatedAt === request.updatedAt) return;
+    } else if (hasOlderPages && oldest && compareNewestFirst(request, oldest) > 0) {
+      // Rows older than what is loaded arrive with "Load older requests" instead.
+      return;
+    }
+    byId.set(request.id, request);
+    touched = true;
+  });
+  // Deltas repeat a short overlap, so most polls change nothing and keep the same array.
+  return touched ? [...byId.values()].sort(compareNewestFirst) : previous;
+}
+
+function mergeFirstPage(previous, firstPage, nextCursor) {
+  if (!nextCursor) return firstPage;
+  const last = firstPage[firstPage.length - 1];
+  const pageIds = new Set(firstPage.map((request) => request.id));
+  const older = previous.filter(
+    (request) =>
+      !pageIds.has(request.id) &&
+      (request.createdAt < last.createdAt || (request.createdAt === last.createdAt && request.id < last.id))
+  );
+  return [...firstPage, ...older];
+}
+
 export default function Requests({ mode = "all" }) {
   const navigate = useNavigate();
   const inputStyle = {
@@ -105,6 +153,8 @@ export default function Requests({ mode = "all" }) {
     condition: "WORKING",
     quantity: 1,
     pickupAddress: "",
+    latitude: null,
+    longitude: null,
     additionalRemarks: ""
   });
   const [imageFiles, setImageFiles] = useState([]);
@@ -112,6 +162,10 @@ export default function Requests({ mode = "all" }) {
   const [error, setError] = useState("");
   const [showSuccess, setShowSuccess] = useState(false);
   const [requests, setRequests] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const syncCursorRef = useRef(null);
+  const nextCursorRef = useRef(null);
   const [listLoading, setListLoading] = useState(true);
   const [deletingId, setDeletingId] = useState(null);
   const [pendingDeleteId, setPendingDeleteId] = useState(null);
@@ -138,6 +192,8 @@ export default function Requests({ mode = "all" }) {
     condition: "WORKING",
     quantity: 1,
     pickupAddress: "",
+    latitude: null,
+    longitude: null,
     additionalRemarks: ""
   });
   const [updateImageFile, setUpdateImageFile] = useState(null);
@@ -151,12 +207,24 @@ export default function Requests({ mode = "all" }) {
     }
   }, [isSubmitOnly]);
 
+  // The polling interval keeps the first render's closure, so it reads the cursor through a ref.
+  useEffect(() => {
+    nextCursorRef.current = nextCursor;
+  }, [nextCursor]);
+
+  // Pushed events trigger a delta fetch; the slow poll only covers a broken stream.
   useEffect(() => {
     if (isSubmitOnly) return;
+    const unsubscribe = subscribeRequestEvents(() => {
+      fetchMyRequests({ background: true });
+    });
     const intervalId = setInterval(() => {
       fetchMyRequests({ background: true });
-    }, 15000);
-    return () => clearInterval(intervalId);
+    }, 60000);
+    return () => {
+      unsubscribe();
+      clearInterval(intervalId);
+    };
   }, [isSubmitOnly]);
 
   useEffect(() => {
@@ -165,20 +233,34 @@ export default function Requests({ mode = "all" }) {
     const token = localStorage.getItem("token");
 
     const fetchImages = async () => {
+      const missingIds = requests.map((request) => request?.id).filter((id) => id && !requestImages[id]);
+      if (missingIds.length === 0) return;
       const updates = {};
-      await Promise.all(
-        requests.map(async (request) => {
-          if (!request?.id || requestImages[request.id]) return;
-          try {
-            const imagePayload = await apiRequest(`/requests/${request.id}/image-data`, {
-              headers: { Authorization: `Bearer ${token}` }
-            });
-            if (imagePayload?.base64Data) {
-              const contentType = imagePayload.contentType || "image/jpeg";
-              updates[request.id] = `data:${contentType};base64,${imagePayload.base64Data}`;
+      for (let start = 0; start < missingIds.length; start += IMAGE_BATCH_SIZE) {
+        try {
+          const batch = await apiRequest("/requests/images:batch", {
+            method: "POST",
+            headers: { Authorization: `Bearer ${token}`, "Content-Type": "application/json" },
+            body: JSON.stringify({ ids: missingIds.slice(start, start + IMAGE_BATCH_SIZE), variant: "thumbnail" })
+          });
+          (Array.isArray(batch) ? batch : []).forEach((image) => {
+            if (image?.base64Data && !image.error) {
+              updates[image.requestId] = `data:${image.contentType || "image/jpeg"};base64,${image.base64Data}`;
             }
-          } catch { }
-        })
+          });
+        } catch { }
+      }
+      // Requests not yet migrated to the blob store are missing from the batch response.
+      await Promise.all(
+        missingIds
+          .filter((id) => !updates[id])
+          .map(async (id) => {
+            try {
+              updates[id] = await apiImageRequest(`/requests/${id}/thumbnail`, {
+                headers: { Authorization: `Bearer ${token}` }
+              });
+            } catch { }
+          })
       );
       if (isActive && Object.keys(updates).length > 0) {
         setRequestImages((prev) => ({ ...prev, ...updates }));
@@ -194,10 +276,35 @@ export default function Requests({ mode = "all" }) {
     if (!background) setListLoading(true);
     setError("");
     try {
-      const data = await apiRequest("/requests/mine", {
+      if (background && syncCursorRef.current) {
+        try {
+          // Only rows changed since the last poll; idle polls revalidate to 304 in the browser cache.
+          const changes = await apiRequest(`/requests/mine?since=${encodeURIComponent(syncCursorRef.current)}`, {
+            headers: { Authorization: `Bearer ${token}` }
+          });
+          const changed = Array.isArray(changes?.changed) ? changes.changed : [];
+          const deleted = Array.isArray(changes?.deleted) ? changes.deleted : [];
+          setRequests((prev) => applyChanges(prev, changed, deleted, Boolean(nextCursorRef.current)));
+          syncCursorRef.current = changes?.syncCursor ?? syncCursorRef.current;
+          return;
+        } catch {
+          // Expired cursor or too many changes: fall back to reloading the first page.
+          syncCursorRef.current = null;
+        }
+      }
+      const page = await apiRequest(`/requests/mine?limit=${REQUEST_PAGE_SIZE}`, {
         headers: { Authorization: `Bearer ${token}` }
       });
-      setRequests(Array.isArray(data) ? data : []);
+      const items = Array.isArray(page?.items) ? page.items : [];
+      syncCursorRef.current = page?.syncCursor ?? null;
+      if (background) {
+        // Refresh the newest page in place and keep any older pages already loaded.
+        setRequests((prev) => mergeFirstPage(prev, items, page?.nextCursor));
+        setNextCursor((prev) => (page?.nextCursor ? prev ?? page.nextCursor : null));
+      } else {
+        setRequests(items);
+        setNextCursor(page?.nextCursor ?? null);
+      }
     } catch (err) {
       setError(err.message);
     } finally {
@@ -205,6 +312,29 @@ export default function Requests({ mode = "all" }) {
     }
   };
 
+  const loadMoreRequests = async () => {
+    if (!nextCursor || loadingMore) return;
+    const token = localStorage.getItem("token");
+    setLoadingMore(true);
+    setError("");
+    try {
+      const page = await apiRequest(
+        `/requests/mine?limit=${REQUEST_PAGE_SIZE}&cursor=${encodeURIComponent(nextCursor)}`,
+        { headers: { Authorization: `Bearer ${token}` } }
+      );
+      const items = Array.isArray(page?.items) ? page.items : [];
+      setRequests((prev) => {
+        const seen = new Set(prev.map((request) => request.id));
+        return [...prev, ...items.filter((request) => !seen.has(request.id))];
+      });
+      setNextCursor(page?.nextCursor ?? null);
+    } catch (err) {
+      setError(err.message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const statusClassName = (status) => {
     switch (status) {
       case "PENDING":
@@ -230,6 +360,8 @@ export default function Requests({ mode = "all" }) {
       condition: request.condition || "WORKING",
       quantity: request.quantity || 1,
       pickupAddress: request.pickupAddress || "",
+      latitude: request.latitude ?? null,
+      longitude: request.longitude ?? null,
       additionalRemarks: request.additionalRemarks || ""
     });
     setEditingRequest(request);
@@ -247,6 +379,10 @@ export default function Requests({ mode = "all" }) {
       setUpdateForm((prev) => ({ ...prev, quantity: Number(value) }));
       return;
     }
+    if (name === "pickupAddress") {
+      setUpdateForm((prev) => ({ ...prev, pickupAddress: value, latitude: null, longitude: null }));
+      return;
+    }
     setUpdateForm((prev) => ({ ...prev, [name]: value }));
   };
 
@@ -265,6 +401,7 @@ export default function Requests({ mode = "all" }) {
     payload.append("condition", updateForm.condition);
     payload.append("quantity", String(updateForm.quantity));
     payload.append("pickupAddress", updateForm.pickupAddress.trim());
+    appendCoordinates(payload, updateForm);
     if (updateForm.additionalRemarks.trim()) payload.append("additionalRemarks", updateForm.additionalRemarks.trim());
     if (updateImageFile) payload.append("image", updateImageFile);
 
@@ -301,6 +438,10 @@ export default function Requests({ mode = "all" }) {
       setForm((prev) => ({ ...prev, quantity: Number(value) }));
       return;
     }
+    if (name === "pickupAddress") {
+      setForm((prev) => ({ ...prev, pickupAddress: value, latitude: null, longitude: null }));
+      return;
+    }
     setForm((prev) => ({ ...prev, [name]: value }));
   };
 
@@ -336,7 +477,7 @@ export default function Requests({ mode = "all" }) {
       });
       const data = await response.json();
       const address = data?.display_name || `Lat: ${latitude.toFixed(6)}, Lon: ${longitude.toFixed(6)}`;
-      setForm((prev) => ({ ...prev, pickupAddress: address }));
+      setForm((prev) => ({ ...prev, pickupAddress: address, latitude, longitude }));
       setLocationInfo("Location fetched successfully.");
     } catch (geoError) {
       setLocationError("Unable to fetch location.");
@@ -396,10 +537,11 @@ export default function Requests({ mode = "all" }) {
   const handleUseMapLocation = () => {
     if (!selectedMapResult) return;
     const address = selectedMapResult.displayName || "Selected Location";
+    const { lat: latitude, lon: longitude } = selectedMapResult;
     if (editingRequest) {
-      setUpdateForm((prev) => ({ ...prev, pickupAddress: address }));
+      setUpdateForm((prev) => ({ ...prev, pickupAddress: address, latitude, longitude }));
     } else {
-      setForm((prev) => ({ ...prev, pickupAddress: address }));
+      setForm((prev) => ({ ...prev, pickupAddress: address, latitude, longitude }));
     }
     setMapPickerOpen(false);
   };
@@ -455,6 +597,7 @@ export default function Requests({ mode = "all" }) {
     payload.append("condition", form.condition);
     payload.append("quantity", String(form.quantity));
     payload.append("pickupAddress", form.pickupAddress.trim());
+    appendCoordinates(payload, form);
     if (form.additionalRemarks.trim()) payload.append("additionalRemarks", form.additionalRemarks.trim());
     imageFiles.forEach((file) => {
   payload.append("images", file);
@@ -796,6 +939,20 @@ export default function Requests({ mode = "all" }) {
                 ))}
               </div>
             )}
+
+            {!listLoading && nextCursor && (
+              <div style={{ display: 'flex', justifyContent: 'center', marginTop: '28px' }}>
+                <button
+                  type="button"
+                  className="btn"
+                  style={{ background: 'var(--surface)', border: '2px solid var(--border)', color: 'var(--ink-1)', fontWeight: '700', padding: '12px 32px', borderRadius: '12px' }}
+                  onClick={loadMoreRequests}
+                  disabled={loadingMore}
+                >
+                  {loadingMore ? "Loading..." : "Load older requests"}
+                </button>
+              </div>
+            )}
           </div>
         )}
       </main>
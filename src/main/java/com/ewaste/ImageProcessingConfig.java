@@ -0,0 +1,23 @@
+package com.ewaste;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImageProcessingConfig {
+
+    @Value("${app.images.worker-queue-capacity:500}")
+    private int queueCapacity;
+
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor() {
+
+        ThreadPoolTaskExecutor executor = WorkerPools.callerRuns(
+                "image-worker-", Runtime.getRuntime().availableProcessors(), queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        return executor;
+    }
+}
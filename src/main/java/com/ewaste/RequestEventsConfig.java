@@ -0,0 +1,23 @@
+package com.ewaste;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RequestEventsConfig {
+
+    @Value("${app.events.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${app.events.dispatch-queue-capacity:1000}")
+    private int queueCapacity;
+
+    // A full queue makes the publisher deliver itself
+    @Bean(name = "requestEventsExecutor")
+    public ThreadPoolTaskExecutor requestEventsExecutor() {
+
+        return WorkerPools.callerRuns("request-events-", dispatchThreads, queueCapacity);
+    }
+}
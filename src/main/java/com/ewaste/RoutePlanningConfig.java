@@ -0,0 +1,20 @@
+package com.ewaste;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class RoutePlanningConfig {
+
+    @Value("${app.routes.solver-queue-capacity:1000}")
+    private int queueCapacity;
+
+    // A full queue makes the planning request thread solve routes itself
+    @Bean(name = "routePlanningExecutor")
+    public ThreadPoolTaskExecutor routePlanningExecutor() {
+
+        return WorkerPools.callerRuns("route-solver-", Runtime.getRuntime().availableProcessors(), queueCapacity);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ewaste;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Executor for {@code StreamingResponseBody} downloads (exports, image
+ * batches). The worker pools above are Executor beans, so Boot does not
+ * create its {@code applicationTaskExecutor}, and MVC would otherwise fall
+ * back to an unbounded thread-per-request executor.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    @Value("${app.mvc.async.threads:16}")
+    private int threads;
+
+    @Value("${app.mvc.async.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.mvc.async.request-timeout-ms:600000}")
+    private long requestTimeoutMs;
+
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+
+        return WorkerPools.fixed("mvc-async-", threads, queueCapacity);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+        // Long exports; SSE emitters set their own timeout
+        configurer.setDefaultTimeout(requestTimeoutMs);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ewaste;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Fixed-size worker pools with a bounded queue, shared by the executor
+ * configurations. The container initializes and shuts them down, as they
+ * are returned as beans.
+ */
+final class WorkerPools {
+
+    private WorkerPools() {
+    }
+
+    static ThreadPoolTaskExecutor fixed(String threadNamePrefix, int threads, int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+
+        return executor;
+    }
+
+    /** Back-pressure: when the queue is full the submitting thread does the work itself. */
+    static ThreadPoolTaskExecutor callerRuns(String threadNamePrefix, int threads, int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = fixed(threadNamePrefix, threads, queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        return executor;
+    }
+}
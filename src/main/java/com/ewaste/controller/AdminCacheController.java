@@ -0,0 +1,26 @@
+package com.ewaste.controller;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.CacheStats;
+import com.ewaste.service.MyRequestsCache;
+
+@RestController
+@RequestMapping("/admin/cache")
+public class AdminCacheController {
+
+    private final MyRequestsCache myRequestsCache;
+
+    public AdminCacheController(MyRequestsCache myRequestsCache) {
+        this.myRequestsCache = myRequestsCache;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, CacheStats> cacheStats() {
+        return Map.of("myRequests", myRequestsCache.stats());
+    }
+}
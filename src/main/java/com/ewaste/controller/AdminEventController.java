@@ -0,0 +1,28 @@
+package com.ewaste.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.ChangeFeedPage;
+import com.ewaste.service.RequestOutbox;
+
+@RestController
+@RequestMapping("/admin/events")
+public class AdminEventController {
+
+    private final RequestOutbox outbox;
+
+    public AdminEventController(RequestOutbox outbox) {
+        this.outbox = outbox;
+    }
+
+    @GetMapping
+    public ChangeFeedPage events(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return outbox.feed(after, limit);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ewaste.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.PersonnelRequest;
+import com.ewaste.entity.PickupPersonnel;
+import com.ewaste.service.PersonnelService;
+
+@RestController
+@RequestMapping("/admin/personnel")
+public class AdminPersonnelController {
+
+    private final PersonnelService personnelService;
+
+    public AdminPersonnelController(PersonnelService personnelService) {
+        this.personnelService = personnelService;
+    }
+
+    @GetMapping
+    public List<PickupPersonnel> listPersonnel() {
+        return personnelService.listPersonnel();
+    }
+
+    @PostMapping
+    public PickupPersonnel createPersonnel(@RequestBody PersonnelRequest body) {
+        return personnelService.createPersonnel(body);
+    }
+
+    @PutMapping("/{id}")
+    public PickupPersonnel updatePersonnel(@PathVariable Long id, @RequestBody PersonnelRequest body) {
+        return personnelService.updatePersonnel(id, body);
+    }
+}
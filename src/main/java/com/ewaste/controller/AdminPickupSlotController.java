@@ -0,0 +1,33 @@
+package com.ewaste.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.PickupSlotAvailability;
+import com.ewaste.service.PickupSlots;
+
+@RestController
+@RequestMapping("/admin/pickup-slots")
+public class AdminPickupSlotController {
+
+    private final PickupSlots pickupSlots;
+
+    public AdminPickupSlotController(PickupSlots pickupSlots) {
+        this.pickupSlots = pickupSlots;
+    }
+
+    @GetMapping
+    public List<PickupSlotAvailability> availability(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String zone
+    ) {
+        return pickupSlots.availability(from, to, zone);
+    }
+}
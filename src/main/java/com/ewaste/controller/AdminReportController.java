@@ -0,0 +1,31 @@
+package com.ewaste.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.RequestReport;
+import com.ewaste.service.ReportService;
+
+@RestController
+@RequestMapping("/admin/reports")
+public class AdminReportController {
+
+    private final ReportService reportService;
+
+    public AdminReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @GetMapping
+    public RequestReport report(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return reportService.report(from, to);
+    }
+}
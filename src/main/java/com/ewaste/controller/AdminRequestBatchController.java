@@ -0,0 +1,30 @@
+package com.ewaste.controller;
+
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.AdminRequestBatchRequest;
+import com.ewaste.dto.AdminRequestBatchResult;
+import com.ewaste.service.EwasteRequestService;
+
+// Separate from AdminRequestController: its "/admin/requests" prefix always adds a slash before ":batch"
+@RestController
+@RequestMapping("/admin")
+public class AdminRequestBatchController {
+
+    private final EwasteRequestService requestService;
+
+    public AdminRequestBatchController(EwasteRequestService requestService) {
+        this.requestService = requestService;
+    }
+
+    @PutMapping(value = "/requests:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<AdminRequestBatchResult> updateRequests(@RequestBody AdminRequestBatchRequest request) {
+        return requestService.adminUpdateRequests(request);
+    }
+}
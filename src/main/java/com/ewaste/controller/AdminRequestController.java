@@ -1,18 +1,36 @@
 package com.ewaste.controller;
 
+import com.ewaste.dto.AdminRequestFilter;
 import com.ewaste.dto.AdminRequestUpdateRequest;
 import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.dto.ImageBatchRequest;
+import com.ewaste.dto.NearbyRequest;
+import com.ewaste.dto.RequestCluster;
+import com.ewaste.dto.RequestImageInfo;
+import com.ewaste.dto.RequestPage;
+import com.ewaste.dto.RequestSearchPage;
 import com.ewaste.entity.RequestStatus;
 import com.ewaste.service.EwasteRequestService;
+import com.ewaste.service.RequestExporter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -26,13 +44,115 @@ public class AdminRequestController {
     }
 
     @GetMapping
-    public List<EwasteRequestSummary> allRequests() {
-        return requestService.getAllRequests();
+    public RequestPage allRequests(
+            AdminRequestFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return requestService.getAllRequests(filter, cursor, limit);
+    }
+
+    @GetMapping("/nearby")
+    public List<NearbyRequest> nearbyRequests(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return requestService.findNearbyRequests(lat, lon, radiusKm, status, limit);
+    }
+
+    @GetMapping("/clusters")
+    public List<RequestCluster> requestClusters(
+            @RequestParam(required = false) Integer precision,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return requestService.clusterRequests(precision, status, limit);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRequests(
+            AdminRequestFilter filter,
+            @RequestParam(required = false) String format
+    ) {
+        RequestExporter.Format exportFormat = RequestExporter.Format.fromInput(format);
+
+        String filename = "requests-" + LocalDate.now() + "." + exportFormat.extension();
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(requestService.exportRequests(filter, exportFormat));
+    }
+
+    @GetMapping("/search")
+    public RequestSearchPage searchRequests(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return requestService.searchRequests(q, offset, limit);
     }
 
     @GetMapping("/{id}/image-data")
-    public EwasteRequestService.RequestImagePayload requestImageData(@PathVariable Long id) {
-        return requestService.getAdminRequestImagePayloadById(id);
+    public ResponseEntity<StreamingResponseBody> requestImageData(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestService.getAdminRequestImagePayloadById(id));
+    }
+
+    @PostMapping(value = "/images:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> requestImageBatch(@RequestBody ImageBatchRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestService.getAdminRequestImageBatch(request));
+    }
+
+    @GetMapping("/{id}/images")
+    public List<RequestImageInfo> requestImages(@PathVariable Long id) {
+        return requestService.getAdminRequestImages(id);
+    }
+
+    @GetMapping("/{id}/images/{index}")
+    public void requestImageAt(
+            @PathVariable Long id,
+            @PathVariable int index,
+            @RequestParam(value = "v", required = false) String version,
+            ServletWebRequest webRequest
+    ) throws IOException {
+        ImageResponses.write(
+                webRequest,
+                requestService.findAdminRequestImageRef(id, index).orElse(null),
+                false,
+                version,
+                () -> requestService.getAdminRequestImageContent(id, index)
+        );
+    }
+
+    @GetMapping("/{id}/image")
+    public void requestImage(
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            ServletWebRequest webRequest
+    ) throws IOException {
+        requestImageAt(id, 0, version, webRequest);
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    public void requestThumbnail(
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            ServletWebRequest webRequest
+    ) throws IOException {
+        ImageResponses.writeThumbnail(
+                webRequest,
+                requestService.findAdminRequestImageRef(id, 0).orElse(null),
+                version,
+                () -> requestService.getAdminRequestThumbnailContent(id),
+                () -> requestService.getAdminRequestImageContent(id, 0)
+        );
     }
 
     @PutMapping("/{id}")
@@ -56,7 +176,9 @@ public class AdminRequestController {
                 status,
                 request.getPickupDate(),
                 request.getPickupTime(),
+                request.getPickupZone(),
                 request.getPickupPersonnelName(),
+                request.getPickupPersonnelId(),
                 request.getRejectionReason()
         );
     }
@@ -0,0 +1,31 @@
+package com.ewaste.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.RoutePlan;
+import com.ewaste.service.RoutePlanner;
+
+@RestController
+@RequestMapping("/admin/routes")
+public class AdminRouteController {
+
+    private final RoutePlanner routePlanner;
+
+    public AdminRouteController(RoutePlanner routePlanner) {
+        this.routePlanner = routePlanner;
+    }
+
+    @PostMapping("/plan")
+    public RoutePlan plan(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean apply
+    ) {
+        return routePlanner.plan(date, apply);
+    }
+}
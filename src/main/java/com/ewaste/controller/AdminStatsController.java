@@ -0,0 +1,24 @@
+package com.ewaste.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.RequestStats;
+import com.ewaste.service.RequestCounters;
+
+@RestController
+@RequestMapping("/admin/stats")
+public class AdminStatsController {
+
+    private final RequestCounters requestCounters;
+
+    public AdminStatsController(RequestCounters requestCounters) {
+        this.requestCounters = requestCounters;
+    }
+
+    @GetMapping
+    public RequestStats stats() {
+        return requestCounters.stats();
+    }
+}
@@ -0,0 +1,24 @@
+package com.ewaste.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ewaste.dto.StorageStats;
+import com.ewaste.service.BlobGarbageCollector;
+
+@RestController
+@RequestMapping("/admin/storage")
+public class AdminStorageController {
+
+    private final BlobGarbageCollector blobGarbageCollector;
+
+    public AdminStorageController(BlobGarbageCollector blobGarbageCollector) {
+        this.blobGarbageCollector = blobGarbageCollector;
+    }
+
+    @GetMapping("/stats")
+    public StorageStats storageStats() {
+        return blobGarbageCollector.stats();
+    }
+}
@@ -1,8 +1,12 @@
 package com.ewaste.controller;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -10,23 +14,37 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.dto.ImageBatchRequest;
+import com.ewaste.dto.RequestImageInfo;
+import com.ewaste.dto.RequestSyncState;
 import com.ewaste.service.EwasteRequestService;
+import com.ewaste.service.RequestEventBroadcaster;
 
 @RestController
 @RequestMapping("/requests")
 public class EwasteRequestController {
 
+    // Polled lists and details are revalidated by ETag on every request
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final EwasteRequestService requestService;
+    private final RequestEventBroadcaster eventBroadcaster;
 
-    public EwasteRequestController(EwasteRequestService requestService) {
+    public EwasteRequestController(EwasteRequestService requestService, RequestEventBroadcaster eventBroadcaster) {
         this.requestService = requestService;
+        this.eventBroadcaster = eventBroadcaster;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -38,6 +56,8 @@ public class EwasteRequestController {
             @RequestParam String condition,
             @RequestParam Integer quantity,
             @RequestParam String pickupAddress,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
             @RequestParam(required = false) String additionalRemarks,
             @RequestPart("images") MultipartFile[] images
     ) {
@@ -49,19 +69,73 @@ public class EwasteRequestController {
                 condition,
                 quantity,
                 pickupAddress,
+                latitude,
+                longitude,
                 additionalRemarks,
                 images
         );
     }
 
     @GetMapping("/mine")
-    public List<EwasteRequestSummary> myRequests(Authentication authentication) {
-        return requestService.getMyRequests(authentication.getName());
+    public ResponseEntity<byte[]> myRequests(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String since,
+            ServletWebRequest webRequest
+    ) {
+        String email = authentication.getName();
+        RequestSyncState state = requestService.getMyRequestsState(email);
+
+        // Idle polls end here after a single aggregate query
+        if (webRequest.checkNotModified(state.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(state.etag())
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestService.getMyRequestsJson(email, state, cursor, limit, since));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter requestEvents(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return eventBroadcaster.subscribe(authentication.getName(), lastEventId);
     }
 
     @GetMapping("/{id}")
-    public EwasteRequestSummary requestById(Authentication authentication, @PathVariable Long id) {
-        return requestService.getRequestById(authentication.getName(), id);
+    public ResponseEntity<EwasteRequestSummary> requestById(
+            Authentication authentication,
+            @PathVariable Long id,
+            @RequestParam(required = false) String since,
+            ServletWebRequest webRequest
+    ) {
+        EwasteRequestService.RequestVersion version =
+                requestService.getRequestVersion(authentication.getName(), id, since);
+
+        // Goes out on the 304 as well
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+
+        // Sets the ETag; a sent If-None-Match decides, the since cursor only answers clients without one
+        boolean notModified = webRequest.checkNotModified(version.etag());
+
+        if (!notModified && !version.changed() && webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            webRequest.getResponse().setStatus(HttpStatus.NOT_MODIFIED.value());
+            notModified = true;
+        }
+
+        if (notModified) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(REVALIDATE)
+                .body(requestService.getRequestById(authentication.getName(), id));
     }
 
     @PostMapping(value = "/{id}/update", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -74,6 +148,8 @@ public class EwasteRequestController {
             @RequestParam String condition,
             @RequestParam Integer quantity,
             @RequestParam String pickupAddress,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
             @RequestParam(required = false) String additionalRemarks,
             @RequestPart(value = "images", required = false) MultipartFile[] images
     ) {
@@ -86,34 +162,83 @@ public class EwasteRequestController {
                 condition,
                 quantity,
                 pickupAddress,
+                latitude,
+                longitude,
                 additionalRemarks,
                 images
         );
     }
 
-    @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> requestImage(Authentication authentication, @PathVariable Long id) {
+    @GetMapping("/{id}/images")
+    public List<RequestImageInfo> requestImages(Authentication authentication, @PathVariable Long id) {
+        return requestService.getRequestImages(authentication.getName(), id);
+    }
 
-        EwasteRequestService.RequestImageData imageData =
-                requestService.getRequestImageById(authentication.getName(), id);
+    @GetMapping("/{id}/images/{index}")
+    public void requestImageAt(
+            Authentication authentication,
+            @PathVariable Long id,
+            @PathVariable int index,
+            @RequestParam(value = "v", required = false) String version,
+            ServletWebRequest webRequest
+    ) throws IOException {
+        String email = authentication.getName();
+
+        ImageResponses.write(
+                webRequest,
+                requestService.findRequestImageRef(email, id, index).orElse(null),
+                false,
+                version,
+                () -> requestService.getRequestImageContent(email, id, index)
+        );
+    }
 
-        MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
+    @GetMapping("/{id}/image")
+    public void requestImage(
+            Authentication authentication,
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            ServletWebRequest webRequest
+    ) throws IOException {
+        requestImageAt(authentication, id, 0, version, webRequest);
+    }
 
-        try {
-            mediaType = MediaType.parseMediaType(imageData.contentType());
-        } catch (Exception ignored) {}
+    @GetMapping("/{id}/thumbnail")
+    public void requestThumbnail(
+            Authentication authentication,
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            ServletWebRequest webRequest
+    ) throws IOException {
+        String email = authentication.getName();
+
+        ImageResponses.writeThumbnail(
+                webRequest,
+                requestService.findRequestImageRef(email, id, 0).orElse(null),
+                version,
+                () -> requestService.getRequestThumbnailContent(email, id),
+                () -> requestService.getRequestImageContent(email, id, 0)
+        );
+    }
 
+    @PostMapping(value = "/images:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> requestImageBatch(
+            Authentication authentication,
+            @RequestBody ImageBatchRequest request
+    ) {
         return ResponseEntity.ok()
-                .contentType(mediaType)
-                .body(imageData.data());
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestService.getRequestImageBatch(authentication.getName(), request));
     }
 
     @GetMapping("/{id}/image-data")
-    public EwasteRequestService.RequestImagePayload requestImageData(
+    public ResponseEntity<StreamingResponseBody> requestImageData(
             Authentication authentication,
             @PathVariable Long id
     ) {
-        return requestService.getRequestImagePayloadById(authentication.getName(), id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestService.getRequestImagePayloadById(authentication.getName(), id));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,240 @@
+package com.ewaste.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.ewaste.dto.RequestImageRef;
+import com.ewaste.storage.BlobContent;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional and ranged GET handling shared by the user and admin image
+ * endpoints. Validators come from blob metadata, so a 304 never reads the
+ * image itself; file-backed bodies go out through Tomcat sendfile when the
+ * connector offers it and {@link FileChannel#transferTo} otherwise.
+ */
+final class ImageResponses {
+
+    // Bearer-authorized content: browsers may keep it, shared caches must not
+    private static final CacheControl VERSIONED = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ImageResponses() {
+    }
+
+    /**
+     * The thumbnail variant. Until one is recorded, {@code thumbnail} tries to
+     * produce it first. An image that cannot be decoded is then served as the
+     * original, under the original's validator and without the immutable
+     * lifetime, so no cache keeps it as the thumbnail.
+     */
+    static void writeThumbnail(
+            ServletWebRequest webRequest,
+            RequestImageRef image,
+            String requestedVersion,
+            Supplier<Optional<BlobContent>> thumbnail,
+            Supplier<BlobContent> original
+    ) throws IOException {
+
+        if (image == null || image.thumbnailKey() != null) {
+            write(webRequest, image, true, requestedVersion, () -> thumbnail.get().orElseGet(original));
+            return;
+        }
+
+        Optional<BlobContent> generated = thumbnail.get();
+
+        if (generated.isPresent()) {
+            write(webRequest, image, true, requestedVersion, generated::get);
+        } else {
+            write(webRequest, image, false, null, original);
+        }
+    }
+
+    static void write(
+            ServletWebRequest webRequest,
+            RequestImageRef image,
+            boolean thumbnail,
+            String requestedVersion,
+            Supplier<BlobContent> loader
+    ) throws IOException {
+
+        HttpServletRequest request = webRequest.getRequest();
+        HttpServletResponse response = webRequest.getResponse();
+
+        // Legacy rows without blob metadata have no stable validator
+        String etag = null;
+
+        if (image != null) {
+
+            etag = "\"" + image.checksum() + (thumbnail ? "-thumb" : "") + "\"";
+            long lastModified = image.storedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            CacheControl cacheControl = image.checksum().equals(requestedVersion) ? VERSIONED : REVALIDATE;
+
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+
+            // Sets ETag/Last-Modified and, on a match, the 304 status
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return;
+            }
+        }
+
+        BlobContent content = loader.get();
+        long length = content.length();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(mediaType(content.contentType()));
+
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+        if (rangeHeader != null && rangeApplies(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+
+            List<HttpRange> ranges;
+
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException exception) {
+                ranges = null;
+            }
+
+            if (ranges == null || ranges.isEmpty() || !satisfiable(ranges.get(0), length)) {
+
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setContentLengthLong(0);
+                return;
+            }
+
+            // Multipart/byteranges is not worth it for images; serve the whole body instead
+            if (ranges.size() == 1) {
+
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (content.file() != null) {
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+
+                // Tomcat writes the file from the socket poller once the servlet returns
+                request.setAttribute(SENDFILE_FILENAME, content.file().toRealPath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            transferFile(content, start, count, response.getOutputStream());
+            return;
+        }
+
+        copyStream(content, start, count, response.getOutputStream());
+    }
+
+    private static boolean rangeApplies(String ifRange, String etag) {
+
+        // A strong ETag match is required; dates are too coarse to trust here
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private static boolean satisfiable(HttpRange range, long length) {
+
+        try {
+            return length > 0 && range.getRangeStart(length) < length;
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    private static void transferFile(BlobContent content, long start, long count, OutputStream out) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(content.file(), StandardOpenOption.READ)) {
+
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+
+            while (remaining > 0) {
+
+                long transferred = channel.transferTo(position, remaining, target);
+
+                if (transferred <= 0) {
+                    break;
+                }
+
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private static void copyStream(BlobContent content, long start, long count, OutputStream out) throws IOException {
+
+        try (InputStream in = content.source().getInputStream()) {
+
+            in.skipNBytes(start);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long remaining = count;
+
+            while (remaining > 0) {
+
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+
+                if (read < 0) {
+                    break;
+                }
+
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        }
+    }
+
+    private static String mediaType(String contentType) {
+
+        try {
+            return MediaType.parseMediaType(contentType).toString();
+        } catch (Exception ignored) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+}
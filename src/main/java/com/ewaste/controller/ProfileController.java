@@ -3,6 +3,7 @@ package com.ewaste.controller;
 import com.ewaste.dto.ProfileUpdateRequest;
 import com.ewaste.entity.User;
 import com.ewaste.repository.UserRepository;
+import com.ewaste.service.MyRequestsCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @RestController
@@ -21,9 +23,11 @@ public class ProfileController {
     private static final String PHONE_REGEX = "^[6-9]\\d{9}$";
 
     private final UserRepository userRepository;
+    private final MyRequestsCache myRequestsCache;
 
-    public ProfileController(UserRepository userRepository) {
+    public ProfileController(UserRepository userRepository, MyRequestsCache myRequestsCache) {
         this.userRepository = userRepository;
+        this.myRequestsCache = myRequestsCache;
     }
 
     @GetMapping("/me")
@@ -47,8 +51,10 @@ public class ProfileController {
         if (user == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
-        if (request.getName() != null && !request.getName().isBlank()) {
+        if (request.getName() != null && !request.getName().isBlank()
+                && !request.getName().equals(user.getName())) {
             user.setName(request.getName());
+            user.setProfileUpdatedAt(LocalDateTime.now());
         }
         if (request.getPhone() != null && !request.getPhone().isBlank()) {
             String phone = request.getPhone().trim();
@@ -58,6 +64,8 @@ public class ProfileController {
             user.setPhone(phone);
         }
         userRepository.save(user);
+        // Cached request lists embed the requester name
+        myRequestsCache.invalidateAfterCommit(user.getEmail());
         return Map.of("message", "Profile updated");
     }
 }
@@ -0,0 +1,14 @@
+package com.ewaste.dto;
+
+public class AdminRequestBatchItem extends AdminRequestUpdateRequest {
+
+    private Long id;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,16 @@
+package com.ewaste.dto;
+
+import java.util.List;
+
+public class AdminRequestBatchRequest {
+
+    private List<AdminRequestBatchItem> updates;
+
+    public List<AdminRequestBatchItem> getUpdates() {
+        return updates;
+    }
+
+    public void setUpdates(List<AdminRequestBatchItem> updates) {
+        this.updates = updates;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ewaste.dto;
+
+public record AdminRequestBatchResult(
+        Long id,
+        int status,
+        String error,
+        EwasteRequestSummary request
+) {}
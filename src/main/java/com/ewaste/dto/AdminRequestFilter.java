@@ -0,0 +1,115 @@
+package com.ewaste.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Query parameters accepted by {@code GET /admin/requests}. Every field is
+ * optional; the ones that are set are combined with AND. Date ranges are
+ * inclusive on both ends.
+ */
+public class AdminRequestFilter {
+
+    private List<String> status;
+    private String condition;
+    private String deviceType;
+    private String brand;
+    private String requesterEmail;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate pickupFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate pickupTo;
+
+    // "newest" (default) or "oldest"
+    private String sort;
+
+    public List<String> getStatus() {
+        return status;
+    }
+
+    public void setStatus(List<String> status) {
+        this.status = status;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public void setCondition(String condition) {
+        this.condition = condition;
+    }
+
+    public String getDeviceType() {
+        return deviceType;
+    }
+
+    public void setDeviceType(String deviceType) {
+        this.deviceType = deviceType;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public String getRequesterEmail() {
+        return requesterEmail;
+    }
+
+    public void setRequesterEmail(String requesterEmail) {
+        this.requesterEmail = requesterEmail;
+    }
+
+    public LocalDate getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDate createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDate getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDate createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public LocalDate getPickupFrom() {
+        return pickupFrom;
+    }
+
+    public void setPickupFrom(LocalDate pickupFrom) {
+        this.pickupFrom = pickupFrom;
+    }
+
+    public LocalDate getPickupTo() {
+        return pickupTo;
+    }
+
+    public void setPickupTo(LocalDate pickupTo) {
+        this.pickupTo = pickupTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+}
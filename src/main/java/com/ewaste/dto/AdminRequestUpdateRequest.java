@@ -8,7 +8,9 @@ public class AdminRequestUpdateRequest {
     private String status;
     private LocalDate pickupDate;
     private LocalTime pickupTime;
+    private String pickupZone;
     private String pickupPersonnelName;
+    private Long pickupPersonnelId;
     private String rejectionReason;
 
     public String getStatus() {
@@ -35,6 +37,14 @@ public class AdminRequestUpdateRequest {
         this.pickupTime = pickupTime;
     }
 
+    public String getPickupZone() {
+        return pickupZone;
+    }
+
+    public void setPickupZone(String pickupZone) {
+        this.pickupZone = pickupZone;
+    }
+
     public String getPickupPersonnelName() {
         return pickupPersonnelName;
     }
@@ -43,6 +53,14 @@ public class AdminRequestUpdateRequest {
         this.pickupPersonnelName = pickupPersonnelName;
     }
 
+    public Long getPickupPersonnelId() {
+        return pickupPersonnelId;
+    }
+
+    public void setPickupPersonnelId(Long pickupPersonnelId) {
+        this.pickupPersonnelId = pickupPersonnelId;
+    }
+
     public String getRejectionReason() {
         return rejectionReason;
     }
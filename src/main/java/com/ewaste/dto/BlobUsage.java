@@ -0,0 +1,10 @@
+package com.ewaste.dto;
+
+public record BlobUsage(
+        Long blobs,
+        Long storedBytes,
+        Long referencedBytes,
+        Long unreferencedBlobs,
+        Long unreferencedBytes,
+        Long normalizationSavedBytes
+) {}
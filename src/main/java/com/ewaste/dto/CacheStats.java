@@ -0,0 +1,12 @@
+package com.ewaste.dto;
+
+public record CacheStats(
+        long entries,
+        long bytes,
+        long maxBytes,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions,
+        long invalidations
+) {}
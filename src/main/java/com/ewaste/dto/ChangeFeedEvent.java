@@ -0,0 +1,24 @@
+package com.ewaste.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.ewaste.entity.OutboxEventType;
+import com.ewaste.entity.RequestStatus;
+
+/**
+ * One entry of {@code GET /admin/events}, also published in-process to
+ * {@code @EventListener} methods. {@code status} and the pickup fields are
+ * the request's state right after the change, null for deletions.
+ */
+public record ChangeFeedEvent(
+        Long position,
+        OutboxEventType type,
+        Long requestId,
+        Long userId,
+        RequestStatus status,
+        LocalDate pickupDate,
+        LocalTime pickupTime,
+        LocalDateTime occurredAt
+) {}
@@ -0,0 +1,10 @@
+package com.ewaste.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. Poll again with {@code after=next}; it equals
+ * the request's {@code after} when nothing new was available. Delivery is
+ * at least once, so consumers should tolerate an event seen twice.
+ */
+public record ChangeFeedPage(List<ChangeFeedEvent> events, long next) {}
@@ -0,0 +1,16 @@
+package com.ewaste.dto;
+
+import java.time.LocalDateTime;
+
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+
+/** A completed request as the rollup backfill needs it. */
+public record ClosedRequestRow(
+        RequestStatus status,
+        String deviceType,
+        RequestCondition condition,
+        Integer quantity,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {}
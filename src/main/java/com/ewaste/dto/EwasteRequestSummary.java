@@ -19,11 +19,15 @@ public class EwasteRequestSummary {
     private RequestCondition condition;
     private Integer quantity;
     private String pickupAddress;
+    private Double latitude;
+    private Double longitude;
     private String additionalRemarks;
     private RequestStatus status;
     private LocalDate pickupDate;
     private LocalTime pickupTime;
+    private String pickupZone;
     private String pickupPersonnelName;
+    private Long pickupPersonnelId;
     private String rejectionReason;
     private String requesterName;
     private String requesterEmail;
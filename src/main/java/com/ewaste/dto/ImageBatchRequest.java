@@ -0,0 +1,25 @@
+package com.ewaste.dto;
+
+import java.util.List;
+
+public class ImageBatchRequest {
+
+    private List<Long> ids;
+    private String variant;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+}
@@ -0,0 +1,3 @@
+package com.ewaste.dto;
+
+public record NearbyRequest(EwasteRequestSummary request, double distanceKm) {}
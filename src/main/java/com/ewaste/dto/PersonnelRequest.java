@@ -0,0 +1,59 @@
+package com.ewaste.dto;
+
+public class PersonnelRequest {
+
+    private String name;
+    private String zone;
+    private Integer shiftCapacity;
+    private Boolean active;
+    private Double startLatitude;
+    private Double startLongitude;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public Integer getShiftCapacity() {
+        return shiftCapacity;
+    }
+
+    public void setShiftCapacity(Integer shiftCapacity) {
+        this.shiftCapacity = shiftCapacity;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public Double getStartLatitude() {
+        return startLatitude;
+    }
+
+    public void setStartLatitude(Double startLatitude) {
+        this.startLatitude = startLatitude;
+    }
+
+    public Double getStartLongitude() {
+        return startLongitude;
+    }
+
+    public void setStartLongitude(Double startLongitude) {
+        this.startLongitude = startLongitude;
+    }
+}
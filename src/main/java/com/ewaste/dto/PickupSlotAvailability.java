@@ -0,0 +1,13 @@
+package com.ewaste.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record PickupSlotAvailability(
+        LocalDate date,
+        LocalTime time,
+        String zone,
+        int capacity,
+        int reserved,
+        int available
+) {}
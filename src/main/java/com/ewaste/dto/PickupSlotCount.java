@@ -0,0 +1,6 @@
+package com.ewaste.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record PickupSlotCount(LocalDate date, LocalTime time, String zone, long count) {}
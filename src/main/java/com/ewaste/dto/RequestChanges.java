@@ -0,0 +1,10 @@
+package com.ewaste.dto;
+
+import java.util.List;
+
+/**
+ * Requests changed or deleted since a sync cursor. Clients upsert
+ * {@code changed} by id, drop {@code deleted}, and poll again with
+ * {@code syncCursor}. Rows near the old cursor may be repeated.
+ */
+public record RequestChanges(List<EwasteRequestSummary> changed, List<Long> deleted, String syncCursor) {}
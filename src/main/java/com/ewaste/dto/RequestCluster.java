@@ -0,0 +1,17 @@
+package com.ewaste.dto;
+
+/**
+ * Requests sharing a geohash cell. {@code latitude}/{@code longitude} is the
+ * mean position of the requests; the cell's own bounds follow.
+ */
+public record RequestCluster(
+        String cell,
+        long requests,
+        long devices,
+        double latitude,
+        double longitude,
+        double south,
+        double west,
+        double north,
+        double east
+) {}
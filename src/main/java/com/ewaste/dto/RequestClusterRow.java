@@ -0,0 +1,3 @@
+package com.ewaste.dto;
+
+public record RequestClusterRow(String cell, Long requests, Long devices, Double latitude, Double longitude) {}
@@ -0,0 +1,7 @@
+package com.ewaste.dto;
+
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+
+/** One group of the counter reconciliation query. */
+public record RequestCountRow(RequestStatus status, RequestCondition condition, String deviceType, Long count) {}
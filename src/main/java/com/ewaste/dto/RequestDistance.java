@@ -0,0 +1,3 @@
+package com.ewaste.dto;
+
+public record RequestDistance(Long id, Double distanceKm) {}
@@ -0,0 +1,11 @@
+package com.ewaste.dto;
+
+import java.time.LocalDateTime;
+
+import com.ewaste.entity.RequestStatus;
+
+/**
+ * Payload of a {@code GET /requests/events} message. The SSE event name says
+ * what happened; {@code status} and {@code updatedAt} are null for deletions.
+ */
+public record RequestEvent(Long requestId, RequestStatus status, LocalDateTime updatedAt) {}
@@ -0,0 +1,15 @@
+package com.ewaste.dto;
+
+/**
+ * Per-image metadata for {@code GET /requests/{id}/images}. Width and height
+ * are null when the format cannot be decoded server-side (WebP) or for images
+ * stored before dimensions were recorded.
+ */
+public record RequestImageInfo(
+        Integer index,
+        String contentType,
+        Long sizeBytes,
+        Integer width,
+        Integer height,
+        String checksum
+) {}
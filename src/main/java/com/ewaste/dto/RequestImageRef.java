@@ -0,0 +1,12 @@
+package com.ewaste.dto;
+
+import java.time.LocalDateTime;
+
+public record RequestImageRef(
+        Long requestId,
+        String blobKey,
+        String contentType,
+        String thumbnailKey,
+        String checksum,
+        LocalDateTime storedAt
+) {}
@@ -0,0 +1,10 @@
+package com.ewaste.dto;
+
+import java.util.List;
+
+/**
+ * One page of requests, newest first. {@code nextCursor} is opaque and null
+ * on the last page. {@code syncCursor} is only set on the first page of
+ * {@code /requests/mine} and starts delta polling through {@code ?since=}.
+ */
+public record RequestPage(List<EwasteRequestSummary> items, String nextCursor, String syncCursor) {}
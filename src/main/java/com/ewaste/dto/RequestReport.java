@@ -0,0 +1,29 @@
+package com.ewaste.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.ewaste.entity.RequestCondition;
+
+/**
+ * Body of {@code GET /admin/reports} for an inclusive date range. The
+ * breakdowns cover collected (picked up) requests; {@code estimatedKg}
+ * uses the configured per-device-type weights.
+ */
+public record RequestReport(
+        LocalDate from,
+        LocalDate to,
+        OutcomeTotals collected,
+        OutcomeTotals rejected,
+        List<DeviceTypeTotals> byDeviceType,
+        Map<RequestCondition, Long> devicesByCondition,
+        List<MonthTotals> byMonth
+) {
+
+    public record OutcomeTotals(long requests, long devices, double estimatedKg, Double averageTurnaroundHours) {}
+
+    public record DeviceTypeTotals(String deviceType, long requests, long devices, double estimatedKg) {}
+
+    public record MonthTotals(String month, long requests, long devices, double estimatedKg) {}
+}
@@ -0,0 +1,11 @@
+package com.ewaste.dto;
+
+/** The text fields of a request that the admin search index covers. */
+public record RequestSearchDocument(
+        Long id,
+        String deviceType,
+        String brand,
+        String model,
+        String additionalRemarks,
+        String pickupAddress
+) {}
@@ -0,0 +1,9 @@
+package com.ewaste.dto;
+
+import java.util.List;
+
+/**
+ * One page of search hits, best match first. {@code total} counts every
+ * matching request; {@code nextOffset} is null on the last page.
+ */
+public record RequestSearchPage(List<EwasteRequestSummary> items, int total, Integer nextOffset) {}
@@ -0,0 +1,20 @@
+package com.ewaste.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+
+/**
+ * Body of {@code GET /admin/stats}. Counts are kept in memory and may lag
+ * the database slightly until the next reconciliation at {@code reconciledAt}.
+ */
+public record RequestStats(
+        long total,
+        long submittedToday,
+        Map<RequestStatus, Long> byStatus,
+        Map<RequestCondition, Long> byCondition,
+        Map<String, Long> byDeviceType,
+        LocalDateTime reconciledAt
+) {}
@@ -0,0 +1,44 @@
+package com.ewaste.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cheap fingerprint of one user's request list: how many requests they have,
+ * when the list last changed through an update or a deletion, and when the
+ * requester name shown on every row last changed.
+ */
+public record RequestSyncState(
+        Long requests,
+        LocalDateTime lastUpdatedAt,
+        LocalDateTime lastDeletedAt,
+        LocalDateTime profileUpdatedAt
+) {
+
+    /** Latest change of any kind, or null for a user who never had a request or a rename. */
+    public LocalDateTime watermark() {
+
+        return latest(latest(lastUpdatedAt, lastDeletedAt), profileUpdatedAt);
+    }
+
+    public String etag() {
+
+        return "W/\"" + requests + "-" + micros(lastUpdatedAt) + "-" + micros(lastDeletedAt)
+                + "-" + micros(profileUpdatedAt) + "\"";
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+
+        if (first == null) return second;
+        if (second == null) return first;
+
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static long micros(LocalDateTime time) {
+
+        if (time == null) return 0;
+
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ewaste.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Body of {@code POST /admin/routes/plan}: one manifest per person in
+ * visiting order, plus the requests nobody could take.
+ */
+public record RoutePlan(
+        LocalDate date,
+        int requests,
+        int assigned,
+        boolean applied,
+        long solveMillis,
+        List<PersonnelRoute> routes,
+        List<Long> unassignedRequestIds
+) {
+
+    public record PersonnelRoute(
+            Long personnelId,
+            String name,
+            String zone,
+            int shiftCapacity,
+            double distanceKm,
+            List<RouteStop> stops
+    ) {}
+
+    /** {@code legKm} is the distance from the previous stop; null when either end has no coordinates. */
+    public record RouteStop(
+            int sequence,
+            Long requestId,
+            LocalTime pickupTime,
+            String pickupAddress,
+            Double latitude,
+            Double longitude,
+            String deviceType,
+            Integer quantity,
+            String requesterName,
+            Double legKm
+    ) {}
+}
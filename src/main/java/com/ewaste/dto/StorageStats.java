@@ -0,0 +1,20 @@
+package com.ewaste.dto;
+
+/**
+ * Blob storage footprint. {@code referencedBytes} is what the images would
+ * occupy without deduplication; {@code savedBytes} is the difference.
+ * {@code normalizationSavedBytes} is upload size minus stored size, summed
+ * over stored blobs.
+ */
+public record StorageStats(
+        long blobs,
+        long storedBytes,
+        long referencedBytes,
+        long savedBytes,
+        long pendingCollectionBlobs,
+        long pendingCollectionBytes,
+        long normalizationSavedBytes,
+        long deduplicatedUploads,
+        long collectedBlobs,
+        long collectedBytes
+) {}
@@ -0,0 +1,79 @@
+package com.ewaste.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "blob_metadata")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlobMetadata {
+
+    @Id
+    @Column(name = "blob_key", length = 128)
+    private String blobKey;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    // Upload size before ingest normalization; null for blobs stored unchanged by older versions
+    @Column(name = "original_size_bytes")
+    private Long originalSizeBytes;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    // Null when ImageIO cannot read the format
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "thumbnail_key", length = 128)
+    private String thumbnailKey;
+
+    // Set once the original proved undecodable; thumbnail requests then serve the original
+    @ColumnDefault("false")
+    @Column(name = "thumbnail_failed", nullable = false)
+    private Boolean thumbnailFailed;
+
+    // Rows that predate deduplication were each referenced exactly once
+    @ColumnDefault("1")
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    // Set when refCount drops to zero; the garbage collector waits a grace period from here
+    @Column(name = "released_at")
+    private LocalDateTime releasedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (refCount == null) {
+            refCount = 0;
+        }
+        if (thumbnailFailed == null) {
+            thumbnailFailed = false;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -25,7 +26,20 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "ewaste_requests")
+@Table(
+        name = "ewaste_requests",
+        indexes = {
+                @Index(name = "idx_ewaste_requests_created_id", columnList = "created_at, id"),
+                @Index(name = "idx_ewaste_requests_user_created_id", columnList = "user_id, created_at, id"),
+                @Index(name = "idx_ewaste_requests_user_updated", columnList = "user_id, updated_at"),
+                @Index(name = "idx_ewaste_requests_status_created_id", columnList = "status, created_at, id"),
+                @Index(name = "idx_ewaste_requests_device_created_id", columnList = "device_type, created_at, id"),
+                @Index(name = "idx_ewaste_requests_brand_created_id", columnList = "brand, created_at, id"),
+                @Index(name = "idx_ewaste_requests_pickup_date", columnList = "pickup_date"),
+                @Index(name = "idx_ewaste_requests_geohash", columnList = "geohash"),
+                @Index(name = "idx_ewaste_requests_status_geohash", columnList = "status, geohash")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,10 +53,10 @@ public class EwasteRequest {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false)
+    @Column(name = "device_type", nullable = false)
     private String deviceType;
 
-    @Column(nullable = false)
+    @Column(name = "brand", nullable = false)
     private String brand;
 
     @Column(nullable = false)
@@ -55,7 +69,10 @@ public class EwasteRequest {
     @Column(nullable = false)
     private Integer quantity;
 
-    /* -------- MULTIPLE IMAGES SUPPORT -------- */
+    /* -------- LEGACY BASE64 IMAGES --------
+       New uploads live in the blob store (see RequestImage / BlobMetadata).
+       These collections are only read for rows that have not been migrated
+       yet by LegacyImageMigrationRunner. */
 
     @ElementCollection
     @CollectionTable(name = "ewaste_request_images", joinColumns = @JoinColumn(name = "request_id"))
@@ -72,11 +89,20 @@ public class EwasteRequest {
     @Column(nullable = false, length = 1000)
     private String pickupAddress;
 
+    // Pin chosen on the map or from the device location; null for typed addresses
+    private Double latitude;
+
+    private Double longitude;
+
+    // Precision-9 geohash of the pin (about 5 m), indexed for prefix range scans
+    @Column(length = 12)
+    private String geohash;
+
     @Column(length = 2000)
     private String additionalRemarks;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(name = "status", nullable = false)
     private RequestStatus status = RequestStatus.PENDING;
 
     @Column(name = "pickup_date")
@@ -85,18 +111,30 @@ public class EwasteRequest {
     @Column(name = "pickup_time")
     private LocalTime pickupTime;
 
+    // Null on rows scheduled before zones existed, which count against the default zone
+    @Column(name = "pickup_zone", length = 50)
+    private String pickupZone;
+
     @Column(length = 150)
     private String pickupPersonnelName;
 
+    // Set when the name was picked from PickupPersonnel rather than typed
+    @Column(name = "pickup_personnel_id")
+    private Long pickupPersonnelId;
+
     @Column(length = 2000)
     private String rejectionReason;
 
-    @Column(nullable = false, updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @Column(nullable = false)
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Set on reaching PICKED_UP or REJECTED; dates the request's daily rollup bucket
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     @PrePersist
     public void onCreate() {
         LocalDateTime now = LocalDateTime.now();
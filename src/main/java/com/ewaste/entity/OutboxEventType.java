@@ -0,0 +1,9 @@
+package com.ewaste.entity;
+
+public enum OutboxEventType {
+    REQUEST_CREATED,
+    REQUEST_UPDATED,
+    REQUEST_STATUS_CHANGED,
+    REQUEST_SCHEDULED,
+    REQUEST_DELETED
+}
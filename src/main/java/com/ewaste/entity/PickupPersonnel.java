@@ -0,0 +1,48 @@
+package com.ewaste.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Someone who collects pickups. {@code shiftCapacity} is the most stops the
+ * route planner gives them in one day; the optional start point is where
+ * their route begins.
+ */
+@Entity
+@Table(
+        name = "pickup_personnel",
+        uniqueConstraints = @UniqueConstraint(name = "uk_pickup_personnel_name", columnNames = "name")
+)
+@Data
+@NoArgsConstructor
+public class PickupPersonnel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 150)
+    private String name;
+
+    @Column(nullable = false, length = 50)
+    private String zone;
+
+    @Column(name = "shift_capacity", nullable = false)
+    private int shiftCapacity;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "start_latitude")
+    private Double startLatitude;
+
+    @Column(name = "start_longitude")
+    private Double startLongitude;
+}
@@ -0,0 +1,48 @@
+package com.ewaste.entity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reservations held against one pickup slot in one zone. Rows are created
+ * on first use; capacity comes from configuration, so only the count of
+ * reserved pickups is stored.
+ */
+@Entity
+@Table(
+        name = "pickup_slots",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_pickup_slots_slot",
+                columnNames = {"slot_date", "slot_time", "zone"}
+        )
+)
+@Data
+@NoArgsConstructor
+public class PickupSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "slot_time", nullable = false)
+    private LocalTime time;
+
+    @Column(nullable = false, length = 50)
+    private String zone;
+
+    @Column(nullable = false)
+    private int reserved;
+}
@@ -0,0 +1,61 @@
+package com.ewaste.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Requests that reached {@code outcome} on {@code day}, per device type and
+ * condition. Maintained in the same transaction as the status change, so
+ * reports read these buckets instead of the request rows.
+ */
+@Entity
+@Table(
+        name = "request_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_request_daily_rollups_bucket",
+                columnNames = {"bucket_day", "outcome", "device_type", "device_condition"}
+        )
+)
+@Data
+@NoArgsConstructor
+public class RequestDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome", nullable = false, length = 32)
+    private RequestStatus outcome;
+
+    @Column(name = "device_type", nullable = false)
+    private String deviceType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "device_condition", nullable = false, length = 32)
+    private RequestCondition condition;
+
+    @Column(nullable = false)
+    private long requests;
+
+    @Column(nullable = false)
+    private long devices;
+
+    // Sum of createdAt -> completion over the bucket's requests
+    @Column(name = "turnaround_seconds", nullable = false)
+    private long turnaroundSeconds;
+}
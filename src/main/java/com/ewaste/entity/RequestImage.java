@@ -0,0 +1,40 @@
+package com.ewaste.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(
+        name = "ewaste_request_image_blobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_request_image_index", columnNames = {"request_id", "image_index"})
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "request_id", nullable = false)
+    private EwasteRequest request;
+
+    @Column(name = "image_index", nullable = false)
+    private Integer imageIndex;
+
+    @Column(name = "blob_key", nullable = false, length = 128)
+    private String blobKey;
+}
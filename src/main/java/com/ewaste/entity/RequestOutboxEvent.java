@@ -0,0 +1,59 @@
+package com.ewaste.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lifecycle event of a request, written in the same transaction as the
+ * change itself. {@code feedPosition} stays null until the outbox poller
+ * has handed the event to listeners; it then orders the admin change feed.
+ */
+@Entity
+@Table(
+        name = "request_outbox",
+        indexes = @Index(name = "idx_request_outbox_position", columnList = "feed_position, id")
+)
+@Data
+@NoArgsConstructor
+public class RequestOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private OutboxEventType type;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private RequestStatus status;
+
+    private LocalDate pickupDate;
+
+    private LocalTime pickupTime;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "feed_position")
+    private Long feedPosition;
+}
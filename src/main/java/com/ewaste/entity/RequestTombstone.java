@@ -0,0 +1,42 @@
+package com.ewaste.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marker left behind by a deleted request so delta-sync clients learn about
+ * the deletion. Purged after {@code app.requests.tombstone-retention-days}.
+ */
+@Entity
+@Table(
+        name = "request_tombstones",
+        indexes = @Index(name = "idx_request_tombstones_user_deleted", columnList = "user_id, deleted_at")
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    private Long requestId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
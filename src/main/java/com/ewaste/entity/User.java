@@ -53,4 +53,9 @@ public class User {
     @JsonIgnore
     @Column(name = "otp_expires_at")
     private LocalDateTime otpExpiresAt;
+
+    // Request summaries embed the name, so their ETags include this
+    @JsonIgnore
+    @Column(name = "profile_updated_at")
+    private LocalDateTime profileUpdatedAt;
 }
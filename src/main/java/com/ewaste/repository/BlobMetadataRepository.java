@@ -0,0 +1,83 @@
+package com.ewaste.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ewaste.dto.BlobUsage;
+import com.ewaste.entity.BlobMetadata;
+
+public interface BlobMetadataRepository extends JpaRepository<BlobMetadata, String> {
+
+    @Transactional
+    @Modifying
+    @Query("update BlobMetadata b set b.thumbnailKey = :thumbnailKey where b.blobKey = :blobKey")
+    int updateThumbnailKey(@Param("blobKey") String blobKey, @Param("thumbnailKey") String thumbnailKey);
+
+    @Transactional
+    @Modifying
+    @Query("update BlobMetadata b set b.thumbnailFailed = true where b.blobKey = :blobKey")
+    int markThumbnailFailed(@Param("blobKey") String blobKey);
+
+    // INSERT IGNORE waits on a concurrent uncommitted insert of the same key instead of failing
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert ignore into blob_metadata
+                (blob_key, size_bytes, content_type, checksum, width, height, original_size_bytes, ref_count, released_at, created_at)
+            values (:blobKey, :sizeBytes, :contentType, :checksum, :width, :height, :originalSizeBytes, 0, :now, :now)
+            """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("blobKey") String blobKey,
+            @Param("sizeBytes") long sizeBytes,
+            @Param("contentType") String contentType,
+            @Param("checksum") String checksum,
+            @Param("width") Integer width,
+            @Param("height") Integer height,
+            @Param("originalSizeBytes") Long originalSizeBytes,
+            @Param("now") LocalDateTime now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("update BlobMetadata b set b.refCount = b.refCount + 1, b.releasedAt = null where b.blobKey = :blobKey")
+    int retain(@Param("blobKey") String blobKey);
+
+    // releasedAt is assigned first so MySQL, which applies SET clauses left to right, sees the old count
+    @Transactional
+    @Modifying
+    @Query("""
+            update BlobMetadata b
+            set b.releasedAt = case when b.refCount <= :count then :now else b.releasedAt end,
+                b.refCount = case when b.refCount <= :count then 0 else b.refCount - :count end
+            where b.blobKey = :blobKey and b.refCount > 0
+            """)
+    int release(@Param("blobKey") String blobKey, @Param("count") int count, @Param("now") LocalDateTime now);
+
+    @Query("select b from BlobMetadata b where b.refCount = 0 and b.releasedAt < :cutoff order by b.releasedAt")
+    List<BlobMetadata> findCollectable(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from BlobMetadata b where b.blobKey = :blobKey and b.refCount = 0 and b.releasedAt < :cutoff")
+    int deleteIfUnreferenced(@Param("blobKey") String blobKey, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("""
+            select new com.ewaste.dto.BlobUsage(
+                count(b),
+                coalesce(sum(b.sizeBytes), 0L),
+                coalesce(sum(b.sizeBytes * b.refCount), 0L),
+                coalesce(sum(case when b.refCount = 0 then 1L else 0L end), 0L),
+                coalesce(sum(case when b.refCount = 0 then b.sizeBytes else 0L end), 0L),
+                coalesce(sum(coalesce(b.originalSizeBytes, b.sizeBytes) - b.sizeBytes), 0L)
+            )
+            from BlobMetadata b
+            """)
+    BlobUsage usage();
+}
@@ -1,14 +1,28 @@
 package com.ewaste.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.ewaste.dto.ClosedRequestRow;
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.dto.PickupSlotCount;
+import com.ewaste.dto.RequestCountRow;
+import com.ewaste.dto.RequestSearchDocument;
+import com.ewaste.dto.RequestSyncState;
 import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestStatus;
 import com.ewaste.entity.User;
 
-public interface EwasteRequestRepository extends JpaRepository<EwasteRequest, Long> {
+public interface EwasteRequestRepository extends JpaRepository<EwasteRequest, Long>, EwasteRequestRepositoryCustom {
 
     // For user-side requests (already existing)
     List<EwasteRequest> findByUserOrderByCreatedAtDesc(User user);
@@ -18,4 +32,134 @@ public interface EwasteRequestRepository extends JpaRepository<EwasteRequest, Lo
 
     // ✅ ADD THIS — for Admin (latest requests first)
     List<EwasteRequest> findAllByOrderByCreatedAtDesc();
+
+    /* ---------- SUMMARY PROJECTIONS (one statement, user joined, no image collections) ---------- */
+
+    String SELECT_SUMMARY = """
+            select new com.ewaste.dto.EwasteRequestSummary(
+                r.id, r.deviceType, r.brand, r.model, r.condition, r.quantity,
+                r.pickupAddress, r.latitude, r.longitude, r.additionalRemarks, r.status,
+                r.pickupDate, r.pickupTime, r.pickupZone, r.pickupPersonnelName, r.pickupPersonnelId,
+                r.rejectionReason, u.name, u.email, r.createdAt, r.updatedAt
+            )
+            from EwasteRequest r join r.user u
+            """;
+
+    // Keyset pages, newest first, backed by the (user_id, created_at, id) index.
+    // The admin list goes through findSummaries with EwasteRequestSpecifications.
+
+    @Query(SELECT_SUMMARY + "where u.email = :email order by r.createdAt desc, r.id desc")
+    List<EwasteRequestSummary> findFirstSummaryPageOfUser(@Param("email") String email, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + """
+            where u.email = :email
+              and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))
+            order by r.createdAt desc, r.id desc
+            """)
+    List<EwasteRequestSummary> findSummaryPageOfUserAfter(
+            @Param("email") String email,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query(SELECT_SUMMARY + "where r.id = :id and u.email = :email")
+    Optional<EwasteRequestSummary> findSummaryByIdAndUserEmail(@Param("id") Long id, @Param("email") String email);
+
+    @Query(SELECT_SUMMARY + "where r.id in :ids")
+    List<EwasteRequestSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /* ---------- DELTA SYNC ---------- */
+
+    // Subqueries keep this one round trip and return a row even for users without requests
+    @Query("""
+            select new com.ewaste.dto.RequestSyncState(
+                (select count(r) from EwasteRequest r where r.user = u),
+                (select max(r.updatedAt) from EwasteRequest r where r.user = u),
+                (select max(t.deletedAt) from RequestTombstone t where t.userId = u.id),
+                u.profileUpdatedAt
+            )
+            from User u
+            where u.email = :email
+            """)
+    Optional<RequestSyncState> findSyncState(@Param("email") String email);
+
+    @Query(SELECT_SUMMARY + """
+            where u.email = :email and r.updatedAt > :since
+            order by r.updatedAt, r.id
+            """)
+    List<EwasteRequestSummary> findSummariesOfUserChangedSince(
+            @Param("email") String email,
+            @Param("since") LocalDateTime since,
+            Pageable pageable
+    );
+
+    // The later of the request's update and its owner's last rename; both show in the summary
+    @Query("""
+            select case when u.profileUpdatedAt > r.updatedAt then u.profileUpdatedAt else r.updatedAt end
+            from EwasteRequest r join r.user u
+            where r.id = :id and u.email = :email
+            """)
+    Optional<LocalDateTime> findVersionOfUser(@Param("id") Long id, @Param("email") String email);
+
+    // Batches for rebuilding the in-memory search index, walked by id
+    @Query("""
+            select new com.ewaste.dto.RequestSearchDocument(
+                r.id, r.deviceType, r.brand, r.model, r.additionalRemarks, r.pickupAddress
+            )
+            from EwasteRequest r
+            where r.id > :afterId
+            order by r.id
+            """)
+    List<RequestSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /* ---------- COUNTER RECONCILIATION ---------- */
+
+    @Query("""
+            select new com.ewaste.dto.RequestCountRow(r.status, r.condition, r.deviceType, count(r))
+            from EwasteRequest r
+            group by r.status, r.condition, r.deviceType
+            """)
+    List<RequestCountRow> countByStatusConditionAndDeviceType();
+
+    long countByCreatedAtGreaterThanEqual(LocalDateTime start);
+
+    /* ---------- PICKUP SLOT BACKFILL ---------- */
+
+    @Query("""
+            select new com.ewaste.dto.PickupSlotCount(r.pickupDate, r.pickupTime, r.pickupZone, count(r))
+            from EwasteRequest r
+            where r.status in :statuses and r.pickupDate >= :from and r.pickupTime is not null
+            group by r.pickupDate, r.pickupTime, r.pickupZone
+            """)
+    List<PickupSlotCount> countUpcomingPickups(
+            @Param("statuses") Collection<RequestStatus> statuses,
+            @Param("from") LocalDate from
+    );
+
+    /* ---------- ROLLUP BACKFILL ---------- */
+
+    // Completed before completion times were recorded; updatedAt is the best estimate
+    @Query("""
+            select new com.ewaste.dto.ClosedRequestRow(
+                r.status, r.deviceType, r.condition, r.quantity, r.createdAt, r.updatedAt
+            )
+            from EwasteRequest r
+            where r.status in :statuses and r.completedAt is null
+            """)
+    List<ClosedRequestRow> findClosedWithoutCompletion(@Param("statuses") Collection<RequestStatus> statuses);
+
+    @Modifying
+    @Query("""
+            update EwasteRequest r set r.completedAt = r.updatedAt
+            where r.status in :statuses and r.completedAt is null
+            """)
+    int stampMissingCompletion(@Param("statuses") Collection<RequestStatus> statuses);
+
+    @Query("select r from EwasteRequest r join fetch r.user where r.id in :ids")
+    List<EwasteRequest> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Requests whose images still live in the legacy base64 collection
+    @Query("select distinct r.id from EwasteRequest r join r.images i order by r.id")
+    List<Long> findIdsWithLegacyImages();
 }
\ No newline at end of file
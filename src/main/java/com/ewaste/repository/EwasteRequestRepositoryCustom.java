@@ -0,0 +1,67 @@
+package com.ewaste.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.dto.RequestClusterRow;
+import com.ewaste.dto.RequestDistance;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestStatus;
+
+public interface EwasteRequestRepositoryCustom {
+
+    /**
+     * Runs {@code spec} as a single select that builds summaries straight
+     * from the request and user columns, without loading entities or their
+     * image collections.
+     */
+    List<EwasteRequestSummary> findSummaries(Specification<EwasteRequest> spec, Sort sort, int limit);
+
+    /**
+     * The first {@code limit} summaries in {@code (createdAt, id)} order whose
+     * status is one of {@code statuses}. A single {@code status in (...)} can
+     * only be served by sorting every match, so this runs one limited query
+     * per status, each walking the (status, created_at, id) index in order,
+     * and merges the pages.
+     */
+    List<EwasteRequestSummary> findSummariesByStatus(
+            Specification<EwasteRequest> spec,
+            Collection<RequestStatus> statuses,
+            boolean ascending,
+            int limit
+    );
+
+    /**
+     * The same select as {@link #findSummaries}, unbounded and read through a
+     * forward-only cursor {@code fetchSize} rows at a time. The stream must be
+     * closed, inside the transaction that opened it.
+     */
+    Stream<EwasteRequestSummary> streamSummaries(Specification<EwasteRequest> spec, Sort sort, int fetchSize);
+
+    /**
+     * Requests within {@code radiusKm} of the point, nearest first. Candidates
+     * come from a range scan per geohash cell prefix and are narrowed by the
+     * south/west/north/east box before the database measures the distance.
+     * An empty {@code statuses} means any status.
+     */
+    List<RequestDistance> findWithinRadius(
+            Collection<String> cells,
+            double south,
+            double west,
+            double north,
+            double east,
+            double latitude,
+            double longitude,
+            double radiusKm,
+            Collection<RequestStatus> statuses,
+            int limit
+    );
+
+    /** Located requests grouped by the first {@code precision} characters of their geohash, largest groups first. */
+    List<RequestClusterRow> findClusters(int precision, Collection<RequestStatus> statuses, int limit);
+}
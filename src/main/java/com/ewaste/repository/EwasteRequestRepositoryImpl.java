@@ -0,0 +1,206 @@
+package com.ewaste.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.dto.RequestClusterRow;
+import com.ewaste.dto.RequestDistance;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class EwasteRequestRepositoryImpl implements EwasteRequestRepositoryCustom {
+
+    // Haversine on a 6371 km sphere; :latRad and :lonRad are the centre in radians
+    private static final String DISTANCE_KM = """
+            (12742 * asin(sqrt(
+                power(sin((radians(r.latitude) - :latRad) / 2), 2)
+                + cos(:latRad) * cos(radians(r.latitude)) * power(sin((radians(r.longitude) - :lonRad) / 2), 2)
+            )))""";
+
+    private final EntityManager entityManager;
+
+    EwasteRequestRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<EwasteRequestSummary> findSummaries(Specification<EwasteRequest> spec, Sort sort, int limit) {
+
+        return summaryQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<EwasteRequestSummary> findSummariesByStatus(
+            Specification<EwasteRequest> spec,
+            Collection<RequestStatus> statuses,
+            boolean ascending,
+            int limit
+    ) {
+
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
+
+        Comparator<EwasteRequestSummary> order = Comparator.comparing(EwasteRequestSummary::getCreatedAt)
+                .thenComparing(EwasteRequestSummary::getId);
+
+        List<EwasteRequestSummary> merged = new ArrayList<>();
+
+        for (RequestStatus status : statuses) {
+            merged.addAll(findSummaries(spec.and(EwasteRequestSpecifications.statusIn(List.of(status))), sort, limit));
+        }
+
+        merged.sort(ascending ? order : order.reversed());
+
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    @Override
+    public Stream<EwasteRequestSummary> streamSummaries(Specification<EwasteRequest> spec, Sort sort, int fetchSize) {
+
+        // Hibernate streams over a forward-only cursor; rows are projections, so nothing accumulates
+        return summaryQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<RequestDistance> findWithinRadius(
+            Collection<String> cells,
+            double south,
+            double west,
+            double north,
+            double east,
+            double latitude,
+            double longitude,
+            double radiusKm,
+            Collection<RequestStatus> statuses,
+            int limit
+    ) {
+
+        StringBuilder jpql = new StringBuilder("select new com.ewaste.dto.RequestDistance(r.id, ")
+                .append(DISTANCE_KM)
+                .append(") from EwasteRequest r where (");
+
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) jpql.append(" or ");
+            jpql.append("r.geohash like :cell").append(i);
+        }
+
+        jpql.append(") and r.latitude between :south and :north and r.longitude between :west and :east");
+
+        if (!statuses.isEmpty()) {
+            jpql.append(" and r.status in :statuses");
+        }
+
+        jpql.append(" and ").append(DISTANCE_KM).append(" <= :radiusKm order by ").append(DISTANCE_KM).append(", r.id");
+
+        TypedQuery<RequestDistance> query = entityManager.createQuery(jpql.toString(), RequestDistance.class);
+
+        int i = 0;
+        for (String cell : cells) {
+            query.setParameter("cell" + i++, cell + "%");
+        }
+
+        if (!statuses.isEmpty()) {
+            query.setParameter("statuses", statuses);
+        }
+
+        return query
+                .setParameter("south", south)
+                .setParameter("north", north)
+                .setParameter("west", west)
+                .setParameter("east", east)
+                .setParameter("latRad", Math.toRadians(latitude))
+                .setParameter("lonRad", Math.toRadians(longitude))
+                .setParameter("radiusKm", radiusKm)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<RequestClusterRow> findClusters(int precision, Collection<RequestStatus> statuses, int limit) {
+
+        // The precision is inlined so the select and group by expressions are identical
+        String cell = "substring(r.geohash, 1, " + precision + ")";
+
+        String jpql = "select new com.ewaste.dto.RequestClusterRow(" + cell + ", count(r), sum(r.quantity), "
+                + "avg(r.latitude), avg(r.longitude)) from EwasteRequest r where r.geohash is not null"
+                + (statuses.isEmpty() ? "" : " and r.status in :statuses")
+                + " group by " + cell + " order by count(r) desc, " + cell;
+
+        TypedQuery<RequestClusterRow> query = entityManager.createQuery(jpql, RequestClusterRow.class);
+
+        if (!statuses.isEmpty()) {
+            query.setParameter("statuses", statuses);
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<EwasteRequestSummary> summaryQuery(Specification<EwasteRequest> spec, Sort sort) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EwasteRequestSummary> query = cb.createQuery(EwasteRequestSummary.class);
+        Root<EwasteRequest> request = query.from(EwasteRequest.class);
+
+        // Specifications that filter on the user reuse this join
+        Join<EwasteRequest, User> user = request.join("user");
+
+        query.select(cb.construct(
+                EwasteRequestSummary.class,
+                request.get("id"),
+                request.get("deviceType"),
+                request.get("brand"),
+                request.get("model"),
+                request.get("condition"),
+                request.get("quantity"),
+                request.get("pickupAddress"),
+                request.get("latitude"),
+                request.get("longitude"),
+                request.get("additionalRemarks"),
+                request.get("status"),
+                request.get("pickupDate"),
+                request.get("pickupTime"),
+                request.get("pickupZone"),
+                request.get("pickupPersonnelName"),
+                request.get("pickupPersonnelId"),
+                request.get("rejectionReason"),
+                user.get("name"),
+                user.get("email"),
+                request.get("createdAt"),
+                request.get("updatedAt")
+        ));
+
+        Predicate predicate = spec.toPredicate(request, query, cb);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.orderBy(QueryUtils.toOrders(sort, request, cb));
+
+        return entityManager.createQuery(query);
+    }
+}
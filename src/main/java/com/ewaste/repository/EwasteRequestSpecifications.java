@@ -0,0 +1,111 @@
+package com.ewaste.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+
+/**
+ * Criteria building blocks for the admin request list. Each one compares a
+ * plain column with equality or a range so the composite indexes declared on
+ * {@link EwasteRequest} stay usable; a {@code null} argument means "no filter".
+ */
+public final class EwasteRequestSpecifications {
+
+    private EwasteRequestSpecifications() {
+    }
+
+    public static Specification<EwasteRequest> statusIn(Collection<RequestStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return Specification.unrestricted();
+        }
+        if (statuses.size() == 1) {
+            RequestStatus status = statuses.iterator().next();
+            return (root, query, cb) -> cb.equal(root.get("status"), status);
+        }
+        // Matches several index prefixes, so an order by created_at has to sort;
+        // the paged admin list reads each status separately instead
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<EwasteRequest> conditionIs(RequestCondition condition) {
+        if (condition == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.equal(root.get("condition"), condition);
+    }
+
+    public static Specification<EwasteRequest> deviceTypeIs(String deviceType) {
+        if (deviceType == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.equal(root.get("deviceType"), deviceType);
+    }
+
+    public static Specification<EwasteRequest> brandIs(String brand) {
+        if (brand == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.equal(root.get("brand"), brand);
+    }
+
+    public static Specification<EwasteRequest> requesterEmailIs(String email) {
+        if (email == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> cb.equal(userJoin(root).get("email"), email);
+    }
+
+    public static Specification<EwasteRequest> createdBetween(LocalDate from, LocalDate to) {
+        Specification<EwasteRequest> spec = Specification.unrestricted();
+        if (from != null) {
+            LocalDateTime start = from.atStartOfDay();
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), start));
+        }
+        if (to != null) {
+            LocalDateTime end = to.plusDays(1).atStartOfDay();
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("createdAt"), end));
+        }
+        return spec;
+    }
+
+    public static Specification<EwasteRequest> pickupBetween(LocalDate from, LocalDate to) {
+        Specification<EwasteRequest> spec = Specification.unrestricted();
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("pickupDate"), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("pickupDate"), to));
+        }
+        return spec;
+    }
+
+    // Summary queries already join the user for its name and email
+    private static Join<?, ?> userJoin(Root<EwasteRequest> root) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("user"))
+                .findFirst()
+                .orElseGet(() -> root.join("user"));
+    }
+
+    /** Rows strictly after {@code (createdAt, id)} in the given direction. */
+    public static Specification<EwasteRequest> after(LocalDateTime createdAt, Long id, boolean ascending) {
+        return (root, query, cb) -> ascending
+                ? cb.or(
+                        cb.greaterThan(root.get("createdAt"), createdAt),
+                        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.get("id"), id))
+                )
+                : cb.or(
+                        cb.lessThan(root.get("createdAt"), createdAt),
+                        cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id))
+                );
+    }
+}
@@ -0,0 +1,18 @@
+package com.ewaste.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.ewaste.entity.PickupPersonnel;
+
+public interface PickupPersonnelRepository extends JpaRepository<PickupPersonnel, Long> {
+
+    List<PickupPersonnel> findAllByOrderByNameAsc();
+
+    List<PickupPersonnel> findByActiveTrueOrderByIdAsc();
+
+    boolean existsByName(String name);
+
+    boolean existsByNameAndIdNot(String name, Long id);
+}
@@ -0,0 +1,67 @@
+package com.ewaste.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ewaste.entity.PickupSlot;
+
+public interface PickupSlotRepository extends JpaRepository<PickupSlot, Long> {
+
+    List<PickupSlot> findByZoneAndDateBetween(String zone, LocalDate from, LocalDate to);
+
+    @Query("select s.reserved from PickupSlot s where s.date = :date and s.time = :time and s.zone = :zone")
+    Optional<Integer> findReserved(
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("zone") String zone
+    );
+
+    // Check and add in one statement: concurrent callers queue on the row lock
+    // and re-evaluate the condition, so the slot is never oversold
+    @Modifying
+    @Query("""
+            update PickupSlot s set s.reserved = s.reserved + :count
+            where s.date = :date and s.time = :time and s.zone = :zone and s.reserved + :count <= :capacity
+            """)
+    int reserve(
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("zone") String zone,
+            @Param("count") int count,
+            @Param("capacity") int capacity
+    );
+
+    @Modifying
+    @Query("""
+            update PickupSlot s
+            set s.reserved = case when s.reserved > :count then s.reserved - :count else 0 end
+            where s.date = :date and s.time = :time and s.zone = :zone and s.reserved > 0
+            """)
+    int release(
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("zone") String zone,
+            @Param("count") int count
+    );
+
+    // Leaves an existing row untouched, so it is safe to race with reservations
+    @Modifying
+    @Query(value = """
+            insert into pickup_slots (slot_date, slot_time, zone, reserved)
+            values (:date, :time, :zone, :reserved)
+            on duplicate key update reserved = reserved
+            """, nativeQuery = true)
+    void createIfAbsent(
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("zone") String zone,
+            @Param("reserved") long reserved
+    );
+}
@@ -0,0 +1,37 @@
+package com.ewaste.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ewaste.entity.RequestDailyRollup;
+
+public interface RequestDailyRollupRepository extends JpaRepository<RequestDailyRollup, Long> {
+
+    List<RequestDailyRollup> findByDayBetween(LocalDate from, LocalDate to);
+
+    // One round trip and no read-modify-write race; negative deltas undo a completion
+    @Modifying
+    @Query(value = """
+            insert into request_daily_rollups
+                (bucket_day, outcome, device_type, device_condition, requests, devices, turnaround_seconds)
+            values (:day, :outcome, :deviceType, :condition, :requests, :devices, :turnaroundSeconds)
+            on duplicate key update
+                requests = requests + :requests,
+                devices = devices + :devices,
+                turnaround_seconds = turnaround_seconds + :turnaroundSeconds
+            """, nativeQuery = true)
+    void add(
+            @Param("day") LocalDate day,
+            @Param("outcome") String outcome,
+            @Param("deviceType") String deviceType,
+            @Param("condition") String condition,
+            @Param("requests") long requests,
+            @Param("devices") long devices,
+            @Param("turnaroundSeconds") long turnaroundSeconds
+    );
+}
@@ -0,0 +1,72 @@
+package com.ewaste.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ewaste.dto.RequestImageInfo;
+import com.ewaste.dto.RequestImageRef;
+import com.ewaste.entity.RequestImage;
+
+public interface RequestImageRepository extends JpaRepository<RequestImage, Long> {
+
+    List<RequestImage> findByRequestIdOrderByImageIndexAsc(Long requestId);
+
+    @Query("select i.blobKey from RequestImage i where i.request.id = :requestId order by i.imageIndex")
+    List<String> findBlobKeysByRequestId(@Param("requestId") Long requestId);
+
+    Optional<RequestImage> findByRequestIdAndImageIndex(Long requestId, Integer imageIndex);
+
+    @Query("""
+            select new com.ewaste.dto.RequestImageInfo(i.imageIndex, b.contentType, b.sizeBytes, b.width, b.height, b.checksum)
+            from RequestImage i join BlobMetadata b on b.blobKey = i.blobKey
+            where i.request.id = :requestId
+            order by i.imageIndex
+            """)
+    List<RequestImageInfo> findImageInfos(@Param("requestId") Long requestId);
+
+    @Query("""
+            select new com.ewaste.dto.RequestImageRef(i.request.id, b.blobKey, b.contentType, b.thumbnailKey, b.checksum, b.createdAt)
+            from RequestImage i join BlobMetadata b on b.blobKey = i.blobKey
+            where i.request.id = :requestId and i.imageIndex = :imageIndex
+            """)
+    Optional<RequestImageRef> findImageRef(@Param("requestId") Long requestId, @Param("imageIndex") Integer imageIndex);
+
+    @Query("""
+            select new com.ewaste.dto.RequestImageRef(i.request.id, b.blobKey, b.contentType, b.thumbnailKey, b.checksum, b.createdAt)
+            from RequestImage i join BlobMetadata b on b.blobKey = i.blobKey
+            where i.request.id = :requestId and i.imageIndex = :imageIndex and i.request.user.id = :userId
+            """)
+    Optional<RequestImageRef> findImageRefOfUser(
+            @Param("requestId") Long requestId,
+            @Param("imageIndex") Integer imageIndex,
+            @Param("userId") Long userId
+    );
+
+    // First image of each request together with its blob metadata, for batch tile loading
+    @Query("""
+            select new com.ewaste.dto.RequestImageRef(i.request.id, b.blobKey, b.contentType, b.thumbnailKey, b.checksum, b.createdAt)
+            from RequestImage i join BlobMetadata b on b.blobKey = i.blobKey
+            where i.imageIndex = 0 and i.request.id in :requestIds
+            """)
+    List<RequestImageRef> findPrimaryImages(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query("""
+            select new com.ewaste.dto.RequestImageRef(i.request.id, b.blobKey, b.contentType, b.thumbnailKey, b.checksum, b.createdAt)
+            from RequestImage i join BlobMetadata b on b.blobKey = i.blobKey
+            where i.imageIndex = 0 and i.request.id in :requestIds and i.request.user.id = :userId
+            """)
+    List<RequestImageRef> findPrimaryImagesOfUser(
+            @Param("requestIds") Collection<Long> requestIds,
+            @Param("userId") Long userId
+    );
+
+    @Modifying
+    @Query("delete from RequestImage i where i.request.id = :requestId")
+    int deleteByRequestId(@Param("requestId") Long requestId);
+}
@@ -0,0 +1,59 @@
+package com.ewaste.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ewaste.dto.ChangeFeedEvent;
+import com.ewaste.entity.RequestOutboxEvent;
+
+public interface RequestOutboxRepository extends JpaRepository<RequestOutboxEvent, Long> {
+
+    // Ordered like idx_request_outbox_position so the window is read straight off the index
+    @Query("""
+            select e.id from RequestOutboxEvent e
+            where e.feedPosition is null and e.id > :afterId
+            order by e.feedPosition, e.id
+            """)
+    List<Long> findUnpublishedIds(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select coalesce(max(e.feedPosition), 0) from RequestOutboxEvent e")
+    long findLastPosition();
+
+    /** Positions follow id order, so {@code offset} only has to clear the last assigned one. */
+    @Modifying
+    @Query("""
+            update RequestOutboxEvent e set e.feedPosition = e.id + :offset
+            where e.feedPosition is null and e.id between :firstId and :lastId
+            """)
+    int assignPositions(@Param("firstId") long firstId, @Param("lastId") long lastId, @Param("offset") long offset);
+
+    @Query("""
+            select new com.ewaste.dto.ChangeFeedEvent(
+                e.feedPosition, e.type, e.requestId, e.userId, e.status, e.pickupDate, e.pickupTime, e.occurredAt
+            )
+            from RequestOutboxEvent e
+            where e.feedPosition between :from and :to
+            order by e.feedPosition
+            """)
+    List<ChangeFeedEvent> findFeedBetween(@Param("from") long from, @Param("to") long to);
+
+    @Query("""
+            select new com.ewaste.dto.ChangeFeedEvent(
+                e.feedPosition, e.type, e.requestId, e.userId, e.status, e.pickupDate, e.pickupTime, e.occurredAt
+            )
+            from RequestOutboxEvent e
+            where e.feedPosition > :after
+            order by e.feedPosition
+            """)
+    List<ChangeFeedEvent> findFeedAfter(@Param("after") long after, Pageable pageable);
+
+    @Modifying
+    @Query("delete from RequestOutboxEvent e where e.feedPosition is not null and e.occurredAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.ewaste.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ewaste.entity.RequestTombstone;
+
+public interface RequestTombstoneRepository extends JpaRepository<RequestTombstone, Long> {
+
+    @Query("""
+            select t.requestId from RequestTombstone t, User u
+            where u.email = :email and t.userId = u.id and t.deletedAt > :since
+            order by t.deletedAt
+            """)
+    List<Long> findRequestIdsDeletedSince(@Param("email") String email, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("delete from RequestTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
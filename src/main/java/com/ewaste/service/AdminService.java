@@ -17,6 +17,9 @@ public class AdminService {
     @Autowired
     private EwasteRequestRepository requestRepository;
 
+    @Autowired
+    private EwasteRequestService requestService;
+
     // 1️⃣ Get all requests (latest first)
     public List<EwasteRequest> getAllRequests() {
         return requestRepository.findAllByOrderByCreatedAtDesc();
@@ -24,22 +27,11 @@ public class AdminService {
 
     // 2️⃣ Accept / Reject request
     public EwasteRequest updateRequestStatus(Long id, RequestStatus status) {
-        EwasteRequest request = requestRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Request not found"));
-
-        request.setStatus(status);
-        return requestRepository.save(request);
+        return requestService.adminUpdateStatus(id, status);
     }
 
     // 3️⃣ Schedule pickup
     public EwasteRequest schedulePickup(Long id, LocalDate pickupDate, LocalTime pickupTime) {
-        EwasteRequest request = requestRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Request not found"));
-
-        request.setPickupDate(pickupDate);
-        request.setPickupTime(pickupTime);
-        request.setStatus(RequestStatus.SCHEDULED);
-
-        return requestRepository.save(request);
+        return requestService.adminSchedulePickup(id, pickupDate, pickupTime);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.ewaste.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ewaste.dto.BlobUsage;
+import com.ewaste.dto.StorageStats;
+import com.ewaste.entity.BlobMetadata;
+import com.ewaste.repository.BlobMetadataRepository;
+import com.ewaste.storage.BlobStore;
+
+/**
+ * Reclaims blobs whose reference count has been zero for longer than the
+ * grace period. The metadata row is removed first with a conditional delete,
+ * then the file only if no upload has re-used it since it was released.
+ */
+@Service
+public class BlobGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobGarbageCollector.class);
+
+    @Value("${app.storage.gc.grace-minutes:60}")
+    private long graceMinutes;
+
+    @Value("${app.storage.gc.batch-size:500}")
+    private int batchSize;
+
+    private final BlobStore blobStore;
+    private final BlobMetadataRepository blobMetadataRepository;
+
+    private final LongAdder deduplicatedUploads = new LongAdder();
+    private final LongAdder collectedBlobs = new LongAdder();
+    private final LongAdder collectedBytes = new LongAdder();
+
+    public BlobGarbageCollector(BlobStore blobStore, BlobMetadataRepository blobMetadataRepository) {
+        this.blobStore = blobStore;
+        this.blobMetadataRepository = blobMetadataRepository;
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.storage.gc.interval-ms:600000}",
+            fixedDelayString = "${app.storage.gc.interval-ms:600000}"
+    )
+    public void collect() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(graceMinutes);
+        List<BlobMetadata> candidates;
+
+        do {
+
+            candidates = blobMetadataRepository.findCollectable(cutoff, PageRequest.of(0, batchSize));
+
+            for (BlobMetadata candidate : candidates) {
+                collect(candidate, cutoff);
+            }
+
+        } while (candidates.size() == batchSize);
+    }
+
+    /**
+     * Parks blobs written by a rolled-back upload as unreferenced so the
+     * collector removes them unless another upload claims the same content.
+     * Runs from {@code afterCompletion}, hence its own transaction.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void releaseOrphans(List<BlobMetadata> blobs) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        for (BlobMetadata blob : blobs) {
+            blobMetadataRepository.insertIfAbsent(
+                    blob.getBlobKey(),
+                    blob.getSizeBytes(),
+                    blob.getContentType(),
+                    blob.getChecksum(),
+                    blob.getWidth(),
+                    blob.getHeight(),
+                    blob.getOriginalSizeBytes(),
+                    now
+            );
+        }
+    }
+
+    public void recordDeduplicated() {
+        deduplicatedUploads.increment();
+    }
+
+    public StorageStats stats() {
+
+        BlobUsage usage = blobMetadataRepository.usage();
+        long liveBytes = usage.storedBytes() - usage.unreferencedBytes();
+
+        return new StorageStats(
+                usage.blobs(),
+                usage.storedBytes(),
+                usage.referencedBytes(),
+                usage.referencedBytes() - liveBytes,
+                usage.unreferencedBlobs(),
+                usage.unreferencedBytes(),
+                usage.normalizationSavedBytes(),
+                deduplicatedUploads.sum(),
+                collectedBlobs.sum(),
+                collectedBytes.sum()
+        );
+    }
+
+    private void collect(BlobMetadata candidate, LocalDateTime cutoff) {
+
+        String key = candidate.getBlobKey();
+
+        // Loses to any upload that re-referenced the blob after it was listed
+        if (blobMetadataRepository.deleteIfUnreferenced(key, cutoff) == 0) return;
+
+        try {
+
+            if (!blobStore.deleteIfUnmodifiedSince(key, candidate.getReleasedAt().atZone(ZoneId.systemDefault()).toInstant())) {
+                return;
+            }
+
+            blobStore.delete(ThumbnailService.thumbnailKeyFor(key));
+
+            collectedBlobs.increment();
+            collectedBytes.add(candidate.getSizeBytes());
+
+        } catch (IOException exception) {
+
+            log.warn("Could not delete unreferenced blob {}", key, exception);
+
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ewaste.service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimated kilograms per unit of each device type, from
+ * {@code app.reports.device-weights-kg.<type>}. Types are matched without
+ * regard to case; anything unlisted weighs {@code default-weight-kg}.
+ * Applied when a report is built, so a changed weight re-prices past periods.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.reports")
+public class DeviceWeights {
+
+    private Map<String, Double> deviceWeightsKg = new HashMap<>();
+    private double defaultWeightKg = 1.0;
+
+    public double kilogramsPerUnit(String deviceType) {
+
+        if (deviceType == null) return defaultWeightKg;
+
+        return deviceWeightsKg.getOrDefault(deviceType.trim().toLowerCase(Locale.ROOT), defaultWeightKg);
+    }
+
+    public Map<String, Double> getDeviceWeightsKg() {
+        return deviceWeightsKg;
+    }
+
+    public void setDeviceWeightsKg(Map<String, Double> deviceWeightsKg) {
+        Map<String, Double> normalized = new HashMap<>();
+        deviceWeightsKg.forEach((type, kg) -> normalized.put(type.trim().toLowerCase(Locale.ROOT), kg));
+        this.deviceWeightsKg = normalized;
+    }
+
+    public double getDefaultWeightKg() {
+        return defaultWeightKg;
+    }
+
+    public void setDefaultWeightKg(double defaultWeightKg) {
+        this.defaultWeightKg = defaultWeightKg;
+    }
+}
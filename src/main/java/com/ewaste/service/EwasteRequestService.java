@@ -1,45 +1,143 @@
 package com.ewaste.service;
 
-import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ewaste.dto.AdminRequestBatchItem;
+import com.ewaste.dto.AdminRequestBatchRequest;
+import com.ewaste.dto.AdminRequestBatchResult;
+import com.ewaste.dto.AdminRequestFilter;
 import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.dto.ImageBatchRequest;
+import com.ewaste.dto.NearbyRequest;
+import com.ewaste.dto.RequestCluster;
+import com.ewaste.dto.RequestDistance;
+import com.ewaste.dto.RequestImageInfo;
+import com.ewaste.dto.RequestImageRef;
+import com.ewaste.dto.RequestChanges;
+import com.ewaste.dto.RequestPage;
+import com.ewaste.dto.RequestSearchDocument;
+import com.ewaste.dto.RequestSearchPage;
+import com.ewaste.dto.RequestSyncState;
+import com.ewaste.entity.BlobMetadata;
 import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.OutboxEventType;
+import com.ewaste.entity.PickupPersonnel;
 import com.ewaste.entity.RequestCondition;
 import com.ewaste.entity.RequestStatus;
+import com.ewaste.entity.RequestTombstone;
 import com.ewaste.entity.User;
 import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.EwasteRequestSpecifications;
+import com.ewaste.repository.PickupPersonnelRepository;
+import com.ewaste.repository.RequestTombstoneRepository;
 import com.ewaste.repository.UserRepository;
+import com.ewaste.storage.BlobContent;
+
+import tools.jackson.databind.ObjectMapper;
 
 @Service
 public class EwasteRequestService {
 
-    private static final long MAX_IMAGE_SIZE_BYTES = 5L * 1024 * 1024;
+    private static final int MAX_IMAGE_BATCH_SIZE = 500;
+    private static final int MAX_ADMIN_BATCH_SIZE = 500;
+
+    private static final double DEFAULT_NEARBY_RADIUS_KM = 5;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int DEFAULT_CLUSTER_PRECISION = 5;
+    private static final int MAX_CLUSTERS = 5000;
+
+    // Requests that still need a pickup arranged
+    private static final List<RequestStatus> UNSCHEDULED_STATUSES =
+            List.of(RequestStatus.SUBMITTED, RequestStatus.PENDING, RequestStatus.ACCEPTED);
+
+    // Re-read window for delta sync; covers the gap between stamping updatedAt and commit
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
+    @Value("${app.requests.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.requests.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.requests.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
 
     private final EwasteRequestRepository requestRepository;
+    private final RequestTombstoneRepository tombstoneRepository;
+    private final PickupPersonnelRepository personnelRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final ImageStorageService imageStorageService;
+    private final RequestSearchIndex searchIndex;
+    private final MyRequestsCache myRequestsCache;
+    private final RequestEventBroadcaster eventBroadcaster;
+    private final RequestOutbox outbox;
+    private final RequestExporter requestExporter;
+    private final RequestCounters requestCounters;
+    private final RequestRollups requestRollups;
+    private final PickupSlots pickupSlots;
+    private final ObjectMapper objectMapper;
 
     public EwasteRequestService(
             EwasteRequestRepository requestRepository,
+            RequestTombstoneRepository tombstoneRepository,
+            PickupPersonnelRepository personnelRepository,
             UserRepository userRepository,
-            EmailService emailService
+            EmailService emailService,
+            ImageStorageService imageStorageService,
+            RequestSearchIndex searchIndex,
+            MyRequestsCache myRequestsCache,
+            RequestEventBroadcaster eventBroadcaster,
+            RequestOutbox outbox,
+            RequestExporter requestExporter,
+            RequestCounters requestCounters,
+            RequestRollups requestRollups,
+            PickupSlots pickupSlots,
+            ObjectMapper objectMapper
     ) {
         this.requestRepository = requestRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.personnelRepository = personnelRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
+        this.imageStorageService = imageStorageService;
+        this.searchIndex = searchIndex;
+        this.myRequestsCache = myRequestsCache;
+        this.eventBroadcaster = eventBroadcaster;
+        this.outbox = outbox;
+        this.requestExporter = requestExporter;
+        this.requestCounters = requestCounters;
+        this.requestRollups = requestRollups;
+        this.pickupSlots = pickupSlots;
+        this.objectMapper = objectMapper;
     }
 
+    @Transactional
     public EwasteRequestSummary createRequest(
             String email,
             String deviceType,
@@ -48,6 +146,8 @@ public class EwasteRequestService {
             String condition,
             Integer quantity,
             String pickupAddress,
+            Double latitude,
+            Double longitude,
             String additionalRemarks,
             MultipartFile[] images
     ) {
@@ -65,71 +165,186 @@ public class EwasteRequestService {
         request.setCondition(parseCondition(condition));
         request.setQuantity(quantity);
         request.setPickupAddress(pickupAddress.trim());
+        setLocation(request, latitude, longitude);
         request.setAdditionalRemarks(additionalRemarks == null ? null : additionalRemarks.trim());
 
-        List<String> imageList = new ArrayList<>();
-        List<String> typeList = new ArrayList<>();
+        EwasteRequest saved = requestRepository.save(request);
 
-        try {
+        imageStorageService.attachImages(saved, images);
+
+        searchIndex.indexAfterCommit(toSearchDocument(saved));
+        myRequestsCache.invalidateAfterCommit(email);
+        eventBroadcaster.publishAfterCommit(email, RequestEventBroadcaster.CREATED, saved);
+        outbox.record(OutboxEventType.REQUEST_CREATED, saved);
+        requestCounters.moveAfterCommit(null, RequestCounters.Snapshot.of(saved));
+
+        return toSummary(saved);
+    }
 
-            for (MultipartFile image : images) {
+    /** Fingerprint of the user's list, read before any body so ETags never run ahead of it. */
+    public RequestSyncState getMyRequestsState(String email) {
 
-                if (image == null || image.isEmpty()) continue;
+        return requestRepository.findSyncState(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
 
-                String base64 = Base64.getEncoder().encodeToString(image.getBytes());
+    /**
+     * {@code /requests/mine} already encoded as JSON: changes since a sync
+     * cursor, a page after a keyset cursor, or the first page. First pages
+     * are what the frontend polls, so they are served from
+     * {@link MyRequestsCache} for as long as {@code state} is current.
+     */
+    public byte[] getMyRequestsJson(String email, RequestSyncState state, String cursor, Integer limit, String since) {
 
-                imageList.add(base64);
+        if (since != null && !since.isBlank()) {
+            return objectMapper.writeValueAsBytes(getMyRequestChanges(email, state, since));
+        }
 
-                typeList.add(
-                        image.getContentType() == null
-                                ? "application/octet-stream"
-                                : image.getContentType()
-                );
-            }
+        if (cursor != null && !cursor.isBlank()) {
+            return objectMapper.writeValueAsBytes(getMyRequests(email, cursor, limit));
+        }
 
-        } catch (IOException exception) {
+        int size = resolveLimit(limit);
 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read uploaded images");
+        return myRequestsCache.get(email, size, state.etag(), () -> {
+            RequestPage page = getMyRequests(email, null, size);
+            String syncCursor = SyncCursor.of(state.watermark()).encode();
+            return objectMapper.writeValueAsBytes(new RequestPage(page.items(), page.nextCursor(), syncCursor));
+        });
+    }
 
+    /**
+     * Rows updated or deleted after {@code since}, re-reading a short overlap
+     * so writes that were stamped before the cursor but committed after it
+     * are not missed. Answers 410 when the client should reload instead:
+     * tombstones it needs may have been purged, too much has changed, or the
+     * requester was renamed.
+     */
+    public RequestChanges getMyRequestChanges(String email, RequestSyncState state, String since) {
+
+        SyncCursor position = SyncCursor.decode(since);
+        LocalDateTime watermark = state.watermark();
+
+        boolean changed = watermark != null && watermark.isAfter(position.watermark());
+        LocalDateTime purgeHorizon = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+
+        if (changed && position.watermark().isBefore(purgeHorizon)) {
+            throw new ResponseStatusException(HttpStatus.GONE, "since cursor expired, reload the list");
         }
 
-        request.setImages(imageList);
-        request.setImageContentTypes(typeList);
+        // A rename touches every row without stamping any of them
+        if (state.profileUpdatedAt() != null && state.profileUpdatedAt().isAfter(position.watermark())) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Profile changed, reload the list");
+        }
 
-        EwasteRequest saved = requestRepository.save(request);
+        LocalDateTime from = position.watermark().minus(SYNC_OVERLAP);
 
-        return toSummary(saved);
+        List<EwasteRequestSummary> rows = requestRepository.findSummariesOfUserChangedSince(
+                email,
+                from,
+                PageRequest.of(0, maxPageSize + 1)
+        );
+
+        if (rows.size() > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Too many changes, reload the list");
+        }
+
+        return new RequestChanges(
+                rows,
+                tombstoneRepository.findRequestIdsDeletedSince(email, from),
+                SyncCursor.of(watermark).encode()
+        );
     }
 
-    public List<EwasteRequestSummary> getMyRequests(String email) {
+    public RequestPage getMyRequests(String email, String cursor, Integer limit) {
 
-        User user = getUserByEmail(email);
+        Pageable pageable = pageRequest(limit);
 
-        return requestRepository.findByUserOrderByCreatedAtDesc(user)
-                .stream()
-                .map(this::toSummary)
-                .toList();
+        List<EwasteRequestSummary> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = requestRepository.findFirstSummaryPageOfUser(email, pageable);
+        } else {
+            RequestCursor position = RequestCursor.decode(cursor);
+            rows = requestRepository.findSummaryPageOfUserAfter(email, position.createdAt(), position.id(), pageable);
+        }
+
+        return toPage(rows, pageable.getPageSize() - 1);
     }
 
-    public List<EwasteRequestSummary> getAllRequests() {
+    public RequestPage getAllRequests(AdminRequestFilter filter, String cursor, Integer limit) {
 
-        return requestRepository.findAll()
-                .stream()
-                .sorted(Comparator.comparing(EwasteRequest::getCreatedAt).reversed())
-                .map(this::toSummary)
-                .toList();
+        Pageable pageable = pageRequest(limit);
+        boolean ascending = isOldestFirst(filter.getSort());
+
+        List<RequestStatus> statuses = parseStatuses(filter.getStatus());
+        boolean severalStatuses = statuses.size() > 1;
+
+        Specification<EwasteRequest> spec = adminFilterSpec(filter, severalStatuses ? List.of() : statuses);
+
+        if (cursor != null && !cursor.isBlank()) {
+            RequestCursor position = RequestCursor.decode(cursor);
+            spec = spec.and(EwasteRequestSpecifications.after(position.createdAt(), position.id(), ascending));
+        }
+
+        List<EwasteRequestSummary> rows = severalStatuses
+                ? requestRepository.findSummariesByStatus(spec, statuses, ascending, pageable.getPageSize())
+                : requestRepository.findSummaries(spec, adminSort(ascending), pageable.getPageSize());
+
+        return toPage(rows, pageable.getPageSize() - 1);
     }
 
-    public EwasteRequestSummary getRequestById(String email, Long requestId) {
+    /** Every request matching {@code filter}, written by {@link RequestExporter} as the response streams. */
+    public StreamingResponseBody exportRequests(AdminRequestFilter filter, RequestExporter.Format format) {
 
-        User user = getUserByEmail(email);
+        // Parsed up front so a bad filter is a 400 rather than a broken download.
+        // Several statuses sort in the database here; an export reads every row anyway.
+        Specification<EwasteRequest> spec = adminFilterSpec(filter, parseStatuses(filter.getStatus()));
+        Sort sort = adminSort(isOldestFirst(filter.getSort()));
 
-        EwasteRequest request = requestRepository.findByIdAndUser(requestId, user)
+        return out -> requestExporter.write(spec, sort, format, out);
+    }
+
+    private Specification<EwasteRequest> adminFilterSpec(AdminRequestFilter filter, List<RequestStatus> statuses) {
+
+        return Specification.allOf(
+                EwasteRequestSpecifications.statusIn(statuses),
+                EwasteRequestSpecifications.conditionIs(isBlank(filter.getCondition()) ? null : parseCondition(filter.getCondition())),
+                EwasteRequestSpecifications.deviceTypeIs(trimToNull(filter.getDeviceType())),
+                EwasteRequestSpecifications.brandIs(trimToNull(filter.getBrand())),
+                EwasteRequestSpecifications.requesterEmailIs(trimToNull(filter.getRequesterEmail())),
+                EwasteRequestSpecifications.createdBetween(filter.getCreatedFrom(), filter.getCreatedTo()),
+                EwasteRequestSpecifications.pickupBetween(filter.getPickupFrom(), filter.getPickupTo())
+        );
+    }
+
+    private Sort adminSort(boolean ascending) {
+
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+
+        return Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
+    }
+
+    /** ETag of one request and whether it changed after the optional {@code since} cursor. */
+    public RequestVersion getRequestVersion(String email, Long requestId, String since) {
+
+        LocalDateTime updatedAt = requestRepository.findVersionOfUser(requestId, email)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
 
-        return toSummary(request);
+        // Same overlap as the list: a write stamped just before the watermark may have committed after it
+        boolean changed = since == null || since.isBlank()
+                || updatedAt.isAfter(SyncCursor.decode(since).watermark().minus(SYNC_OVERLAP));
+
+        return new RequestVersion("W/\"" + requestId + "-" + updatedAt + "\"", changed);
+    }
+
+    public EwasteRequestSummary getRequestById(String email, Long requestId) {
+
+        return requestRepository.findSummaryByIdAndUserEmail(requestId, email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
     }
 
+    @Transactional
     public EwasteRequestSummary updateRequest(
             String email,
             Long requestId,
@@ -139,6 +354,8 @@ public class EwasteRequestService {
             String condition,
             Integer quantity,
             String pickupAddress,
+            Double latitude,
+            Double longitude,
             String additionalRemarks,
             MultipartFile[] images
     ) {
@@ -154,6 +371,8 @@ public class EwasteRequestService {
 
         }
 
+        RequestCounters.Snapshot before = RequestCounters.Snapshot.of(request);
+
         validateUpdateInput(deviceType, brand, model, condition, quantity, pickupAddress, images);
 
         request.setDeviceType(deviceType.trim());
@@ -161,145 +380,744 @@ public class EwasteRequestService {
         request.setModel(model.trim());
         request.setCondition(parseCondition(condition));
         request.setQuantity(quantity);
+
+        // A retyped address without a new pin would leave the old coordinates pointing elsewhere
+        if (latitude != null || longitude != null || !pickupAddress.trim().equals(request.getPickupAddress())) {
+            setLocation(request, latitude, longitude);
+        }
+
         request.setPickupAddress(pickupAddress.trim());
         request.setAdditionalRemarks(additionalRemarks == null ? null : additionalRemarks.trim());
 
         if (images != null && images.length > 0) {
 
-            List<String> imageList = new ArrayList<>();
-            List<String> typeList = new ArrayList<>();
+            imageStorageService.replaceImages(request, images);
 
-            try {
+            clearLegacyImages(request);
+        }
 
-                for (MultipartFile image : images) {
+        EwasteRequest saved = requestRepository.save(request);
 
-                    if (image == null || image.isEmpty()) continue;
+        searchIndex.indexAfterCommit(toSearchDocument(saved));
+        myRequestsCache.invalidateAfterCommit(email);
+        eventBroadcaster.publishAfterCommit(email, RequestEventBroadcaster.UPDATED, saved);
+        outbox.record(OutboxEventType.REQUEST_UPDATED, saved);
+        requestCounters.moveAfterCommit(before, RequestCounters.Snapshot.of(saved));
 
-                    String base64 = Base64.getEncoder().encodeToString(image.getBytes());
+        return toSummary(saved);
+    }
 
-                    imageList.add(base64);
+    /* ---------- ADMIN UPDATE METHOD ---------- */
 
-                    typeList.add(
-                            image.getContentType() == null
-                                    ? "application/octet-stream"
-                                    : image.getContentType()
-                    );
+    @Transactional
+    public EwasteRequestSummary adminUpdateRequest(
+            Long requestId,
+            RequestStatus status,
+            LocalDate pickupDate,
+            LocalTime pickupTime,
+            String pickupZone,
+            String pickupPersonnelName,
+            Long pickupPersonnelId,
+            String rejectionReason
+    ) {
+
+        EwasteRequest request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+
+        AdminUpdate update = new AdminUpdate(
+                status, pickupDate, pickupTime, pickupZone, pickupPersonnelName, pickupPersonnelId, rejectionReason);
+
+        OutboxEventType eventType = applyAdminUpdate(request, update);
+        outbox.record(eventType, request);
+
+        return toSummary(request);
+    }
+
+    /**
+     * The legacy {@code /admin/legacy} status change. The current pickup
+     * details are kept, so moving back into a scheduled state needs them to
+     * be set already.
+     */
+    @Transactional
+    public EwasteRequest adminUpdateStatus(Long requestId, RequestStatus status) {
+
+        EwasteRequest request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+
+        AdminUpdate update = new AdminUpdate(
+                status,
+                request.getPickupDate(),
+                request.getPickupTime(),
+                request.getPickupZone(),
+                request.getPickupPersonnelName(),
+                request.getPickupPersonnelId(),
+                request.getRejectionReason()
+        );
+
+        outbox.record(applyAdminUpdate(request, update), request);
+
+        return request;
+    }
+
+    /** The legacy {@code /admin/legacy} schedule call; zone and assignee stay as they are. */
+    @Transactional
+    public EwasteRequest adminSchedulePickup(Long requestId, LocalDate pickupDate, LocalTime pickupTime) {
+
+        EwasteRequest request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+
+        AdminUpdate update = new AdminUpdate(
+                RequestStatus.SCHEDULED,
+                pickupDate,
+                pickupTime,
+                request.getPickupZone(),
+                request.getPickupPersonnelName(),
+                request.getPickupPersonnelId(),
+                null
+        );
+
+        outbox.record(applyAdminUpdate(request, update), request);
+
+        return request;
+    }
+
+    /**
+     * Applies many admin updates in one transaction. Every item gets its own
+     * result; a refused item leaves its request untouched and does not stop
+     * the others. The requests are read in one query and their UPDATEs go
+     * out as JDBC batches when the transaction flushes.
+     */
+    @Transactional
+    public List<AdminRequestBatchResult> adminUpdateRequests(AdminRequestBatchRequest batch) {
+
+        if (batch == null || batch.getUpdates() == null || batch.getUpdates().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "updates are required");
+        }
+
+        List<AdminRequestBatchItem> items = batch.getUpdates();
+
+        if (items.size() > MAX_ADMIN_BATCH_SIZE) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "At most " + MAX_ADMIN_BATCH_SIZE + " updates per batch");
+        }
+
+        Map<Long, Integer> occurrences = new HashMap<>();
+        List<Long> personnelIds = new ArrayList<>();
+
+        for (AdminRequestBatchItem item : items) {
+            if (item == null) continue;
+            if (item.getId() != null) occurrences.merge(item.getId(), 1, Integer::sum);
+            if (item.getPickupPersonnelId() != null) personnelIds.add(item.getPickupPersonnelId());
+        }
+
+        Map<Long, EwasteRequest> requests = new HashMap<>();
+        for (EwasteRequest request : requestRepository.findAllWithUserByIdIn(occurrences.keySet())) {
+            requests.put(request.getId(), request);
+        }
+
+        // Loaded into the persistence context, so the per-item lookups do not query again
+        if (!personnelIds.isEmpty()) {
+            personnelRepository.findAllById(personnelIds);
+        }
+
+        List<AdminRequestBatchResult> results = new ArrayList<>(items.size());
+        List<RequestOutbox.Change> changes = new ArrayList<>();
+
+        for (AdminRequestBatchItem item : items) {
+
+            Long id = item == null ? null : item.getId();
+
+            try {
+                if (id == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "id is required");
                 }
 
-            } catch (IOException exception) {
+                // Later items would otherwise silently overwrite earlier ones
+                if (occurrences.get(id) > 1) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "id appears more than once in the batch");
+                }
 
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read uploaded image");
+                EwasteRequest request = requests.get(id);
 
-            }
+                if (request == null) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found");
+                }
 
-            request.setImages(imageList);
-            request.setImageContentTypes(typeList);
+                AdminUpdate update = new AdminUpdate(
+                        parseAdminStatus(item.getStatus()),
+                        item.getPickupDate(),
+                        item.getPickupTime(),
+                        item.getPickupZone(),
+                        item.getPickupPersonnelName(),
+                        item.getPickupPersonnelId(),
+                        item.getRejectionReason()
+                );
+
+                changes.add(new RequestOutbox.Change(applyAdminUpdate(request, update), request));
+                results.add(new AdminRequestBatchResult(id, HttpStatus.OK.value(), null, toSummary(request)));
+
+            } catch (ResponseStatusException exception) {
+                results.add(new AdminRequestBatchResult(
+                        id, exception.getStatusCode().value(), exception.getReason(), null));
+            }
         }
 
-        EwasteRequest saved = requestRepository.save(request);
+        outbox.recordAll(changes);
 
-        return toSummary(saved);
+        return results;
     }
 
-    /* ---------- ADMIN UPDATE METHOD ---------- */
-
-    public EwasteRequestSummary adminUpdateRequest(
-            Long requestId,
+    private record AdminUpdate(
             RequestStatus status,
             LocalDate pickupDate,
             LocalTime pickupTime,
+            String pickupZone,
             String pickupPersonnelName,
+            Long pickupPersonnelId,
             String rejectionReason
-    ) {
+    ) {}
 
-        EwasteRequest request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+    /**
+     * Every check, including taking the new slot, runs before the entity is
+     * touched, so a refused update leaves it as it was. Returns the outbox
+     * event type for the caller to record.
+     */
+    private OutboxEventType applyAdminUpdate(EwasteRequest request, AdminUpdate update) {
 
-        if (status == RequestStatus.REJECTED) {
+        RequestCounters.Snapshot before = RequestCounters.Snapshot.of(request);
+        RequestStatus previousStatus = request.getStatus();
+        LocalDate previousPickupDate = request.getPickupDate();
+        LocalTime previousPickupTime = request.getPickupTime();
+        PickupSlots.Slot previousSlot = pickupSlots.heldBy(request);
 
-            request.setStatus(RequestStatus.REJECTED);
-            request.setRejectionReason(rejectionReason);
-            request.setPickupDate(null);
-            request.setPickupTime(null);
-            request.setPickupPersonnelName(null);
+        RequestStatus status = update.status();
 
-        } else if (status.isScheduledState()) {
+        if (status.isScheduledState()) {
 
-            if (pickupDate == null || pickupTime == null) {
+            if (update.pickupDate() == null || update.pickupTime() == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pickupDate and pickupTime required");
             }
 
+            String zone = pickupSlots.normalizeZone(
+                    isBlank(update.pickupZone()) ? request.getPickupZone() : update.pickupZone());
+
+            // A picked personnel record wins over a typed name
+            PickupPersonnel personnel = update.pickupPersonnelId() == null
+                    ? null
+                    : personnelRepository.findById(update.pickupPersonnelId())
+                            .orElseThrow(() -> new ResponseStatusException(
+                                    HttpStatus.BAD_REQUEST, "Unknown pickupPersonnelId"));
+
+            pickupSlots.move(previousSlot, new PickupSlots.Slot(update.pickupDate(), update.pickupTime(), zone));
+
             request.setStatus(RequestStatus.SCHEDULED);
-            request.setPickupDate(pickupDate);
-            request.setPickupTime(pickupTime);
-            request.setPickupPersonnelName(pickupPersonnelName);
+            request.setPickupDate(update.pickupDate());
+            request.setPickupTime(update.pickupTime());
+            request.setPickupZone(zone);
+            request.setPickupPersonnelName(personnel == null ? update.pickupPersonnelName() : personnel.getName());
+            request.setPickupPersonnelId(personnel == null ? null : personnel.getId());
             request.setRejectionReason(null);
 
         } else {
 
+            // A completed pickup keeps its place, so the slot cannot be sold twice
+            pickupSlots.move(previousSlot, status == RequestStatus.PICKED_UP ? previousSlot : null);
+
             request.setStatus(status);
+
+            if (status == RequestStatus.REJECTED) {
+                request.setRejectionReason(update.rejectionReason());
+                request.setPickupDate(null);
+                request.setPickupTime(null);
+                request.setPickupZone(null);
+                request.setPickupPersonnelName(null);
+                request.setPickupPersonnelId(null);
+            }
         }
 
+        requestRollups.recordTransition(request, previousStatus);
+
         EwasteRequest saved = requestRepository.save(request);
 
-        return toSummary(saved);
+        myRequestsCache.invalidateAfterCommit(saved.getUser().getEmail());
+        eventBroadcaster.publishAfterCommit(saved.getUser().getEmail(), RequestEventBroadcaster.UPDATED, saved);
+        requestCounters.moveAfterCommit(before, RequestCounters.Snapshot.of(saved));
+
+        return adminUpdateEventType(saved, previousStatus, previousPickupDate, previousPickupTime);
+    }
+
+    private static RequestStatus parseAdminStatus(String status) {
+
+        if (status == null || status.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "status is required");
+        }
+
+        try {
+            return RequestStatus.fromInput(status);
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status value");
+        }
+    }
+
+    /**
+     * Stores a route plan's assignments. Requests that are no longer
+     * scheduled, or already carry the same person, are left as they are.
+     */
+    @Transactional
+    public int assignPersonnel(Map<Long, PickupPersonnel> assignments) {
+
+        List<RequestOutbox.Change> changes = new ArrayList<>();
+
+        for (EwasteRequest request : requestRepository.findAllWithUserByIdIn(assignments.keySet())) {
+
+            PickupPersonnel personnel = assignments.get(request.getId());
+
+            if (!request.getStatus().isScheduledState() || personnel.getId().equals(request.getPickupPersonnelId())) {
+                continue;
+            }
+
+            request.setPickupPersonnelName(personnel.getName());
+            request.setPickupPersonnelId(personnel.getId());
+
+            EwasteRequest saved = requestRepository.save(request);
+
+            myRequestsCache.invalidateAfterCommit(saved.getUser().getEmail());
+            eventBroadcaster.publishAfterCommit(saved.getUser().getEmail(), RequestEventBroadcaster.UPDATED, saved);
+            changes.add(new RequestOutbox.Change(OutboxEventType.REQUEST_UPDATED, saved));
+        }
+
+        outbox.recordAll(changes);
+
+        return changes.size();
     }
 
-    public RequestImageData getRequestImageById(String email, Long requestId) {
+    private OutboxEventType adminUpdateEventType(
+            EwasteRequest request,
+            RequestStatus previousStatus,
+            LocalDate previousPickupDate,
+            LocalTime previousPickupTime
+    ) {
+
+        if (request.getStatus().isScheduledState()
+                && (!Objects.equals(request.getPickupDate(), previousPickupDate)
+                        || !Objects.equals(request.getPickupTime(), previousPickupTime)
+                        || request.getStatus() != previousStatus)) {
+            return OutboxEventType.REQUEST_SCHEDULED;
+        }
+
+        return request.getStatus() != previousStatus
+                ? OutboxEventType.REQUEST_STATUS_CHANGED
+                : OutboxEventType.REQUEST_UPDATED;
+    }
+
+    public BlobContent getRequestImageContent(String email, Long requestId, int index) {
+
+        return loadImageContent(getOwnedRequest(email, requestId), index);
+    }
+
+    public BlobContent getAdminRequestImageContent(Long requestId, int index) {
+
+        return loadImageContent(getRequestForAdmin(requestId), index);
+    }
+
+    public List<RequestImageInfo> getRequestImages(String email, Long requestId) {
+
+        return listImages(getOwnedRequest(email, requestId));
+    }
+
+    public List<RequestImageInfo> getAdminRequestImages(Long requestId) {
+
+        return listImages(getRequestForAdmin(requestId));
+    }
+
+    public Optional<BlobContent> getRequestThumbnailContent(String email, Long requestId) {
+
+        return loadFirstThumbnailContent(getOwnedRequest(email, requestId));
+    }
+
+    public Optional<BlobContent> getAdminRequestThumbnailContent(Long requestId) {
+
+        return loadFirstThumbnailContent(getRequestForAdmin(requestId));
+    }
+
+    public Optional<RequestImageRef> findRequestImageRef(String email, Long requestId, int index) {
+
+        User user = getUserByEmail(email);
+
+        return imageStorageService.findImageRefOfUser(requestId, index, user.getId());
+    }
+
+    public Optional<RequestImageRef> findAdminRequestImageRef(Long requestId, int index) {
+
+        return imageStorageService.findImageRef(requestId, index);
+    }
+
+    public StreamingResponseBody getRequestImagePayloadById(String email, Long requestId) {
+
+        return imagePayload(getOwnedRequest(email, requestId));
+    }
+
+    public StreamingResponseBody getAdminRequestImagePayloadById(Long requestId) {
+
+        return imagePayload(getRequestForAdmin(requestId));
+    }
+
+    public StreamingResponseBody getRequestImageBatch(String email, ImageBatchRequest batch) {
+
+        User user = getUserByEmail(email);
+
+        List<RequestImageRef> images = imageStorageService.findPrimaryImagesOfUser(validateBatchIds(batch), user.getId());
+        boolean thumbnails = isThumbnailVariant(batch.getVariant());
+
+        return out -> imageStorageService.writeImageBatch(images, thumbnails, out);
+    }
+
+    public StreamingResponseBody getAdminRequestImageBatch(ImageBatchRequest batch) {
+
+        List<RequestImageRef> images = imageStorageService.findPrimaryImages(validateBatchIds(batch));
+        boolean thumbnails = isThumbnailVariant(batch.getVariant());
+
+        return out -> imageStorageService.writeImageBatch(images, thumbnails, out);
+    }
+
+    @Transactional
+    public void deleteRequest(String email, Long requestId) {
 
         User user = getUserByEmail(email);
 
         EwasteRequest request = requestRepository.findByIdAndUser(requestId, user)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
 
-        if (request.getImages() == null || request.getImages().isEmpty()) {
+        imageStorageService.removeImages(request);
+        pickupSlots.move(pickupSlots.heldBy(request), null);
 
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Request image not found");
+        outbox.record(OutboxEventType.REQUEST_DELETED, request);
+        requestCounters.moveAfterCommit(RequestCounters.Snapshot.of(request), null);
+
+        requestRepository.delete(request);
+
+        tombstoneRepository.save(new RequestTombstone(null, requestId, user.getId(), LocalDateTime.now()));
 
+        searchIndex.removeAfterCommit(requestId);
+        myRequestsCache.invalidateAfterCommit(email);
+        eventBroadcaster.publishDeletedAfterCommit(email, requestId);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.requests.tombstone-purge-interval-ms:3600000}",
+            fixedDelayString = "${app.requests.tombstone-purge-interval-ms:3600000}"
+    )
+    @Transactional
+    public void purgeTombstones() {
+
+        tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+    }
+
+    /* ---------- SEARCH ---------- */
+
+    public RequestSearchPage searchRequests(String query, Integer offset, Integer limit) {
+
+        if (isBlank(query)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q is required");
         }
 
-        byte[] imageBytes = Base64.getDecoder().decode(request.getImages().get(0));
+        int start = offset == null ? 0 : offset;
 
-        return new RequestImageData(
-                request.getImageContentTypes().get(0),
-                imageBytes
+        if (start < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset must not be negative");
+        }
+
+        int size = resolveLimit(limit);
+
+        RequestSearchIndex.SearchHits hits = searchIndex.search(query, start, size);
+
+        // Keep the ranking; ids deleted since they were indexed simply drop out
+        Map<Long, EwasteRequestSummary> byId = new HashMap<>();
+        requestRepository.findSummariesByIdIn(hits.ids()).forEach(summary -> byId.put(summary.getId(), summary));
+
+        List<EwasteRequestSummary> items = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        Integer nextOffset = start + size < hits.total() ? start + size : null;
+
+        return new RequestSearchPage(items, hits.total(), nextOffset);
+    }
+
+    /* ---------- GEO ---------- */
+
+    /** Requests within {@code radiusKm} of the point, nearest first. */
+    @Transactional(readOnly = true)
+    public List<NearbyRequest> findNearbyRequests(
+            Double latitude,
+            Double longitude,
+            Double radiusKm,
+            List<String> statuses,
+            Integer limit
+    ) {
+
+        if (latitude == null || longitude == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "lat and lon are required");
+        }
+
+        validateCoordinates(latitude, longitude);
+
+        double radius = radiusKm == null ? DEFAULT_NEARBY_RADIUS_KM : radiusKm;
+
+        if (!(radius > 0 && radius <= MAX_NEARBY_RADIUS_KM)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "radiusKm must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM);
+        }
+
+        Geohash.Box box = Geohash.boundingBox(latitude, longitude, radius);
+
+        List<RequestDistance> hits = requestRepository.findWithinRadius(
+                Geohash.coveringCells(latitude, longitude, radius),
+                box.south(),
+                box.west(),
+                box.north(),
+                box.east(),
+                latitude,
+                longitude,
+                radius,
+                parseStatuses(statuses),
+                resolveLimit(limit)
         );
+
+        if (hits.isEmpty()) return List.of();
+
+        Map<Long, EwasteRequestSummary> byId = new HashMap<>();
+        requestRepository.findSummariesByIdIn(hits.stream().map(RequestDistance::id).toList())
+                .forEach(summary -> byId.put(summary.getId(), summary));
+
+        return hits.stream()
+                .filter(hit -> byId.containsKey(hit.id()))
+                .map(hit -> new NearbyRequest(byId.get(hit.id()), hit.distanceKm()))
+                .toList();
     }
 
-    public RequestImagePayload getRequestImagePayloadById(String email, Long requestId) {
+    /** Located requests grouped by geohash cell; defaults to requests not yet scheduled. */
+    @Transactional(readOnly = true)
+    public List<RequestCluster> clusterRequests(Integer precision, List<String> statuses, Integer limit) {
+
+        int cellPrecision = precision == null ? DEFAULT_CLUSTER_PRECISION : precision;
 
-        RequestImageData imageData = getRequestImageById(email, requestId);
+        if (cellPrecision < 1 || cellPrecision > Geohash.MAX_PRECISION) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "precision must be between 1 and " + Geohash.MAX_PRECISION);
+        }
 
-        String base64 = Base64.getEncoder().encodeToString(imageData.data());
+        int size = limit == null ? MAX_CLUSTERS : limit;
 
-        return new RequestImagePayload(imageData.contentType(), base64);
+        if (size < 1 || size > MAX_CLUSTERS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_CLUSTERS);
+        }
+
+        List<RequestStatus> filter = parseStatuses(statuses);
+
+        return requestRepository.findClusters(cellPrecision, filter.isEmpty() ? UNSCHEDULED_STATUSES : filter, size)
+                .stream()
+                .map(row -> {
+                    Geohash.Box cell = Geohash.bounds(row.cell());
+                    return new RequestCluster(
+                            row.cell(),
+                            row.requests(),
+                            row.devices() == null ? 0 : row.devices(),
+                            row.latitude(),
+                            row.longitude(),
+                            cell.south(),
+                            cell.west(),
+                            cell.north(),
+                            cell.east()
+                    );
+                })
+                .toList();
     }
 
-    public RequestImagePayload getAdminRequestImagePayloadById(Long requestId) {
+    private void setLocation(EwasteRequest request, Double latitude, Double longitude) {
 
-        EwasteRequest request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+        if ((latitude == null) != (longitude == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "latitude and longitude must be sent together");
+        }
 
-        if (request.getImages() == null || request.getImages().isEmpty()) {
+        if (latitude == null) {
+            request.setLatitude(null);
+            request.setLongitude(null);
+            request.setGeohash(null);
+            return;
+        }
 
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Request image not found");
+        validateCoordinates(latitude, longitude);
+
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        request.setGeohash(Geohash.encode(latitude, longitude, Geohash.MAX_PRECISION));
+    }
 
+    private void validateCoordinates(double latitude, double longitude) {
+
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coordinates are out of range");
         }
+    }
+
+    /* ---------- PAGINATION HELPERS ---------- */
+
+    // One extra row is fetched to learn whether another page exists without a count query
+    private Pageable pageRequest(Integer limit) {
+
+        return PageRequest.of(0, resolveLimit(limit) + 1);
+    }
 
-        return new RequestImagePayload(
-                request.getImageContentTypes().get(0),
-                request.getImages().get(0)
+    private int resolveLimit(Integer limit) {
+
+        int size = limit == null ? defaultPageSize : limit;
+
+        if (size < 1 || size > maxPageSize) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + maxPageSize
+            );
+        }
+
+        return size;
+    }
+
+    private RequestPage toPage(List<EwasteRequestSummary> rows, int size) {
+
+        if (rows.size() <= size) {
+            return new RequestPage(rows, null, null);
+        }
+
+        List<EwasteRequestSummary> page = rows.subList(0, size);
+        EwasteRequestSummary last = page.get(size - 1);
+
+        return new RequestPage(page, new RequestCursor(last.getCreatedAt(), last.getId()).encode(), null);
+    }
+
+    /* ---------- IMAGE HELPERS ---------- */
+
+    // Rows not yet moved out of ewaste_request_images by the migration runner
+    private RequestImageData loadLegacyImage(EwasteRequest request, int index) {
+
+        return new RequestImageData(
+                legacyContentType(request, index),
+                Base64.getDecoder().decode(legacyImage(request, index))
         );
     }
 
-    public void deleteRequest(String email, Long requestId) {
+    private String legacyImage(EwasteRequest request, int index) {
 
-        User user = getUserByEmail(email);
+        if (request.getImages() == null || index < 0 || index >= request.getImages().size()) {
 
-        EwasteRequest request = requestRepository.findByIdAndUser(requestId, user)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Request image not found");
 
-        requestRepository.delete(request);
+        }
+
+        return request.getImages().get(index);
+    }
+
+    // Blob and legacy bytes are resolved here so a missing image is still a 404, not a truncated 200
+    private StreamingResponseBody imagePayload(EwasteRequest request) {
+
+        BlobMetadata metadata = imageStorageService.findImage(request.getId(), 0).orElse(null);
+
+        if (metadata != null) {
+
+            BlobContent content = imageStorageService.content(metadata.getBlobKey(), metadata.getContentType());
+
+            return out -> imageStorageService.writeImagePayload(content, out);
+        }
+
+        // Legacy rows already hold base64; it is written through without decoding
+        String contentType = legacyContentType(request, 0);
+        String base64Data = legacyImage(request, 0);
+
+        return out -> imageStorageService.writeImagePayload(contentType, base64Data, out);
+    }
+
+    private BlobContent loadImageContent(EwasteRequest request, int index) {
+
+        BlobMetadata metadata = imageStorageService.findImage(request.getId(), index).orElse(null);
+
+        if (metadata != null) {
+            return imageStorageService.content(metadata.getBlobKey(), metadata.getContentType());
+        }
+
+        return legacyContent(loadLegacyImage(request, index));
+    }
+
+    // Empty when no thumbnail can be produced (undecodable formats); legacy rows have none and serve the original
+    private Optional<BlobContent> loadFirstThumbnailContent(EwasteRequest request) {
+
+        BlobMetadata metadata = imageStorageService.findImage(request.getId(), 0).orElse(null);
+
+        if (metadata == null) {
+            return Optional.of(legacyContent(loadLegacyImage(request, 0)));
+        }
+
+        return imageStorageService.thumbnailKey(metadata)
+                .map(thumbnailKey -> imageStorageService.content(thumbnailKey, ThumbnailService.THUMBNAIL_CONTENT_TYPE));
+    }
+
+    private List<RequestImageInfo> listImages(EwasteRequest request) {
+
+        List<RequestImageInfo> images = imageStorageService.listImages(request.getId());
+
+        if (!images.isEmpty() || request.getImages() == null) {
+            return images;
+        }
+
+        // Legacy rows carry no metadata; sizes are derived from the base64 length
+        List<RequestImageInfo> legacy = new ArrayList<>();
+
+        for (int i = 0; i < request.getImages().size(); i++) {
+
+            String encoded = request.getImages().get(i);
+            long padding = encoded.endsWith("==") ? 2 : encoded.endsWith("=") ? 1 : 0;
+
+            legacy.add(new RequestImageInfo(
+                    i,
+                    legacyContentType(request, i),
+                    encoded.length() / 4L * 3 - padding,
+                    null,
+                    null,
+                    null
+            ));
+        }
+
+        return legacy;
+    }
+
+    private String legacyContentType(EwasteRequest request, int index) {
+
+        List<String> contentTypes = request.getImageContentTypes();
+
+        return contentTypes != null && index < contentTypes.size()
+                ? contentTypes.get(index)
+                : "application/octet-stream";
+    }
+
+    private BlobContent legacyContent(RequestImageData imageData) {
+
+        return new BlobContent(
+                imageData.contentType(),
+                imageData.data().length,
+                null,
+                () -> new ByteArrayInputStream(imageData.data())
+        );
+    }
+
+    private void clearLegacyImages(EwasteRequest request) {
+
+        if (request.getImages() != null) {
+            request.getImages().clear();
+        }
+
+        if (request.getImageContentTypes() != null) {
+            request.getImageContentTypes().clear();
+        }
     }
 
     /* ---------- VALIDATION METHODS ---------- */
@@ -346,6 +1164,48 @@ public class EwasteRequestService {
         }
     }
 
+    private List<Long> validateBatchIds(ImageBatchRequest batch) {
+
+        if (batch == null || batch.getIds() == null || batch.getIds().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids are required");
+        }
+
+        List<Long> ids = batch.getIds().stream().filter(Objects::nonNull).distinct().toList();
+
+        if (ids.size() > MAX_IMAGE_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IMAGE_BATCH_SIZE + " ids per batch");
+        }
+
+        return ids;
+    }
+
+    private boolean isThumbnailVariant(String variant) {
+
+        if (variant == null || variant.isBlank() || "thumbnail".equalsIgnoreCase(variant.trim())) {
+            return true;
+        }
+
+        if ("original".equalsIgnoreCase(variant.trim())) {
+            return false;
+        }
+
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "variant must be thumbnail or original");
+    }
+
+    private EwasteRequest getOwnedRequest(String email, Long requestId) {
+
+        User user = getUserByEmail(email);
+
+        return requestRepository.findByIdAndUser(requestId, user)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+    }
+
+    private EwasteRequest getRequestForAdmin(Long requestId) {
+
+        return requestRepository.findById(requestId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Request not found"));
+    }
+
     private User getUserByEmail(String email) {
 
         User user = userRepository.findByEmail(email);
@@ -372,6 +1232,48 @@ public class EwasteRequestService {
         }
     }
 
+    private List<RequestStatus> parseStatuses(List<String> values) {
+
+        if (values == null) {
+            return List.of();
+        }
+
+        try {
+
+            // Accept both ?status=A&status=B and ?status=A,B
+            return values.stream()
+                    .flatMap(value -> Arrays.stream(value.split(",")))
+                    .filter(value -> !value.isBlank())
+                    .map(RequestStatus::fromInput)
+                    .distinct()
+                    .toList();
+
+        } catch (IllegalArgumentException exception) {
+
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status value");
+
+        }
+    }
+
+    private boolean isOldestFirst(String sort) {
+
+        if (isBlank(sort) || "newest".equalsIgnoreCase(sort.trim())) {
+            return false;
+        }
+
+        if ("oldest".equalsIgnoreCase(sort.trim())) {
+            return true;
+        }
+
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be newest or oldest");
+    }
+
+    private String trimToNull(String value) {
+
+        return isBlank(value) ? null : value.trim();
+
+    }
+
     private boolean isBlank(String value) {
 
         return value == null || value.isBlank();
@@ -388,11 +1290,15 @@ public class EwasteRequestService {
                 request.getCondition(),
                 request.getQuantity(),
                 request.getPickupAddress(),
+                request.getLatitude(),
+                request.getLongitude(),
                 request.getAdditionalRemarks(),
                 request.getStatus(),
                 request.getPickupDate(),
                 request.getPickupTime(),
+                request.getPickupZone(),
                 request.getPickupPersonnelName(),
+                request.getPickupPersonnelId(),
                 request.getRejectionReason(),
                 request.getUser() == null ? null : request.getUser().getName(),
                 request.getUser() == null ? null : request.getUser().getEmail(),
@@ -401,7 +1307,20 @@ public class EwasteRequestService {
         );
     }
 
+    private RequestSearchDocument toSearchDocument(EwasteRequest request) {
+
+        return new RequestSearchDocument(
+                request.getId(),
+                request.getDeviceType(),
+                request.getBrand(),
+                request.getModel(),
+                request.getAdditionalRemarks(),
+                request.getPickupAddress()
+        );
+    }
+
     public record RequestImageData(String contentType, byte[] data) {}
 
-    public record RequestImagePayload(String contentType, String base64Data) {}
+    public record RequestVersion(String etag, boolean changed) {}
+
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.ewaste.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Standard base-32 geohash. Nearby points share a prefix, so a string index
+ * on the hash answers "everything in this cell" with a range scan.
+ */
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 9;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private static final double KM_PER_DEGREE_LAT = 110.574;
+    private static final double KM_PER_DEGREE_LON = 111.320;
+
+    private Geohash() {
+    }
+
+    public record Box(double south, double west, double north, double east) {}
+
+    public static String encode(double latitude, double longitude, int precision) {
+
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0, index = 0;
+
+        while (hash.length() < precision) {
+
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    index = index * 2 + 1;
+                    minLon = mid;
+                } else {
+                    index = index * 2;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = index * 2 + 1;
+                    minLat = mid;
+                } else {
+                    index = index * 2;
+                    maxLat = mid;
+                }
+            }
+
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(index));
+                bit = 0;
+                index = 0;
+            }
+        }
+
+        return hash.toString();
+    }
+
+    public static Box bounds(String hash) {
+
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        boolean evenBit = true;
+
+        for (int i = 0; i < hash.length(); i++) {
+
+            int value = BASE32.indexOf(hash.charAt(i));
+
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+
+            for (int shift = 4; shift >= 0; shift--) {
+
+                boolean set = ((value >> shift) & 1) == 1;
+
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) minLon = mid; else maxLon = mid;
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) minLat = mid; else maxLat = mid;
+                }
+
+                evenBit = !evenBit;
+            }
+        }
+
+        return new Box(minLat, minLon, maxLat, maxLon);
+    }
+
+    /**
+     * Cells that together cover a circle of {@code radiusKm} around the point:
+     * the point's cell and its neighbours, at the finest precision whose cells
+     * are at least as large as the radius.
+     */
+    public static List<String> coveringCells(double latitude, double longitude, double radiusKm) {
+
+        int precision = 1;
+
+        while (precision < MAX_PRECISION
+                && cellHeightKm(precision + 1) >= radiusKm
+                && cellWidthKm(precision + 1, latitude) >= radiusKm) {
+            precision++;
+        }
+
+        double latStep = cellHeightDegrees(precision);
+        double lonStep = cellWidthDegrees(precision);
+
+        Set<String> cells = new LinkedHashSet<>();
+
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            for (int dLon = -1; dLon <= 1; dLon++) {
+
+                double lat = Math.max(-90, Math.min(90 - 1e-9, latitude + dLat * latStep));
+                double lon = wrapLongitude(longitude + dLon * lonStep);
+
+                cells.add(encode(lat, lon, precision));
+            }
+        }
+
+        return new ArrayList<>(cells);
+    }
+
+    /** Rectangle around a circle; it spans every longitude when it would cross the antimeridian or a pole. */
+    public static Box boundingBox(double latitude, double longitude, double radiusKm) {
+
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double cos = Math.cos(Math.toRadians(latitude));
+        double dLon = cos < 1e-6 ? 360 : radiusKm / (KM_PER_DEGREE_LON * cos);
+
+        double west = longitude - dLon;
+        double east = longitude + dLon;
+
+        if (west < -180 || east > 180) {
+            west = -180;
+            east = 180;
+        }
+
+        return new Box(Math.max(-90, latitude - dLat), west, Math.min(90, latitude + dLat), east);
+    }
+
+    private static double cellHeightDegrees(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    private static double cellWidthDegrees(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    private static double cellHeightKm(int precision) {
+        return cellHeightDegrees(precision) * KM_PER_DEGREE_LAT;
+    }
+
+    private static double cellWidthKm(int precision, double latitude) {
+        return cellWidthDegrees(precision) * KM_PER_DEGREE_LON * Math.cos(Math.toRadians(latitude));
+    }
+
+    private static double wrapLongitude(double longitude) {
+
+        if (longitude >= 180) return longitude - 360;
+        if (longitude < -180) return longitude + 360;
+        return longitude;
+    }
+}
@@ -0,0 +1,386 @@
+package com.ewaste.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.w3c.dom.Node;
+
+/**
+ * ImageIO plumbing shared by thumbnail generation and ingest normalization:
+ * subsampled decoding, EXIF orientation, scaling onto an opaque canvas and
+ * JPEG encoding. Images are always re-encoded without metadata, so the output
+ * never carries EXIF; JPEGs that cannot be decoded have their metadata
+ * segments cut out instead.
+ */
+final class ImageCodec {
+
+    static final int ORIENTATION_NORMAL = 1;
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int SOI_MARKER = 0xD8;
+    private static final int EOI_MARKER = 0xD9;
+    private static final int SOS_MARKER = 0xDA;
+    private static final int COM_MARKER = 0xFE;
+    private static final int APP0_MARKER = 0xE0;
+    private static final int APP1_MARKER = 0xE1;
+    private static final int APP2_MARKER = 0xE2;
+    private static final int APP14_MARKER = 0xEE;
+    private static final int APP15_MARKER = 0xEF;
+    private static final int EXIF_HEADER_LENGTH = 6;
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private ImageCodec() {
+    }
+
+    record Decoded(BufferedImage image, int orientation, int sourceWidth, int sourceHeight) {
+    }
+
+    /** The header declares more pixels than the caller allows; nothing was decoded. */
+    static final class TooManyPixelsException extends IOException {
+
+        TooManyPixelsException(long pixels, long maxPixels) {
+            super("Image has " + pixels + " pixels, at most " + maxPixels + " are allowed");
+        }
+    }
+
+    /**
+     * Decodes {@code in}, subsampling so the longest side is at most about
+     * {@code 2 * maxDimension}; large photos never expand to full resolution
+     * in memory. The dimensions are read from the header first, and images
+     * over {@code maxPixels} are refused before any pixel data is decoded.
+     * Returns null when no ImageIO reader accepts the input.
+     */
+    static Decoded readSubsampled(InputStream in, int maxDimension, long maxPixels) throws IOException {
+
+        try (ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+
+            if (imageInput == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+
+                reader.setInput(imageInput, true, false);
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                checkPixels(width, height, maxPixels);
+
+                int step = Math.max(1, Math.max(width, height) / (maxDimension * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+
+                BufferedImage image = reader.read(0, param);
+
+                return new Decoded(image, readOrientation(reader), width, height);
+
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Reads only the header of {@code in}; input no ImageIO reader accepts passes unchecked. */
+    static void checkPixels(InputStream in, long maxPixels) throws IOException {
+
+        try (ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+
+            Iterator<ImageReader> readers = imageInput == null ? null : ImageIO.getImageReaders(imageInput);
+
+            if (readers == null || !readers.hasNext()) {
+                return;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(imageInput, true, true);
+                checkPixels(reader.getWidth(0), reader.getHeight(0), maxPixels);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static void checkPixels(int width, int height, long maxPixels) throws TooManyPixelsException {
+
+        long pixels = (long) width * height;
+
+        if (pixels > maxPixels) {
+            throw new TooManyPixelsException(pixels, maxPixels);
+        }
+    }
+
+    static BufferedImage scaleToFit(BufferedImage source, int maxDimension) {
+
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha channel; flatten transparent PNG/GIF pixels onto white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return target;
+    }
+
+    /**
+     * Rotates/flips {@code image} so it displays upright for the given EXIF
+     * orientation (1-8). Orientation 1 and unknown values return the input.
+     */
+    static BufferedImage orient(BufferedImage image, int orientation) {
+
+        if (orientation <= ORIENTATION_NORMAL || orientation > 8) {
+            return image;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean transposed = orientation >= 5;
+
+        // Maps source (x, y) to display coordinates: x' = m00 x + m01 y + m02, y' = m10 x + m11 y + m12
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            default -> new AffineTransform(0, -1, 1, 0, 0, width);
+        };
+
+        BufferedImage target = new BufferedImage(
+                transposed ? height : width,
+                transposed ? width : height,
+                BufferedImage.TYPE_INT_RGB
+        );
+        Graphics2D graphics = target.createGraphics();
+
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return target;
+    }
+
+    static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+
+            if (param instanceof JPEGImageWriteParam jpegParam) {
+                jpegParam.setOptimizeHuffmanTables(true);
+            }
+
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+
+        } finally {
+            writer.dispose();
+        }
+
+        return out.toByteArray();
+    }
+
+    /* ---------- EXIF ---------- */
+
+    /**
+     * Copies a JPEG without its metadata segments, leaving the compressed
+     * image data as it is. Used for files ImageIO cannot decode (CMYK,
+     * arithmetic coding) and so cannot re-encode. Segments the decoder needs
+     * are kept: APP0 (JFIF), APP2 (ICC profile) and APP14 (Adobe colour
+     * transform). Everything from the first scan on is copied verbatim;
+     * cameras write their metadata before it. Throws on a malformed header.
+     */
+    static byte[] stripJpegMetadata(InputStream in) throws IOException {
+
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        if (data.readUnsignedByte() != 0xFF || data.readUnsignedByte() != SOI_MARKER) {
+            throw new IOException("Not a JPEG");
+        }
+
+        out.write(0xFF);
+        out.write(SOI_MARKER);
+
+        while (true) {
+
+            if (data.readUnsignedByte() != 0xFF) {
+                throw new IOException("Malformed JPEG marker");
+            }
+
+            int marker = data.readUnsignedByte();
+
+            // Any number of 0xFF fill bytes may precede a marker
+            while (marker == 0xFF) {
+                marker = data.readUnsignedByte();
+            }
+
+            if (marker == EOI_MARKER) {
+                out.write(0xFF);
+                out.write(EOI_MARKER);
+                return out.toByteArray();
+            }
+
+            // TEM and RSTn stand alone
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                out.write(0xFF);
+                out.write(marker);
+                continue;
+            }
+
+            int length = data.readUnsignedShort();
+
+            if (length < 2) {
+                throw new IOException("Malformed JPEG segment");
+            }
+
+            byte[] payload = new byte[length - 2];
+            data.readFully(payload);
+
+            if (isKeptSegment(marker)) {
+                out.write(0xFF);
+                out.write(marker);
+                out.write(length >> 8);
+                out.write(length);
+                out.write(payload);
+            }
+
+            if (marker == SOS_MARKER) {
+                data.transferTo(out);
+                return out.toByteArray();
+            }
+        }
+    }
+
+    private static boolean isKeptSegment(int marker) {
+
+        if (marker == COM_MARKER) return false;
+        if (marker < APP0_MARKER || marker > APP15_MARKER) return true;
+
+        return marker == APP0_MARKER || marker == APP2_MARKER || marker == APP14_MARKER;
+    }
+
+    // The JPEG plugin exposes APP1 as an "unknown" marker whose user object is the raw segment
+    private static int readOrientation(ImageReader reader) {
+
+        try {
+
+            IIOMetadata metadata = reader.getImageMetadata(0);
+
+            if (metadata == null || !JPEG_METADATA_FORMAT.equals(metadata.getNativeMetadataFormatName())) {
+                return ORIENTATION_NORMAL;
+            }
+
+            Node root = metadata.getAsTree(JPEG_METADATA_FORMAT);
+
+            for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+
+                if (!"markerSequence".equals(child.getNodeName())) continue;
+
+                for (Node marker = child.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+
+                    if (!"unknown".equals(marker.getNodeName())) continue;
+
+                    Node tag = marker.getAttributes().getNamedItem("MarkerTag");
+
+                    if (tag != null && Integer.parseInt(tag.getNodeValue()) == APP1_MARKER
+                            && marker instanceof IIOMetadataNode node
+                            && node.getUserObject() instanceof byte[] segment) {
+
+                        return parseOrientation(segment);
+                    }
+                }
+            }
+
+        } catch (IOException | RuntimeException ignored) {
+            // Unreadable metadata: treat as upright
+        }
+
+        return ORIENTATION_NORMAL;
+    }
+
+    private static int parseOrientation(byte[] segment) {
+
+        if (segment.length < EXIF_HEADER_LENGTH + 8
+                || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return ORIENTATION_NORMAL;
+        }
+
+        ByteBuffer tiff = ByteBuffer.wrap(segment, EXIF_HEADER_LENGTH, segment.length - EXIF_HEADER_LENGTH).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        int ifdOffset = tiff.getInt(4);
+
+        if (ifdOffset < 8 || ifdOffset + 2 > tiff.limit()) {
+            return ORIENTATION_NORMAL;
+        }
+
+        int entries = Short.toUnsignedInt(tiff.getShort(ifdOffset));
+
+        for (int i = 0; i < entries; i++) {
+
+            int entry = ifdOffset + 2 + i * 12;
+
+            if (entry + 12 > tiff.limit()) break;
+
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                return Short.toUnsignedInt(tiff.getShort(entry + 8));
+            }
+        }
+
+        return ORIENTATION_NORMAL;
+    }
+}
@@ -0,0 +1,121 @@
+package com.ewaste.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.storage.ImageFormat;
+
+/**
+ * Ingest-time normalization of uploaded photos: caps the longest side,
+ * applies the EXIF orientation to the pixels and re-encodes as JPEG at the
+ * configured quality, which also drops EXIF (GPS, camera serials). A JPEG
+ * that cannot be decoded keeps its pixels but loses its metadata segments.
+ * <p>
+ * Images over {@code app.images.max-pixels} are refused from their header,
+ * before anything is decoded. GIF is otherwise left alone because it may be
+ * animated, and WebP because ImageIO cannot decode it.
+ */
+@Service
+public class ImageNormalizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageNormalizer.class);
+
+    @Value("${app.images.normalize.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.normalize.max-dimension:1920}")
+    private int maxDimension;
+
+    @Value("${app.images.normalize.quality:0.85}")
+    private float quality;
+
+    @Value("${app.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    /**
+     * Returns the bytes to store instead of the upload, or empty when the
+     * upload should be stored as-is. JPEGs always come back rewritten so
+     * their EXIF never reaches storage; other formats only when resizing or
+     * orientation demands it, or the JPEG comes out smaller.
+     */
+    public Optional<byte[]> normalize(InputStreamSource source, ImageFormat format, long originalSize) throws IOException {
+
+        if (format == ImageFormat.GIF) {
+            try (InputStream in = source.getInputStream()) {
+                ImageCodec.checkPixels(in, maxPixels);
+            } catch (ImageCodec.TooManyPixelsException exception) {
+                throw tooManyPixels();
+            }
+        }
+
+        if (format != ImageFormat.JPEG && format != ImageFormat.PNG) {
+            return Optional.empty();
+        }
+
+        if (!enabled) {
+            return format == ImageFormat.JPEG ? Optional.of(stripMetadata(source)) : Optional.empty();
+        }
+
+        ImageCodec.Decoded decoded;
+
+        try (InputStream in = source.getInputStream()) {
+            decoded = ImageCodec.readSubsampled(in, maxDimension, maxPixels);
+        } catch (ImageCodec.TooManyPixelsException exception) {
+            throw tooManyPixels();
+        } catch (IOException | RuntimeException exception) {
+            // Unsupported variants (CMYK JPEG, 16-bit PNG quirks) are kept as uploaded
+            log.debug("Could not decode {} upload for normalization", format, exception);
+            decoded = null;
+        }
+
+        if (decoded == null) {
+            return format == ImageFormat.JPEG ? Optional.of(stripMetadata(source)) : Optional.empty();
+        }
+
+        boolean resized = Math.max(decoded.sourceWidth(), decoded.sourceHeight()) > maxDimension;
+        boolean rotated = decoded.orientation() != ImageCodec.ORIENTATION_NORMAL;
+
+        BufferedImage image = ImageCodec.orient(ImageCodec.scaleToFit(decoded.image(), maxDimension), decoded.orientation());
+        byte[] jpeg = ImageCodec.encodeJpeg(image, quality);
+
+        if (format != ImageFormat.JPEG && !resized && !rotated && jpeg.length >= originalSize) {
+            return Optional.empty();
+        }
+
+        log.debug(
+                "Normalized {} {}x{} from {} to {} bytes",
+                format, decoded.sourceWidth(), decoded.sourceHeight(), originalSize, jpeg.length
+        );
+
+        return Optional.of(jpeg);
+    }
+
+    // A JPEG whose segments cannot even be walked is not stored at all
+    private byte[] stripMetadata(InputStreamSource source) throws IOException {
+
+        try (InputStream in = source.getInputStream()) {
+            return ImageCodec.stripJpegMetadata(in);
+        } catch (IOException exception) {
+            log.debug("Could not strip metadata from JPEG upload", exception);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read uploaded image");
+        }
+    }
+
+    private ResponseStatusException tooManyPixels() {
+
+        return new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Each image must be at most " + (maxPixels / 1_000_000) + " megapixels"
+        );
+    }
+}
@@ -0,0 +1,638 @@
+package com.ewaste.service;
+
+import java.awt.Dimension;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.RequestImageInfo;
+import com.ewaste.dto.RequestImageRef;
+import com.ewaste.entity.BlobMetadata;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestImage;
+import com.ewaste.repository.BlobMetadataRepository;
+import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.RequestImageRepository;
+import com.ewaste.storage.BlobContent;
+import com.ewaste.storage.BlobStore;
+import com.ewaste.storage.BlobTooLargeException;
+import com.ewaste.storage.ImageFormat;
+import com.ewaste.storage.StoredBlob;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+@Service
+public class ImageStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStorageService.class);
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final String UNREADABLE_IMAGE = "Image could not be read";
+
+    @Value("${app.images.max-size-bytes:5242880}")
+    private long maxImageSizeBytes;
+
+    @Value("${app.images.decodes-per-upload:2}")
+    private int decodesPerUpload;
+
+    private final BlobStore blobStore;
+    private final BlobMetadataRepository blobMetadataRepository;
+    private final RequestImageRepository requestImageRepository;
+    private final EwasteRequestRepository requestRepository;
+    private final ThumbnailService thumbnailService;
+    private final ImageNormalizer imageNormalizer;
+    private final Executor imageProcessingExecutor;
+    private final BlobGarbageCollector blobGarbageCollector;
+    private final ObjectMapper objectMapper;
+
+    public ImageStorageService(
+            BlobStore blobStore,
+            BlobMetadataRepository blobMetadataRepository,
+            RequestImageRepository requestImageRepository,
+            EwasteRequestRepository requestRepository,
+            ThumbnailService thumbnailService,
+            ImageNormalizer imageNormalizer,
+            @Qualifier("imageProcessingExecutor") Executor imageProcessingExecutor,
+            BlobGarbageCollector blobGarbageCollector,
+            ObjectMapper objectMapper
+    ) {
+        this.blobStore = blobStore;
+        this.blobMetadataRepository = blobMetadataRepository;
+        this.requestImageRepository = requestImageRepository;
+        this.requestRepository = requestRepository;
+        this.thumbnailService = thumbnailService;
+        this.imageNormalizer = imageNormalizer;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+        this.blobGarbageCollector = blobGarbageCollector;
+        this.objectMapper = objectMapper;
+    }
+
+    /* ---------- WRITE PATH ---------- */
+
+    public void attachImages(EwasteRequest request, MultipartFile[] images) {
+
+        List<BlobMetadata> writtenBlobs = new ArrayList<>();
+        releaseBlobsOnRollback(writtenBlobs);
+        generateThumbnailsAfterCommit(writtenBlobs);
+
+        // Decoding and re-encoding dominate upload time, so parts are prepared on the image workers,
+        // but only a few at a time: one upload must not hold a decoded raster on every worker
+        Semaphore decodeSlots = new Semaphore(decodesPerUpload);
+        List<CompletableFuture<PreparedImage>> preparedImages = new ArrayList<>();
+
+        for (MultipartFile image : images) {
+
+            if (image == null || image.isEmpty()) continue;
+
+            decodeSlots.acquireUninterruptibly();
+
+            preparedImages.add(CompletableFuture
+                    .supplyAsync(() -> prepare(image), imageProcessingExecutor)
+                    .whenComplete((prepared, failure) -> decodeSlots.release()));
+        }
+
+        int index = 0;
+
+        try {
+
+            for (CompletableFuture<PreparedImage> preparedImage : preparedImages) {
+
+                BlobMetadata metadata = ingest(await(preparedImage));
+
+                writtenBlobs.add(metadata);
+
+                requestImageRepository.save(new RequestImage(null, request, index++, metadata.getBlobKey()));
+            }
+
+        } catch (IOException exception) {
+
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read uploaded images");
+
+        }
+    }
+
+    public void replaceImages(EwasteRequest request, MultipartFile[] images) {
+
+        if (Arrays.stream(images).allMatch(image -> image == null || image.isEmpty())) return;
+
+        List<String> previousKeys = imageKeys(request.getId());
+
+        requestImageRepository.deleteByRequestId(request.getId());
+
+        attachImages(request, images);
+
+        releaseBlobs(previousKeys);
+    }
+
+    public void removeImages(EwasteRequest request) {
+
+        List<String> previousKeys = imageKeys(request.getId());
+
+        requestImageRepository.deleteByRequestId(request.getId());
+
+        releaseBlobs(previousKeys);
+    }
+
+    /* ---------- READ PATH ---------- */
+
+    public Optional<BlobMetadata> findImage(Long requestId, int index) {
+
+        return requestImageRepository.findByRequestIdAndImageIndex(requestId, index)
+                .flatMap(image -> blobMetadataRepository.findById(image.getBlobKey()));
+    }
+
+    public List<RequestImageInfo> listImages(Long requestId) {
+        return requestImageRepository.findImageInfos(requestId);
+    }
+
+    public Optional<RequestImageRef> findImageRef(Long requestId, int index) {
+        return requestImageRepository.findImageRef(requestId, index);
+    }
+
+    public Optional<RequestImageRef> findImageRefOfUser(Long requestId, int index, Long userId) {
+        return requestImageRepository.findImageRefOfUser(requestId, index, userId);
+    }
+
+    public Optional<String> thumbnailKey(BlobMetadata metadata) {
+        return thumbnailService.ensureThumbnail(metadata);
+    }
+
+    public List<RequestImageRef> findPrimaryImages(Collection<Long> requestIds) {
+        return requestImageRepository.findPrimaryImages(requestIds);
+    }
+
+    public List<RequestImageRef> findPrimaryImagesOfUser(Collection<Long> requestIds, Long userId) {
+        return requestImageRepository.findPrimaryImagesOfUser(requestIds, userId);
+    }
+
+    /**
+     * Writes {@code [{"requestId", "contentType", "base64Data"}, ...]} straight
+     * from the blob store, base64-encoding each file while it is read. The
+     * status and the start of the array are already sent by then, so a blob
+     * that cannot be opened or fails mid-read gets an {@code "error"} member
+     * instead of aborting the response; the array is always closed.
+     */
+    public void writeImageBatch(List<RequestImageRef> images, boolean thumbnails, OutputStream out) {
+
+        try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(out))) {
+
+            generator.writeStartArray();
+
+            for (RequestImageRef image : images) {
+
+                boolean useThumbnail = thumbnails && image.thumbnailKey() != null;
+                String key = useThumbnail ? image.thumbnailKey() : image.blobKey();
+
+                generator.writeStartObject();
+                generator.writeNumberProperty("requestId", image.requestId());
+
+                boolean readable;
+
+                try (GuardedInputStream in = new GuardedInputStream(blobStore.open(key))) {
+
+                    generator.writeStringProperty("contentType", useThumbnail ? ThumbnailService.THUMBNAIL_CONTENT_TYPE : image.contentType());
+                    generator.writeName("base64Data");
+                    generator.writeBinary(in, -1);
+
+                    readable = in.failure() == null;
+
+                    if (!readable) {
+                        log.warn("Blob {} of request {} failed mid-read", key, image.requestId(), in.failure());
+                    }
+
+                } catch (IOException exception) {
+
+                    log.warn("Could not open blob {} of request {}", key, image.requestId());
+                    readable = false;
+
+                }
+
+                if (!readable) {
+                    generator.writeStringProperty("error", UNREADABLE_IMAGE);
+                }
+
+                generator.writeEndObject();
+            }
+
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes the {@code /image-data} envelope {@code {"contentType", "base64Data"}},
+     * base64-encoding the blob in small chunks as it is read.
+     */
+    public void writeImagePayload(BlobContent content, OutputStream out) {
+
+        try (InputStream in = content.source().getInputStream();
+             JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(out))) {
+
+            generator.writeStartObject();
+            generator.writeStringProperty("contentType", content.contentType());
+            generator.writeName("base64Data");
+            generator.writeBinary(in, -1);
+            generator.writeEndObject();
+
+        } catch (IOException exception) {
+
+            throw new UncheckedIOException(exception);
+
+        }
+    }
+
+    public void writeImagePayload(String contentType, String base64Data, OutputStream out) {
+
+        try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(out))) {
+
+            generator.writeStartObject();
+            generator.writeStringProperty("contentType", contentType);
+            generator.writeStringProperty("base64Data", base64Data);
+            generator.writeEndObject();
+        }
+    }
+
+    public BlobContent content(String blobKey, String contentType) {
+
+        try {
+
+            return new BlobContent(
+                    contentType,
+                    blobStore.size(blobKey),
+                    blobStore.localFile(blobKey).orElse(null),
+                    () -> blobStore.open(blobKey)
+            );
+
+        } catch (IOException exception) {
+
+            log.error("Could not stat blob {}", blobKey, exception);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Request image not found");
+
+        }
+    }
+
+    public byte[] readAllBytes(String blobKey) {
+
+        try (InputStream in = blobStore.open(blobKey)) {
+
+            return in.readAllBytes();
+
+        } catch (IOException exception) {
+
+            log.error("Could not read blob {}", blobKey, exception);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Request image not found");
+
+        }
+    }
+
+    /* ---------- LEGACY MIGRATION ---------- */
+
+    @Transactional
+    public int migrateLegacyImages(Long requestId) {
+
+        EwasteRequest request = requestRepository.findById(requestId).orElse(null);
+
+        if (request == null || request.getImages() == null || request.getImages().isEmpty()) {
+            return 0;
+        }
+
+        List<BlobMetadata> writtenBlobs = new ArrayList<>();
+        releaseBlobsOnRollback(writtenBlobs);
+        generateThumbnailsAfterCommit(writtenBlobs);
+
+        int index = imageKeys(requestId).size();
+        int migrated = 0;
+
+        try {
+
+            for (int i = 0; i < request.getImages().size(); i++) {
+
+                byte[] data = Base64.getDecoder().decode(request.getImages().get(i));
+
+                String contentType = request.getImageContentTypes() != null && i < request.getImageContentTypes().size()
+                        ? request.getImageContentTypes().get(i)
+                        : null;
+
+                BlobMetadata metadata = storeBlob(new ByteArrayInputStream(data), contentType, Long.MAX_VALUE, null);
+                writtenBlobs.add(metadata);
+
+                requestImageRepository.save(new RequestImage(null, request, index++, metadata.getBlobKey()));
+                migrated++;
+            }
+
+        } catch (IOException exception) {
+
+            throw new IllegalStateException("Could not migrate images of request " + requestId, exception);
+
+        }
+
+        request.getImages().clear();
+
+        if (request.getImageContentTypes() != null) {
+            request.getImageContentTypes().clear();
+        }
+
+        requestRepository.save(request);
+
+        return migrated;
+    }
+
+    /* ---------- HELPERS ---------- */
+
+    private record PreparedImage(MultipartFile source, ImageFormat format, byte[] normalized) {
+    }
+
+    /**
+     * Ends the stream at the first read error and keeps the error, so a
+     * failing blob still yields a closed base64 string in the batch JSON.
+     */
+    private static final class GuardedInputStream extends FilterInputStream {
+
+        private IOException failure;
+
+        private GuardedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() {
+            try {
+                return failure == null ? super.read() : -1;
+            } catch (IOException exception) {
+                failure = exception;
+                return -1;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            try {
+                return failure == null ? super.read(buffer, offset, length) : -1;
+            } catch (IOException exception) {
+                failure = exception;
+                return -1;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                super.close();
+            } catch (IOException ignored) {
+                // Everything needed was read already
+            }
+        }
+
+        private IOException failure() {
+            return failure;
+        }
+    }
+
+    /**
+     * Validates one multipart part and runs it through {@link ImageNormalizer}.
+     * The declared part size, the leading magic bytes and the pixel count
+     * are checked before anything is decoded. Runs on an image worker
+     * thread, at most {@code app.images.decodes-per-upload} per upload.
+     */
+    private PreparedImage prepare(MultipartFile image) {
+
+        if (image.getSize() > maxImageSizeBytes) {
+            throw imageTooLarge();
+        }
+
+        try {
+
+            ImageFormat format;
+
+            try (InputStream in = image.getInputStream()) {
+
+                byte[] header = new byte[ImageFormat.SNIFF_LENGTH];
+                int headerLength = in.readNBytes(header, 0, header.length);
+
+                format = ImageFormat.detect(header, headerLength)
+                        .orElseThrow(() -> new ResponseStatusException(
+                                HttpStatus.BAD_REQUEST,
+                                "Only JPEG, PNG, GIF or WebP images are allowed"
+                        ));
+            }
+
+            return new PreparedImage(image, format, imageNormalizer.normalize(image, format, image.getSize()).orElse(null));
+
+        } catch (IOException exception) {
+
+            throw new UncheckedIOException(exception);
+
+        }
+    }
+
+    private PreparedImage await(CompletableFuture<PreparedImage> preparedImage) throws IOException {
+
+        try {
+
+            return preparedImage.join();
+
+        } catch (CompletionException exception) {
+
+            if (exception.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Stores the normalized bytes, or streams the original part when
+     * normalization kept it as-is. The byte limit is enforced again while
+     * copying in case the declared size was wrong.
+     */
+    private BlobMetadata ingest(PreparedImage image) throws IOException {
+
+        long originalSize = image.source().getSize();
+
+        if (image.normalized() != null) {
+
+            return storeBlob(
+                    new ByteArrayInputStream(image.normalized()),
+                    ImageFormat.JPEG.getContentType(),
+                    Long.MAX_VALUE,
+                    originalSize
+            );
+        }
+
+        try {
+
+            return storeBlob(image.source().getInputStream(), image.format().getContentType(), maxImageSizeBytes, originalSize);
+
+        } catch (BlobTooLargeException exception) {
+
+            throw imageTooLarge();
+
+        }
+    }
+
+    private ResponseStatusException imageTooLarge() {
+
+        return new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Each image must be at most " + (maxImageSizeBytes / (1024 * 1024)) + " MB"
+        );
+    }
+
+    /**
+     * Stores the content once per SHA-256 and takes a reference on it. The
+     * returned metadata describes the blob; it is not the managed entity,
+     * which may have been created by an earlier upload.
+     */
+    private BlobMetadata storeBlob(InputStream content, String contentType, long maxBytes, Long originalSizeBytes) throws IOException {
+
+        StoredBlob blob = blobStore.put(content, maxBytes);
+
+        BlobMetadata metadata = new BlobMetadata();
+        metadata.setBlobKey(blob.key());
+        metadata.setSizeBytes(blob.size());
+        metadata.setContentType(contentType == null || contentType.isBlank() ? DEFAULT_CONTENT_TYPE : contentType);
+        metadata.setChecksum(blob.checksum());
+        metadata.setOriginalSizeBytes(originalSizeBytes);
+
+        readDimensions(blob.key()).ifPresent(dimension -> {
+            metadata.setWidth(dimension.width);
+            metadata.setHeight(dimension.height);
+        });
+
+        int inserted = blobMetadataRepository.insertIfAbsent(
+                metadata.getBlobKey(),
+                metadata.getSizeBytes(),
+                metadata.getContentType(),
+                metadata.getChecksum(),
+                metadata.getWidth(),
+                metadata.getHeight(),
+                metadata.getOriginalSizeBytes(),
+                LocalDateTime.now()
+        );
+
+        blobMetadataRepository.retain(metadata.getBlobKey());
+
+        if (inserted == 0) {
+            blobGarbageCollector.recordDeduplicated();
+        }
+
+        return metadata;
+    }
+
+    // Reads only the image header; the pixels are never decoded
+    private Optional<Dimension> readDimensions(String blobKey) {
+
+        try (InputStream in = blobStore.open(blobKey);
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+
+            if (imageInput == null) {
+                return Optional.empty();
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(imageInput, true, true);
+                return Optional.of(new Dimension(reader.getWidth(0), reader.getHeight(0)));
+            } finally {
+                reader.dispose();
+            }
+
+        } catch (IOException | RuntimeException exception) {
+
+            log.debug("Could not read dimensions of blob {}", blobKey, exception);
+            return Optional.empty();
+
+        }
+    }
+
+    private List<String> imageKeys(Long requestId) {
+
+        return requestImageRepository.findBlobKeysByRequestId(requestId);
+    }
+
+    // Files stay on disk; BlobGarbageCollector removes them once unreferenced for the grace period
+    private void releaseBlobs(List<String> keys) {
+
+        if (keys.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+
+        keys.stream()
+                .collect(Collectors.groupingBy(key -> key, Collectors.counting()))
+                .forEach((key, count) -> blobMetadataRepository.release(key, count.intValue(), now));
+    }
+
+    // Thumbnails are built off the request thread once the image rows are visible to readers
+    private void generateThumbnailsAfterCommit(List<BlobMetadata> writtenBlobs) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                thumbnailService.generateAsync(writtenBlobs.stream().map(BlobMetadata::getBlobKey).distinct().toList());
+            }
+        });
+    }
+
+    // The file may be shared with other uploads, so it is handed to the collector instead of deleted
+    private void releaseBlobsOnRollback(List<BlobMetadata> writtenBlobs) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED && !writtenBlobs.isEmpty()) {
+                    blobGarbageCollector.releaseOrphans(writtenBlobs);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package com.ewaste.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ewaste.repository.EwasteRequestRepository;
+
+/**
+ * Moves base64 images still stored in {@code ewaste_request_images} into the
+ * blob store. Enable once with {@code app.storage.migrate-legacy-images=true};
+ * each request is migrated in its own transaction, so the run can be
+ * interrupted and restarted safely.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.migrate-legacy-images", havingValue = "true")
+public class LegacyImageMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyImageMigrationRunner.class);
+
+    private final EwasteRequestRepository requestRepository;
+    private final ImageStorageService imageStorageService;
+
+    public LegacyImageMigrationRunner(
+            EwasteRequestRepository requestRepository,
+            ImageStorageService imageStorageService
+    ) {
+        this.requestRepository = requestRepository;
+        this.imageStorageService = imageStorageService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        List<Long> requestIds = requestRepository.findIdsWithLegacyImages();
+
+        log.info("Migrating legacy images for {} requests", requestIds.size());
+
+        int migratedImages = 0;
+        int failedRequests = 0;
+
+        for (Long requestId : requestIds) {
+            try {
+                migratedImages += imageStorageService.migrateLegacyImages(requestId);
+            } catch (RuntimeException exception) {
+                failedRequests++;
+                log.error("Legacy image migration failed for request {}", requestId, exception);
+            }
+        }
+
+        log.info("Legacy image migration finished: {} images moved, {} requests failed", migratedImages, failedRequests);
+    }
+}
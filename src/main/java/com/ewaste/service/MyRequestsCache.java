@@ -0,0 +1,164 @@
+package com.ewaste.service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ewaste.dto.CacheStats;
+
+/**
+ * Serialized first pages of {@code GET /requests/mine}, keyed by user email
+ * and page size. The frontend polls that page every few seconds, so a hit
+ * skips the query, the mapping and the JSON encoding altogether.
+ * <p>
+ * Bounded by total payload size with least-recently-used eviction per user.
+ * Each entry carries the {@link com.ewaste.dto.RequestSyncState} ETag it was
+ * built under and is only served while that still matches. Writes that do
+ * not move the ETag, such as a profile rename, call
+ * {@link #invalidateAfterCommit(String)}; a load that raced with such a
+ * write is not stored.
+ */
+@Component
+public class MyRequestsCache {
+
+    // Rough per-entry bookkeeping cost on top of the payload itself
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int GENERATION_STRIPES = 256;
+
+    @Value("${app.requests.mine-cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    // email -> (page size -> JSON), in access order for eviction
+    private final LinkedHashMap<String, Map<Integer, CachedPage>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    // Bumped on invalidation; a load only stores its result if its stripe did not move meanwhile
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record CachedPage(String version, byte[] json) {}
+
+    /**
+     * The page cached for {@code version}, or the result of {@code loader}.
+     * The loader must read data at least as new as {@code version}.
+     */
+    public byte[] get(String email, int pageSize, String version, Supplier<byte[]> loader) {
+
+        synchronized (this) {
+            Map<Integer, CachedPage> pages = entries.get(email);
+            CachedPage cached = pages == null ? null : pages.get(pageSize);
+            if (cached != null && cached.version().equals(version)) {
+                hits.increment();
+                return cached.json();
+            }
+        }
+
+        misses.increment();
+
+        long generation = generations.get(stripe(email));
+        byte[] loaded = loader.get();
+
+        store(email, pageSize, new CachedPage(version, loaded), generation);
+
+        return loaded;
+    }
+
+    /** Drops {@code email}'s lists once the current transaction commits, or right away outside one. */
+    public void invalidateAfterCommit(String email) {
+
+        if (email == null) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(email);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(email);
+            }
+        });
+    }
+
+    public synchronized CacheStats stats() {
+
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+
+        return new CacheStats(
+                entries.values().stream().mapToLong(Map::size).sum(),
+                totalBytes,
+                maxBytes,
+                hitCount,
+                misses.sum(),
+                total == 0 ? 0 : (double) hitCount / total,
+                evictions.sum(),
+                invalidations.sum()
+        );
+    }
+
+    /* ---------- INTERNALS ---------- */
+
+    private void invalidate(String email) {
+
+        generations.incrementAndGet(stripe(email));
+
+        synchronized (this) {
+            Map<Integer, CachedPage> pages = entries.remove(email);
+            if (pages != null) {
+                totalBytes -= weigh(pages);
+                invalidations.increment();
+            }
+        }
+    }
+
+    private synchronized void store(String email, int pageSize, CachedPage page, long generation) {
+
+        long size = weigh(page);
+
+        if (size > maxBytes || generations.get(stripe(email)) != generation) return;
+
+        CachedPage previous = entries.computeIfAbsent(email, key -> new HashMap<>()).put(pageSize, page);
+
+        totalBytes += size - (previous == null ? 0 : weigh(previous));
+
+        Iterator<Map.Entry<String, Map<Integer, CachedPage>>> eldest = entries.entrySet().iterator();
+
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Map<Integer, CachedPage>> entry = eldest.next();
+            if (entry.getKey().equals(email)) continue;
+            totalBytes -= weigh(entry.getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private long weigh(Map<Integer, CachedPage> pages) {
+
+        return pages.values().stream().mapToLong(this::weigh).sum();
+    }
+
+    private long weigh(CachedPage page) {
+
+        return page.json().length + page.version().length() + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private int stripe(String email) {
+
+        return Math.floorMod(email.hashCode(), GENERATION_STRIPES);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ewaste.service;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.PersonnelRequest;
+import com.ewaste.entity.PickupPersonnel;
+import com.ewaste.repository.PickupPersonnelRepository;
+
+@Service
+public class PersonnelService {
+
+    private static final int MAX_SHIFT_CAPACITY = 1000;
+
+    private final PickupPersonnelRepository personnelRepository;
+    private final PickupSlots pickupSlots;
+
+    public PersonnelService(PickupPersonnelRepository personnelRepository, PickupSlots pickupSlots) {
+        this.personnelRepository = personnelRepository;
+        this.pickupSlots = pickupSlots;
+    }
+
+    public List<PickupPersonnel> listPersonnel() {
+        return personnelRepository.findAllByOrderByNameAsc();
+    }
+
+    public PickupPersonnel getPersonnel(Long id) {
+        return personnelRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Personnel not found"));
+    }
+
+    @Transactional
+    public PickupPersonnel createPersonnel(PersonnelRequest body) {
+
+        PickupPersonnel personnel = new PickupPersonnel();
+        apply(personnel, body);
+
+        if (personnelRepository.existsByName(personnel.getName())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Personnel name already exists");
+        }
+
+        return personnelRepository.save(personnel);
+    }
+
+    @Transactional
+    public PickupPersonnel updatePersonnel(Long id, PersonnelRequest body) {
+
+        PickupPersonnel personnel = getPersonnel(id);
+        apply(personnel, body);
+
+        if (personnelRepository.existsByNameAndIdNot(personnel.getName(), id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Personnel name already exists");
+        }
+
+        return personnelRepository.save(personnel);
+    }
+
+    private void apply(PickupPersonnel personnel, PersonnelRequest body) {
+
+        if (body == null || body.getName() == null || body.getName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "name is required");
+        }
+
+        String name = body.getName().trim();
+
+        if (name.length() > 150) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "name is too long");
+        }
+
+        Integer capacity = body.getShiftCapacity();
+
+        if (capacity == null || capacity < 1 || capacity > MAX_SHIFT_CAPACITY) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "shiftCapacity must be between 1 and " + MAX_SHIFT_CAPACITY);
+        }
+
+        Double latitude = body.getStartLatitude();
+        Double longitude = body.getStartLongitude();
+
+        if ((latitude == null) != (longitude == null)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "startLatitude and startLongitude must be sent together");
+        }
+
+        if (latitude != null && (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coordinates are out of range");
+        }
+
+        personnel.setName(name);
+        personnel.setZone(pickupSlots.normalizeZone(body.getZone()));
+        personnel.setShiftCapacity(capacity);
+        personnel.setActive(body.getActive() == null || body.getActive());
+        personnel.setStartLatitude(latitude);
+        personnel.setStartLongitude(longitude);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ewaste.service;
+
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pickup slot layout from {@code app.pickup.*}: the start times offered each
+ * day and how many pickups a zone can take per slot. Zones without an entry
+ * in {@code zone-capacity} get {@code default-capacity}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.pickup")
+public class PickupSlotSettings {
+
+    private List<LocalTime> slotTimes = List.of(
+            LocalTime.of(9, 0), LocalTime.of(12, 0), LocalTime.of(15, 0), LocalTime.of(18, 0)
+    );
+    private String defaultZone = "default";
+    private int defaultCapacity = 10;
+    private Map<String, Integer> zoneCapacity = new HashMap<>();
+
+    public int capacity(String zone) {
+        return zoneCapacity.getOrDefault(zone, defaultCapacity);
+    }
+
+    public List<LocalTime> getSlotTimes() {
+        return slotTimes;
+    }
+
+    public void setSlotTimes(List<LocalTime> slotTimes) {
+        this.slotTimes = slotTimes.stream().sorted().toList();
+    }
+
+    public String getDefaultZone() {
+        return defaultZone;
+    }
+
+    public void setDefaultZone(String defaultZone) {
+        this.defaultZone = defaultZone.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    public Map<String, Integer> getZoneCapacity() {
+        return zoneCapacity;
+    }
+
+    public void setZoneCapacity(Map<String, Integer> zoneCapacity) {
+        Map<String, Integer> normalized = new HashMap<>();
+        zoneCapacity.forEach((zone, capacity) -> normalized.put(zone.trim().toLowerCase(Locale.ROOT), capacity));
+        this.zoneCapacity = normalized;
+    }
+}
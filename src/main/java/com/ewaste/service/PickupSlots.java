@@ -0,0 +1,286 @@
+package com.ewaste.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.PickupSlotAvailability;
+import com.ewaste.dto.PickupSlotCount;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.PickupSlot;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.PickupSlotRepository;
+
+/**
+ * Pickup slot inventory. A request holds a place in its slot while it is
+ * scheduled and keeps it once picked up; rejecting or rescheduling it frees
+ * the place. A slot that has already started cannot be booked, so a place
+ * freed late is never handed out again.
+ * Writes call {@link #move} with the slot held before and after the change
+ * inside their own transaction, so a failed write gives the place back.
+ * <p>
+ * Moves are checked against the slot's stored count right away, and netted
+ * per slot until the transaction is about to commit. Each touched slot then
+ * costs one conditional {@code UPDATE} on its row, however many requests a
+ * batch moved in or out of it. Contention is limited to admins booking the
+ * very same slot, and no table lock is taken.
+ */
+@Component
+public class PickupSlots {
+
+    private static final Logger log = LoggerFactory.getLogger(PickupSlots.class);
+
+    private static final Set<RequestStatus> HOLDING_STATUSES =
+            EnumSet.of(RequestStatus.SCHEDULED, RequestStatus.PICKUP_SCHEDULED, RequestStatus.PICKED_UP);
+
+    private static final Comparator<Slot> SLOT_ORDER =
+            Comparator.comparing(Slot::date).thenComparing(Slot::time).thenComparing(Slot::zone);
+
+    private static final int MAX_ZONE_LENGTH = 50;
+    private static final int MAX_RANGE_DAYS = 92;
+
+    private final PickupSlotRepository slotRepository;
+    private final EwasteRequestRepository requestRepository;
+    private final PickupSlotSettings settings;
+
+    public PickupSlots(
+            PickupSlotRepository slotRepository,
+            EwasteRequestRepository requestRepository,
+            PickupSlotSettings settings
+    ) {
+        this.slotRepository = slotRepository;
+        this.requestRepository = requestRepository;
+        this.settings = settings;
+    }
+
+    public record Slot(LocalDate date, LocalTime time, String zone) {}
+
+    /** The slot {@code request} currently occupies, or null. */
+    public Slot heldBy(EwasteRequest request) {
+
+        if (!HOLDING_STATUSES.contains(request.getStatus())
+                || request.getPickupDate() == null
+                || request.getPickupTime() == null) {
+            return null;
+        }
+
+        return new Slot(request.getPickupDate(), request.getPickupTime(), zoneOrDefault(request.getPickupZone()));
+    }
+
+    /** Lower-cased zone name, or the default zone when blank. */
+    public String normalizeZone(String zone) {
+
+        if (zone == null || zone.isBlank()) return settings.getDefaultZone();
+
+        String normalized = zone.trim().toLowerCase(Locale.ROOT);
+
+        if (normalized.length() > MAX_ZONE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pickupZone is too long");
+        }
+
+        return normalized;
+    }
+
+    /* ---------- RESERVATIONS ---------- */
+
+    /**
+     * Takes a place in {@code after} and frees {@code before}; either may be
+     * null. A refusal writes nothing, so it leaves the caller's transaction
+     * usable. The conditional update at commit still guards against a
+     * concurrent booking; losing that race fails the whole transaction with
+     * a 409.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = ResponseStatusException.class)
+    public void move(Slot before, Slot after) {
+
+        if (Objects.equals(before, after)) return;
+
+        Map<Slot, Tally> pending = pending();
+
+        if (after != null) reserve(pending, after);
+        if (before != null) pending.computeIfAbsent(before, slot -> new Tally()).delta--;
+    }
+
+    private void reserve(Map<Slot, Tally> pending, Slot slot) {
+
+        if (!settings.getSlotTimes().contains(slot.time())) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "pickupTime must be one of " + settings.getSlotTimes());
+        }
+
+        if (slot.date().isBefore(LocalDate.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "pickupDate is in the past");
+        }
+
+        if (LocalDateTime.of(slot.date(), slot.time()).isBefore(LocalDateTime.now())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pickup slot has already started");
+        }
+
+        int capacity = settings.capacity(slot.zone());
+        Tally tally = pending.computeIfAbsent(slot, key -> new Tally());
+
+        // Read once per slot and transaction; later moves only change the delta
+        if (!tally.read) {
+            Optional<Integer> stored = slotRepository.findReserved(slot.date(), slot.time(), slot.zone());
+            tally.read = true;
+            tally.exists = stored.isPresent();
+            tally.stored = stored.orElse(0);
+        }
+
+        if (tally.stored + tally.delta >= capacity) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Pickup slot is full");
+        }
+
+        tally.delta++;
+    }
+
+    // Net moves into one slot; the stored count is read on its first reservation
+    private static final class Tally {
+        private boolean read;
+        private boolean exists;
+        private int stored;
+        private int delta;
+    }
+
+    /** Net moves of the current transaction per slot, written just before it commits. */
+    private Map<Slot, Tally> pending() {
+
+        @SuppressWarnings("unchecked")
+        Map<Slot, Tally> pending = (Map<Slot, Tally>) TransactionSynchronizationManager.getResource(this);
+
+        if (pending != null) return pending;
+
+        Map<Slot, Tally> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // A fixed order keeps two batches touching the same slots from deadlocking
+                created.entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey(SLOT_ORDER))
+                        .forEach(entry -> apply(entry.getKey(), entry.getValue()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(PickupSlots.this);
+            }
+        });
+
+        return created;
+    }
+
+    private void apply(Slot slot, Tally tally) {
+
+        if (tally.delta < 0) {
+            slotRepository.release(slot.date(), slot.time(), slot.zone(), -tally.delta);
+            return;
+        }
+
+        if (tally.delta == 0) return;
+
+        if (!tally.exists) {
+            slotRepository.createIfAbsent(slot.date(), slot.time(), slot.zone(), 0);
+        }
+
+        int capacity = settings.capacity(slot.zone());
+
+        // Someone else booked the slot since it was read
+        if (slotRepository.reserve(slot.date(), slot.time(), slot.zone(), tally.delta, capacity) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Pickup slot is full");
+        }
+    }
+
+    /* ---------- AVAILABILITY ---------- */
+
+    @Transactional(readOnly = true)
+    public List<PickupSlotAvailability> availability(LocalDate from, LocalDate to, String zone) {
+
+        LocalDate start = from == null ? LocalDate.now() : from;
+        LocalDate end = to == null ? start.plusDays(6) : to;
+
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        String slotZone = normalizeZone(zone);
+        int capacity = settings.capacity(slotZone);
+
+        Map<Slot, Integer> reserved = new HashMap<>();
+        for (PickupSlot row : slotRepository.findByZoneAndDateBetween(slotZone, start, end)) {
+            reserved.put(new Slot(row.getDate(), row.getTime(), slotZone), row.getReserved());
+        }
+
+        List<PickupSlotAvailability> slots = new ArrayList<>();
+
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            for (LocalTime time : settings.getSlotTimes()) {
+
+                int taken = reserved.getOrDefault(new Slot(day, time, slotZone), 0);
+
+                slots.add(new PickupSlotAvailability(
+                        day, time, slotZone, capacity, taken, Math.max(0, capacity - taken)));
+            }
+        }
+
+        return slots;
+    }
+
+    /* ---------- BACKFILL ---------- */
+
+    /**
+     * Seeds upcoming slots with pickups scheduled before the inventory
+     * existed. Slots that already have a row are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+
+        Map<Slot, Long> counts = new HashMap<>();
+
+        for (PickupSlotCount row : requestRepository.countUpcomingPickups(HOLDING_STATUSES, LocalDate.now())) {
+            counts.merge(new Slot(row.date(), row.time(), zoneOrDefault(row.zone())), row.count(), Long::sum);
+        }
+
+        counts.forEach((slot, count) -> slotRepository.createIfAbsent(slot.date(), slot.time(), slot.zone(), count));
+
+        if (!counts.isEmpty()) {
+            log.info("Checked {} upcoming pickup slots against scheduled requests", counts.size());
+        }
+    }
+
+    private String zoneOrDefault(String zone) {
+
+        return zone == null ? settings.getDefaultZone() : zone;
+    }
+}
@@ -0,0 +1,131 @@
+package com.ewaste.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.RequestReport;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestDailyRollup;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.RequestDailyRollupRepository;
+
+/**
+ * Builds reports by merging daily rollup buckets, so the cost follows the
+ * number of days and device types in the range rather than the number of
+ * requests.
+ */
+@Service
+public class ReportService {
+
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final RequestDailyRollupRepository rollupRepository;
+    private final DeviceWeights deviceWeights;
+
+    public ReportService(RequestDailyRollupRepository rollupRepository, DeviceWeights deviceWeights) {
+        this.rollupRepository = rollupRepository;
+        this.deviceWeights = deviceWeights;
+    }
+
+    /** Mutable sums while merging buckets. */
+    private static final class Sum {
+
+        private long requests;
+        private long devices;
+        private long turnaroundSeconds;
+        private double kilograms;
+
+        private void add(RequestDailyRollup bucket, double kilogramsPerUnit) {
+            requests += bucket.getRequests();
+            devices += bucket.getDevices();
+            turnaroundSeconds += bucket.getTurnaroundSeconds();
+            kilograms += bucket.getDevices() * kilogramsPerUnit;
+        }
+    }
+
+    /** Defaults to the current month up to today. */
+    @Transactional(readOnly = true)
+    public RequestReport report(LocalDate from, LocalDate to) {
+
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.withDayOfMonth(1) : from;
+
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+
+        Sum collected = new Sum();
+        Sum rejected = new Sum();
+        Map<String, Sum> byDeviceType = new HashMap<>();
+        Map<RequestCondition, Long> devicesByCondition = new EnumMap<>(RequestCondition.class);
+        Map<YearMonth, Sum> byMonth = new TreeMap<>();
+
+        for (RequestCondition condition : RequestCondition.values()) {
+            devicesByCondition.put(condition, 0L);
+        }
+
+        for (RequestDailyRollup bucket : rollupRepository.findByDayBetween(start, end)) {
+
+            double kilogramsPerUnit = deviceWeights.kilogramsPerUnit(bucket.getDeviceType());
+
+            if (bucket.getOutcome() == RequestStatus.REJECTED) {
+                rejected.add(bucket, kilogramsPerUnit);
+                continue;
+            }
+
+            collected.add(bucket, kilogramsPerUnit);
+            byDeviceType.computeIfAbsent(bucket.getDeviceType(), key -> new Sum()).add(bucket, kilogramsPerUnit);
+            byMonth.computeIfAbsent(YearMonth.from(bucket.getDay()), key -> new Sum()).add(bucket, kilogramsPerUnit);
+            devicesByCondition.merge(bucket.getCondition(), bucket.getDevices(), Long::sum);
+        }
+
+        List<RequestReport.DeviceTypeTotals> deviceTypes = new ArrayList<>();
+        byDeviceType.forEach((deviceType, sum) -> {
+            if (sum.requests > 0) {
+                deviceTypes.add(new RequestReport.DeviceTypeTotals(deviceType, sum.requests, sum.devices, round(sum.kilograms)));
+            }
+        });
+        deviceTypes.sort(Comparator.comparingLong(RequestReport.DeviceTypeTotals::devices).reversed()
+                .thenComparing(RequestReport.DeviceTypeTotals::deviceType));
+
+        List<RequestReport.MonthTotals> months = new ArrayList<>();
+        byMonth.forEach((month, sum) ->
+                months.add(new RequestReport.MonthTotals(month.toString(), sum.requests, sum.devices, round(sum.kilograms))));
+
+        return new RequestReport(
+                start,
+                end,
+                totals(collected),
+                totals(rejected),
+                deviceTypes,
+                devicesByCondition,
+                months
+        );
+    }
+
+    private RequestReport.OutcomeTotals totals(Sum sum) {
+
+        Double averageTurnaroundHours = sum.requests == 0
+                ? null
+                : round(sum.turnaroundSeconds / SECONDS_PER_HOUR / sum.requests);
+
+        return new RequestReport.OutcomeTotals(sum.requests, sum.devices, round(sum.kilograms), averageTurnaroundHours);
+    }
+
+    private static double round(double value) {
+
+        return Math.round(value * 100) / 100.0;
+    }
+}
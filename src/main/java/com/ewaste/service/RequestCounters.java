@@ -0,0 +1,194 @@
+package com.ewaste.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ewaste.dto.RequestCountRow;
+import com.ewaste.dto.RequestStats;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.EwasteRequestRepository;
+
+/**
+ * In-memory request counts for {@code GET /admin/stats}, so the dashboard
+ * does not scan the table on every read.
+ * <p>
+ * Writes call {@link #moveAfterCommit} with the request as it was before
+ * and after the change; the counters move once the transaction commits.
+ * A periodic {@code GROUP BY} replaces them wholesale, which also corrects
+ * the rare increment lost to a write racing with that swap.
+ */
+@Component
+public class RequestCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestCounters.class);
+
+    private final EwasteRequestRepository requestRepository;
+
+    private volatile Counts counts = new Counts(LocalDateTime.now());
+
+    public RequestCounters(EwasteRequestRepository requestRepository) {
+        this.requestRepository = requestRepository;
+    }
+
+    /** The counted attributes of one request. */
+    public record Snapshot(RequestStatus status, RequestCondition condition, String deviceType, LocalDate createdOn) {
+
+        public static Snapshot of(EwasteRequest request) {
+            return new Snapshot(
+                    request.getStatus(),
+                    request.getCondition(),
+                    request.getDeviceType(),
+                    request.getCreatedAt() == null ? null : request.getCreatedAt().toLocalDate()
+            );
+        }
+    }
+
+    private record DayCount(LocalDate day, LongAdder count) {}
+
+    private static final class Counts {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<RequestStatus, LongAdder> byStatus = new EnumMap<>(RequestStatus.class);
+        private final Map<RequestCondition, LongAdder> byCondition = new EnumMap<>(RequestCondition.class);
+        private final Map<String, LongAdder> byDeviceType = new ConcurrentHashMap<>();
+        private final AtomicReference<DayCount> today = new AtomicReference<>(new DayCount(LocalDate.now(), new LongAdder()));
+        private final LocalDateTime reconciledAt;
+
+        // The enum maps are filled up front and never change shape, so they are safe to share
+        private Counts(LocalDateTime reconciledAt) {
+            this.reconciledAt = reconciledAt;
+            for (RequestStatus status : RequestStatus.values()) byStatus.put(status, new LongAdder());
+            for (RequestCondition condition : RequestCondition.values()) byCondition.put(condition, new LongAdder());
+        }
+
+        private void add(Snapshot snapshot, long delta) {
+
+            total.add(delta);
+
+            if (snapshot.status() != null) byStatus.get(snapshot.status()).add(delta);
+            if (snapshot.condition() != null) byCondition.get(snapshot.condition()).add(delta);
+            if (snapshot.deviceType() != null) {
+                byDeviceType.computeIfAbsent(snapshot.deviceType(), key -> new LongAdder()).add(delta);
+            }
+
+            if (snapshot.createdOn() != null && snapshot.createdOn().equals(LocalDate.now())) {
+                currentDay().count().add(delta);
+            }
+        }
+
+        private DayCount currentDay() {
+
+            LocalDate now = LocalDate.now();
+            DayCount current = today.get();
+
+            while (!current.day().equals(now)) {
+                today.compareAndSet(current, new DayCount(now, new LongAdder()));
+                current = today.get();
+            }
+
+            return current;
+        }
+    }
+
+    /* ---------- WRITES ---------- */
+
+    /** Moves one request from {@code before} to {@code after}; either side is null for a create or delete. */
+    public void moveAfterCommit(Snapshot before, Snapshot after) {
+
+        afterCommit(() -> {
+            Counts current = counts;
+            if (before != null) current.add(before, -1);
+            if (after != null) current.add(after, 1);
+        });
+    }
+
+    /* ---------- READ ---------- */
+
+    public RequestStats stats() {
+
+        Counts current = counts;
+
+        Map<RequestStatus, Long> byStatus = new EnumMap<>(RequestStatus.class);
+        current.byStatus.forEach((status, count) -> byStatus.put(status, count.sum()));
+
+        Map<RequestCondition, Long> byCondition = new EnumMap<>(RequestCondition.class);
+        current.byCondition.forEach((condition, count) -> byCondition.put(condition, count.sum()));
+
+        Map<String, Long> byDeviceType = new TreeMap<>();
+        current.byDeviceType.forEach((deviceType, count) -> {
+            long sum = count.sum();
+            if (sum > 0) byDeviceType.put(deviceType, sum);
+        });
+
+        return new RequestStats(
+                current.total.sum(),
+                current.currentDay().count().sum(),
+                byStatus,
+                byCondition,
+                byDeviceType,
+                current.reconciledAt
+        );
+    }
+
+    /* ---------- RECONCILIATION ---------- */
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:300000}"
+    )
+    public void reconcile() {
+
+        LocalDateTime now = LocalDateTime.now();
+        Counts fresh = new Counts(now);
+
+        for (RequestCountRow row : requestRepository.countByStatusConditionAndDeviceType()) {
+            fresh.add(new Snapshot(row.status(), row.condition(), row.deviceType(), null), row.count());
+        }
+
+        LocalDate today = now.toLocalDate();
+        fresh.today.set(new DayCount(today, new LongAdder()));
+        fresh.today.get().count().add(requestRepository.countByCreatedAtGreaterThanEqual(today.atStartOfDay()));
+
+        Counts previous = counts;
+        counts = fresh;
+
+        long drift = previous.total.sum() - fresh.total.sum();
+
+        if (drift != 0) {
+            log.debug("Request counters reconciled; total was off by {}", drift);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
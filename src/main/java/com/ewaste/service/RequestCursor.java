@@ -0,0 +1,44 @@
+package com.ewaste.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Keyset position {@code (createdAt, id)} of the last row of a page, encoded
+ * as URL-safe base64 so clients treat it as an opaque token.
+ */
+record RequestCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+
+        String raw = createdAt + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RequestCursor decode(String cursor) {
+
+        try {
+
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+
+            return new RequestCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1))
+            );
+
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException exception) {
+
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.ewaste.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ewaste.dto.RequestEvent;
+import com.ewaste.entity.EwasteRequest;
+
+/**
+ * Pushes changes to a user's requests over {@code GET /requests/events}.
+ * Open streams are async servlet responses, so they hold no thread while
+ * idle; deliveries and heartbeats run on the small
+ * {@code requestEventsExecutor} pool.
+ * <p>
+ * The last few events of each recently active user are kept so a client
+ * reconnecting with {@code Last-Event-ID} gets what it missed. When that
+ * is no longer possible (restart, or the gap fell out of the buffer) it
+ * receives a single {@value #RESYNC} event and should reload instead.
+ */
+@Component
+public class RequestEventBroadcaster {
+
+    public static final String CREATED = "request.created";
+    public static final String UPDATED = "request.updated";
+    public static final String DELETED = "request.deleted";
+    public static final String RESYNC = "resync";
+
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.events.replay-size:50}")
+    private int replaySize;
+
+    @Value("${app.events.replay-users:10000}")
+    private int replayUsers;
+
+    @Value("${app.events.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    // Ids issued before a restart carry another boot id and cannot be replayed
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    // Everything below is guarded by this
+    private final Map<String, List<SseEmitter>> subscribers = new HashMap<>();
+    private final LinkedHashMap<String, History> histories = new LinkedHashMap<>(64, 0.75f, true);
+    private long sequence;
+
+    // Highest sequence that left memory together with an evicted user history
+    private long evictedThrough;
+
+    private final Executor requestEventsExecutor;
+
+    public RequestEventBroadcaster(@Qualifier("requestEventsExecutor") Executor requestEventsExecutor) {
+        this.requestEventsExecutor = requestEventsExecutor;
+    }
+
+    private record Envelope(long sequence, String type, RequestEvent event) {}
+
+    private static final class History {
+
+        private final ArrayDeque<Envelope> events = new ArrayDeque<>();
+        private long droppedThrough;
+
+        private History(long droppedThrough) {
+            this.droppedThrough = droppedThrough;
+        }
+    }
+
+    /* ---------- SUBSCRIBE ---------- */
+
+    public SseEmitter subscribe(String email, String lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+
+        emitter.onCompletion(() -> unsubscribe(email, emitter));
+        emitter.onError(error -> unsubscribe(email, emitter));
+
+        SseEmitter displaced = null;
+
+        synchronized (this) {
+
+            List<SseEmitter> emitters = subscribers.computeIfAbsent(email, key -> new ArrayList<>());
+
+            if (emitters.size() >= maxConnectionsPerUser) {
+                displaced = emitters.remove(0);
+            }
+
+            emitters.add(emitter);
+
+            // Buffered until the handler returns, so this does no I/O under the lock.
+            // Replaying while registered means nothing published meanwhile is missed or repeated.
+            trySend(emitter, SseEmitter.event().comment("connected"));
+
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(email, lastEventId.trim(), emitter);
+            }
+        }
+
+        if (displaced != null) {
+            displaced.complete();
+        }
+
+        return emitter;
+    }
+
+    // Must be called while holding the lock
+    private void replay(String email, String lastEventId, SseEmitter emitter) {
+
+        long after = parseSequence(lastEventId);
+
+        History history = histories.get(email);
+        long floor = history != null ? history.droppedThrough : evictedThrough;
+
+        if (after < floor || after > sequence) {
+            trySend(emitter, SseEmitter.event().id(eventId(sequence)).name(RESYNC).data(RESYNC));
+            return;
+        }
+
+        if (history == null) return;
+
+        for (Envelope envelope : history.events) {
+            if (envelope.sequence() > after) {
+                trySend(emitter, toSse(envelope));
+            }
+        }
+    }
+
+    private synchronized void unsubscribe(String email, SseEmitter emitter) {
+
+        List<SseEmitter> emitters = subscribers.get(email);
+
+        if (emitters == null) return;
+
+        emitters.remove(emitter);
+
+        if (emitters.isEmpty()) {
+            subscribers.remove(email);
+        }
+    }
+
+    /* ---------- PUBLISH ---------- */
+
+    /** Announces {@code request} to its owner once the current transaction commits. */
+    public void publishAfterCommit(String email, String type, EwasteRequest request) {
+
+        // Read after commit so updatedAt reflects the flush
+        afterCommit(() -> publish(email, type,
+                new RequestEvent(request.getId(), request.getStatus(), request.getUpdatedAt())));
+    }
+
+    public void publishDeletedAfterCommit(String email, Long requestId) {
+
+        afterCommit(() -> publish(email, DELETED, new RequestEvent(requestId, null, null)));
+    }
+
+    private void publish(String email, String type, RequestEvent event) {
+
+        Envelope envelope;
+        List<SseEmitter> targets;
+
+        synchronized (this) {
+
+            envelope = new Envelope(++sequence, type, event);
+
+            History history = histories.get(email);
+
+            if (history == null) {
+                history = new History(evictedThrough);
+                histories.put(email, history);
+                evictHistories();
+            }
+
+            history.events.addLast(envelope);
+
+            while (history.events.size() > replaySize) {
+                history.droppedThrough = history.events.removeFirst().sequence();
+            }
+
+            targets = List.copyOf(subscribers.getOrDefault(email, List.of()));
+        }
+
+        if (targets.isEmpty()) return;
+
+        requestEventsExecutor.execute(() -> targets.forEach(emitter -> deliver(email, emitter, toSse(envelope))));
+    }
+
+    // Must be called while holding the lock
+    private void evictHistories() {
+
+        Iterator<History> eldest = histories.values().iterator();
+
+        while (histories.size() > replayUsers && eldest.hasNext()) {
+
+            History evicted = eldest.next();
+
+            if (!evicted.events.isEmpty()) {
+                evictedThrough = Math.max(evictedThrough, evicted.events.getLast().sequence());
+            }
+
+            eldest.remove();
+        }
+    }
+
+    /* ---------- HEARTBEAT ---------- */
+
+    /** Keeps idle streams from being closed by proxies and detects dead clients. */
+    @Scheduled(fixedRateString = "${app.events.heartbeat-ms:20000}")
+    public void heartbeat() {
+
+        Map<String, List<SseEmitter>> snapshot = new HashMap<>();
+
+        synchronized (this) {
+            subscribers.forEach((email, emitters) -> snapshot.put(email, List.copyOf(emitters)));
+        }
+
+        if (snapshot.isEmpty()) return;
+
+        requestEventsExecutor.execute(() -> snapshot.forEach((email, emitters) ->
+                emitters.forEach(emitter -> deliver(email, emitter, SseEmitter.event().comment("ping")))));
+    }
+
+    /* ---------- HELPERS ---------- */
+
+    private void deliver(String email, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+
+        // The container reports the broken connection itself; just stop writing to it
+        if (!trySend(emitter, event)) {
+            unsubscribe(email, emitter);
+        }
+    }
+
+    private boolean trySend(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    // Builders are single use, so one is made per emitter
+    private SseEmitter.SseEventBuilder toSse(Envelope envelope) {
+
+        return SseEmitter.event()
+                .id(eventId(envelope.sequence()))
+                .name(envelope.type())
+                .data(envelope.event(), MediaType.APPLICATION_JSON);
+    }
+
+    private String eventId(long sequence) {
+
+        return bootId + "-" + sequence;
+    }
+
+    // -1 for ids from another boot or that do not parse, which forces a resync
+    private long parseSequence(String eventId) {
+
+        int dash = eventId.lastIndexOf('-');
+
+        if (dash < 0 || !eventId.substring(0, dash).equals(bootId)) return -1;
+
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,179 @@
+package com.ewaste.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.repository.EwasteRequestRepository;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes admin request exports row by row from a database cursor, so memory
+ * use does not grow with the number of requests. Runs on the async thread
+ * of a {@code StreamingResponseBody}, inside its own read-only transaction.
+ */
+@Component
+public class RequestExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] CSV_HEADER = {
+            "id", "createdAt", "updatedAt", "status", "deviceType", "brand", "model", "condition", "quantity",
+            "pickupAddress", "latitude", "longitude", "additionalRemarks", "pickupDate", "pickupTime", "pickupZone",
+            "pickupPersonnelName", "rejectionReason", "requesterName", "requesterEmail"
+    };
+
+    @Value("${app.requests.export.fetch-size:500}")
+    private int fetchSize;
+
+    private final EwasteRequestRepository requestRepository;
+    private final ObjectMapper objectMapper;
+
+    public RequestExporter(EwasteRequestRepository requestRepository, ObjectMapper objectMapper) {
+        this.requestRepository = requestRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public enum Format {
+
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format fromInput(String value) {
+
+            if (value == null || value.isBlank()) return CSV;
+
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void write(Specification<EwasteRequest> spec, Sort sort, Format format, OutputStream out) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        try (Stream<EwasteRequestSummary> rows = requestRepository.streamSummaries(spec, sort, fetchSize)) {
+
+            if (format == Format.CSV) {
+                // Byte order mark so spreadsheet apps detect UTF-8
+                writer.write('\uFEFF');
+                writeCsvLine(writer, CSV_HEADER);
+            }
+
+            Iterator<EwasteRequestSummary> iterator = rows.iterator();
+
+            while (iterator.hasNext()) {
+
+                EwasteRequestSummary row = iterator.next();
+
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, csvValues(row));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+        }
+
+        writer.flush();
+    }
+
+    /* ---------- CSV ---------- */
+
+    private String[] csvValues(EwasteRequestSummary row) {
+
+        return new String[] {
+                text(row.getId()),
+                text(row.getCreatedAt()),
+                text(row.getUpdatedAt()),
+                text(row.getStatus()),
+                row.getDeviceType(),
+                row.getBrand(),
+                row.getModel(),
+                text(row.getCondition()),
+                text(row.getQuantity()),
+                row.getPickupAddress(),
+                text(row.getLatitude()),
+                text(row.getLongitude()),
+                row.getAdditionalRemarks(),
+                text(row.getPickupDate()),
+                text(row.getPickupTime()),
+                row.getPickupZone(),
+                row.getPickupPersonnelName(),
+                row.getRejectionReason(),
+                row.getRequesterName(),
+                row.getRequesterEmail()
+        };
+    }
+
+    private void writeCsvLine(Writer writer, String[] values) throws IOException {
+
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(csvField(values[i]));
+        }
+
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; user-entered text that a spreadsheet would run as a formula is prefixed with '
+    private static String csvField(String value) {
+
+        if (value == null || value.isEmpty()) return "";
+
+        String field = value;
+
+        if ("=+-@\t\r".indexOf(field.charAt(0)) >= 0) {
+            field = "'" + field;
+        }
+
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    private static String text(Object value) {
+
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,237 @@
+package com.ewaste.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.ChangeFeedEvent;
+import com.ewaste.dto.ChangeFeedPage;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.OutboxEventType;
+import com.ewaste.entity.RequestOutboxEvent;
+import com.ewaste.repository.RequestOutboxRepository;
+
+/**
+ * Transactional outbox for request lifecycle events.
+ * <p>
+ * Mutations call {@link #record} inside their own transaction, so an event
+ * exists exactly when its change committed. A single poller then drains
+ * unpublished rows in batches: each batch is handed to in-process
+ * {@code @EventListener}s for {@link ChangeFeedEvent} and given feed
+ * positions in one transaction. A crash before that commits republishes
+ * the batch, so listeners and feed readers get events at least once.
+ * <p>
+ * Positions are assigned in publish order rather than taken from the
+ * insert id, so a transaction that commits late never lands behind a feed
+ * reader's {@code after} cursor.
+ */
+@Service
+public class RequestOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestOutbox.class);
+
+    private static final String INSERT_EVENT = """
+            insert into request_outbox
+                (event_type, request_id, user_id, status, pickup_date, pickup_time, occurred_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Value("${app.outbox.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.outbox.feed.page-size:100}")
+    private int defaultFeedSize;
+
+    @Value("${app.outbox.feed.max-page-size:1000}")
+    private int maxFeedSize;
+
+    @Value("${app.outbox.retention-days:30}")
+    private int retentionDays;
+
+    private final RequestOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    public RequestOutbox(
+            RequestOutboxRepository outboxRepository,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /* ---------- WRITE ---------- */
+
+    public record Change(OutboxEventType type, EwasteRequest request) {}
+
+    /** Records {@code type} for the request's current state; must join the caller's transaction. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType type, EwasteRequest request) {
+
+        outboxRepository.save(toEvent(type, request));
+    }
+
+    /**
+     * Records many changes with one batched INSERT. The ids are generated by
+     * the database, which keeps Hibernate from batching entity inserts, so
+     * this goes through JDBC directly.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Change> changes) {
+
+        if (changes.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>(changes.size());
+
+        for (Change change : changes) {
+
+            RequestOutboxEvent event = toEvent(change.type(), change.request());
+
+            rows.add(new Object[] {
+                    event.getType().name(),
+                    event.getRequestId(),
+                    event.getUserId(),
+                    event.getStatus() == null ? null : event.getStatus().name(),
+                    event.getPickupDate(),
+                    event.getPickupTime(),
+                    event.getOccurredAt()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    private RequestOutboxEvent toEvent(OutboxEventType type, EwasteRequest request) {
+
+        RequestOutboxEvent event = new RequestOutboxEvent();
+
+        event.setType(type);
+        event.setRequestId(request.getId());
+        event.setUserId(request.getUser().getId());
+        event.setOccurredAt(LocalDateTime.now());
+
+        if (type != OutboxEventType.REQUEST_DELETED) {
+            event.setStatus(request.getStatus());
+            event.setPickupDate(request.getPickupDate());
+            event.setPickupTime(request.getPickupTime());
+        }
+
+        return event;
+    }
+
+    /* ---------- POLLER ---------- */
+
+    /** Drains the whole backlog each run, one batch per transaction. Positions assume a single drainer. */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public synchronized void drain() {
+
+        long started = System.nanoTime();
+        long afterId = 0;
+        int published = 0;
+
+        while (true) {
+
+            long from = afterId;
+            Batch batch = transactionTemplate.execute(status -> publishBatch(from));
+
+            if (batch == null) break;
+
+            published += batch.published();
+
+            // Rows committing late below this id are picked up by the next run
+            afterId = batch.lastId();
+        }
+
+        if (published > 0) {
+            log.debug("Published {} outbox events in {} ms", published, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private record Batch(long lastId, int published) {}
+
+    // Every step is a range scan: the id window, its positions, and the events read back in feed order
+    private Batch publishBatch(long afterId) {
+
+        List<Long> ids = outboxRepository.findUnpublishedIds(afterId, PageRequest.of(0, batchSize));
+
+        if (ids.isEmpty()) return null;
+
+        long firstId = ids.get(0);
+        long lastId = ids.get(ids.size() - 1);
+
+        // position = id + offset keeps id order and starts right after the last assigned position
+        long offset = outboxRepository.findLastPosition() + 1 - firstId;
+
+        outboxRepository.assignPositions(firstId, lastId, offset);
+
+        // Also includes rows inside the window that committed after the id query
+        List<ChangeFeedEvent> events = outboxRepository.findFeedBetween(firstId + offset, lastId + offset);
+
+        for (ChangeFeedEvent event : events) {
+
+            // One failing listener must not hold back the feed for everyone else
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Outbox listener failed for event {}", event.position(), e);
+            }
+        }
+
+        return new Batch(lastId, events.size());
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.outbox.purge-interval-ms:3600000}",
+            fixedDelayString = "${app.outbox.purge-interval-ms:3600000}"
+    )
+    @Transactional
+    public void purge() {
+
+        outboxRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /* ---------- FEED ---------- */
+
+    @Transactional(readOnly = true)
+    public ChangeFeedPage feed(Long after, Integer limit) {
+
+        long from = after == null ? 0 : after;
+        int size = limit == null ? defaultFeedSize : limit;
+
+        if (from < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "after must not be negative");
+        }
+
+        if (size < 1 || size > maxFeedSize) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + maxFeedSize
+            );
+        }
+
+        List<ChangeFeedEvent> events = outboxRepository.findFeedAfter(from, PageRequest.of(0, size));
+
+        long next = events.isEmpty() ? from : events.get(events.size() - 1).position();
+
+        return new ChangeFeedPage(events, next);
+    }
+}
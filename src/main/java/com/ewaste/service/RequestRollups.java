@@ -0,0 +1,183 @@
+package com.ewaste.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ewaste.dto.ClosedRequestRow;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.RequestDailyRollupRepository;
+
+/**
+ * Keeps {@code request_daily_rollups} in step with requests reaching a
+ * final status. Moving into PICKED_UP or REJECTED adds the request to
+ * that day's bucket and stamps {@code completedAt}; moving back out
+ * subtracts it from the bucket it was added to. Deleting a completed
+ * request leaves its bucket alone, as the pickup still happened.
+ */
+@Component
+public class RequestRollups {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestRollups.class);
+
+    private static final Set<RequestStatus> FINAL_STATUSES = EnumSet.of(RequestStatus.PICKED_UP, RequestStatus.REJECTED);
+
+    private static final Totals NONE = new Totals(0, 0, 0);
+
+    private final RequestDailyRollupRepository rollupRepository;
+    private final EwasteRequestRepository requestRepository;
+
+    public RequestRollups(RequestDailyRollupRepository rollupRepository, EwasteRequestRepository requestRepository) {
+        this.rollupRepository = rollupRepository;
+        this.requestRepository = requestRepository;
+    }
+
+    private record Bucket(LocalDate day, RequestStatus outcome, String deviceType, RequestCondition condition) {}
+
+    private record Totals(long requests, long devices, long turnaroundSeconds) {
+
+        private Totals times(int sign) {
+            return new Totals(sign * requests, sign * devices, sign * turnaroundSeconds);
+        }
+
+        private Totals plus(Totals other) {
+            return new Totals(
+                    requests + other.requests,
+                    devices + other.devices,
+                    turnaroundSeconds + other.turnaroundSeconds
+            );
+        }
+    }
+
+    /** Call after setting the new status and before saving; joins the caller's transaction. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(EwasteRequest request, RequestStatus previousStatus) {
+
+        RequestStatus status = request.getStatus();
+
+        if (status == previousStatus) return;
+
+        if (FINAL_STATUSES.contains(previousStatus) && request.getCompletedAt() != null) {
+            apply(request, previousStatus, request.getCompletedAt(), -1);
+            request.setCompletedAt(null);
+        }
+
+        if (FINAL_STATUSES.contains(status)) {
+            LocalDateTime now = LocalDateTime.now();
+            request.setCompletedAt(now);
+            apply(request, status, now, 1);
+        }
+    }
+
+    private void apply(EwasteRequest request, RequestStatus outcome, LocalDateTime completedAt, int sign) {
+
+        pending().merge(
+                new Bucket(completedAt.toLocalDate(), outcome, request.getDeviceType(), request.getCondition()),
+                totalsOf(request.getQuantity(), request.getCreatedAt(), completedAt).times(sign),
+                Totals::plus
+        );
+    }
+
+    /**
+     * Deltas of the current transaction, merged per bucket and written just
+     * before it commits. A batch of updates then costs one upsert per bucket,
+     * and no native statement forces a flush between its entity updates.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Bucket, Totals> pending() {
+
+        Map<Bucket, Totals> pending = (Map<Bucket, Totals>) TransactionSynchronizationManager.getResource(this);
+
+        if (pending != null) return pending;
+
+        Map<Bucket, Totals> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // A status set and reverted in the same transaction nets to zero
+                created.forEach((bucket, totals) -> {
+                    if (!totals.equals(NONE)) add(bucket, totals, 1);
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(RequestRollups.this);
+            }
+        });
+
+        return created;
+    }
+
+    private void add(Bucket bucket, Totals totals, int sign) {
+
+        rollupRepository.add(
+                bucket.day(),
+                bucket.outcome().name(),
+                bucket.deviceType(),
+                bucket.condition().name(),
+                sign * totals.requests(),
+                sign * totals.devices(),
+                sign * totals.turnaroundSeconds()
+        );
+    }
+
+    private Totals totalsOf(Integer quantity, LocalDateTime createdAt, LocalDateTime completedAt) {
+
+        long turnaround = createdAt == null ? 0 : Math.max(0, Duration.between(createdAt, completedAt).getSeconds());
+
+        return new Totals(1, quantity == null ? 0 : quantity, turnaround);
+    }
+
+    /* ---------- BACKFILL ---------- */
+
+    /**
+     * Counts requests that were completed before completion times existed,
+     * dating them by their last update. Only touches rows still missing
+     * {@code completedAt}, so later startups find nothing to do.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+
+        List<ClosedRequestRow> rows = requestRepository.findClosedWithoutCompletion(FINAL_STATUSES);
+
+        if (rows.isEmpty()) return;
+
+        Map<Bucket, Totals> buckets = new HashMap<>();
+
+        for (ClosedRequestRow row : rows) {
+            buckets.merge(
+                    new Bucket(row.completedAt().toLocalDate(), row.status(), row.deviceType(), row.condition()),
+                    totalsOf(row.quantity(), row.createdAt(), row.completedAt()),
+                    Totals::plus
+            );
+        }
+
+        buckets.forEach((bucket, totals) -> add(bucket, totals, 1));
+
+        requestRepository.stampMissingCompletion(FINAL_STATUSES);
+
+        log.info("Backfilled daily rollups with {} completed requests in {} buckets", rows.size(), buckets.size());
+    }
+}
@@ -0,0 +1,284 @@
+package com.ewaste.service;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ewaste.dto.RequestSearchDocument;
+import com.ewaste.repository.EwasteRequestRepository;
+
+/**
+ * In-memory inverted index over the free-text fields of every request,
+ * ranked with BM25. Brand and model matches weigh more than device type,
+ * which weighs more than remarks and address. The last query term also
+ * matches as a prefix so partially typed words find results.
+ * <p>
+ * Rebuilt from the database on startup and kept current by
+ * {@link EwasteRequestService}, which calls {@link #indexAfterCommit} and
+ * {@link #removeAfterCommit} on create, update and delete.
+ */
+@Component
+public class RequestSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final float BRAND_WEIGHT = 3f;
+    private static final float MODEL_WEIGHT = 3f;
+    private static final float DEVICE_TYPE_WEIGHT = 2f;
+    private static final float TEXT_WEIGHT = 1f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    // term -> (request id -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+
+    // request id -> its terms, kept so an update or delete can unlink old postings
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private double totalLength;
+
+    private final EwasteRequestRepository requestRepository;
+
+    public RequestSearchIndex(EwasteRequestRepository requestRepository) {
+        this.requestRepository = requestRepository;
+    }
+
+    public record SearchHits(List<Long> ids, int total) {}
+
+    private record IndexedDocument(Map<String, Float> terms, int length) {}
+
+    /* ---------- REBUILD ---------- */
+
+    /**
+     * Loads every request in id order. Searches keep working against the
+     * partial index meanwhile, and writes that commit during the rebuild go
+     * through the incremental path as usual. A write landing between a batch
+     * being read and applied can be shadowed by the older copy until the
+     * request is saved again; ids of deleted requests are dropped by callers.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        long started = System.nanoTime();
+
+        withWriteLock(() -> {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        });
+
+        long afterId = 0;
+        int indexed = 0;
+
+        while (true) {
+
+            List<RequestSearchDocument> batch = requestRepository.findSearchDocumentsAfter(
+                    afterId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE)
+            );
+
+            if (batch.isEmpty()) break;
+
+            withWriteLock(() -> batch.forEach(this::put));
+
+            indexed += batch.size();
+            afterId = batch.get(batch.size() - 1).id();
+        }
+
+        log.info("Search index built: {} requests in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /* ---------- INCREMENTAL UPDATES ---------- */
+
+    /** Indexes {@code document} once the current transaction commits, or right away outside one. */
+    public void indexAfterCommit(RequestSearchDocument document) {
+
+        afterCommit(() -> withWriteLock(() -> put(document)));
+    }
+
+    public void removeAfterCommit(Long requestId) {
+
+        afterCommit(() -> withWriteLock(() -> unlink(requestId)));
+    }
+
+    /* ---------- SEARCH ---------- */
+
+    public SearchHits search(String query, int offset, int limit) {
+
+        List<String> queryTerms = tokenize(query);
+
+        if (queryTerms.isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+
+            if (documents.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+
+            double averageLength = totalLength / documents.size();
+
+            for (String term : expand(queryTerms)) {
+
+                Map<Long, Float> matches = postings.get(term);
+
+                if (matches == null) continue;
+
+                double idf = Math.log(1 + (documents.size() - matches.size() + 0.5) / (matches.size() + 0.5));
+
+                matches.forEach((id, frequency) -> {
+                    double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Equal scores fall back to newest first
+        List<Long> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        int from = Math.min(offset, ranked.size());
+        int to = Math.min(from + limit, ranked.size());
+
+        return new SearchHits(ranked.subList(from, to), ranked.size());
+    }
+
+    // Must be called under the read lock
+    private Set<String> expand(List<String> queryTerms) {
+
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+
+        String last = queryTerms.get(queryTerms.size() - 1);
+
+        if (last.length() >= MIN_PREFIX_LENGTH) {
+            postings.subMap(last, false, last + Character.MAX_VALUE, false).keySet().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(terms::add);
+        }
+
+        return terms;
+    }
+
+    /* ---------- INTERNALS (write lock held) ---------- */
+
+    private void put(RequestSearchDocument document) {
+
+        unlink(document.id());
+
+        Map<String, Float> terms = new HashMap<>();
+        int length = 0;
+
+        length += addField(terms, document.brand(), BRAND_WEIGHT);
+        length += addField(terms, document.model(), MODEL_WEIGHT);
+        length += addField(terms, document.deviceType(), DEVICE_TYPE_WEIGHT);
+        length += addField(terms, document.additionalRemarks(), TEXT_WEIGHT);
+        length += addField(terms, document.pickupAddress(), TEXT_WEIGHT);
+
+        terms.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(document.id(), frequency));
+
+        documents.put(document.id(), new IndexedDocument(terms, length));
+        totalLength += length;
+    }
+
+    private void unlink(Long requestId) {
+
+        IndexedDocument previous = documents.remove(requestId);
+
+        if (previous == null) return;
+
+        totalLength -= previous.length();
+
+        previous.terms().keySet().forEach(term -> {
+            Map<Long, Float> matches = postings.get(term);
+            matches.remove(requestId);
+            if (matches.isEmpty()) postings.remove(term);
+        });
+    }
+
+    private int addField(Map<String, Float> terms, String text, float weight) {
+
+        List<String> tokens = tokenize(text);
+
+        tokens.forEach(token -> terms.merge(token, weight, Float::sum));
+
+        return tokens.size();
+    }
+
+    /* ---------- HELPERS ---------- */
+
+    // Lowercased, accent-folded runs of letters and digits
+    static List<String> tokenize(String text) {
+
+        if (text == null || text.isBlank()) return List.of();
+
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+
+        return NON_WORD.splitAsStream(folded.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private void withWriteLock(Runnable action) {
+
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
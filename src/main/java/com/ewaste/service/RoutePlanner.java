@@ -0,0 +1,262 @@
+package com.ewaste.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.dto.RoutePlan;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.PickupPersonnel;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.EwasteRequestSpecifications;
+import com.ewaste.repository.PickupPersonnelRepository;
+
+/**
+ * Daily pickup plan for the requests scheduled on one date.
+ * <p>
+ * Within each zone, requests are sorted by geohash so that neighbours sit
+ * next to each other, and the list is cut into consecutive runs sized by
+ * each person's shift capacity. Everyone thus gets a compact area. Each
+ * person's day is then routed slot by slot, in slot order, on the
+ * {@code routePlanningExecutor} pool, one task per person.
+ */
+@Service
+public class RoutePlanner {
+
+    private static final List<RequestStatus> SCHEDULED_STATUSES =
+            List.of(RequestStatus.SCHEDULED, RequestStatus.PICKUP_SCHEDULED);
+
+    @Value("${app.routes.max-requests:20000}")
+    private int maxRequests;
+
+    @Value("${app.routes.improve-budget-ms:2000}")
+    private long improveBudgetMs;
+
+    private final EwasteRequestRepository requestRepository;
+    private final PickupPersonnelRepository personnelRepository;
+    private final EwasteRequestService requestService;
+    private final PickupSlots pickupSlots;
+    private final Executor routePlanningExecutor;
+
+    public RoutePlanner(
+            EwasteRequestRepository requestRepository,
+            PickupPersonnelRepository personnelRepository,
+            EwasteRequestService requestService,
+            PickupSlots pickupSlots,
+            @Qualifier("routePlanningExecutor") Executor routePlanningExecutor
+    ) {
+        this.requestRepository = requestRepository;
+        this.personnelRepository = personnelRepository;
+        this.requestService = requestService;
+        this.pickupSlots = pickupSlots;
+        this.routePlanningExecutor = routePlanningExecutor;
+    }
+
+    /** Plans {@code date}; with {@code apply} the assignments are also saved on the requests. */
+    public RoutePlan plan(LocalDate date, boolean apply) {
+
+        if (date == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "date is required");
+        }
+
+        long started = System.nanoTime();
+
+        Specification<EwasteRequest> scheduledOn = Specification.allOf(
+                EwasteRequestSpecifications.statusIn(SCHEDULED_STATUSES),
+                EwasteRequestSpecifications.pickupBetween(date, date)
+        );
+
+        List<EwasteRequestSummary> requests = requestRepository.findSummaries(scheduledOn, Sort.by("id"), maxRequests + 1);
+
+        if (requests.size() > maxRequests) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "More than " + maxRequests + " pickups on " + date + "; plan by zone instead");
+        }
+
+        /* ---------- ASSIGN ---------- */
+
+        Map<String, List<EwasteRequestSummary>> requestsByZone = new TreeMap<>();
+        for (EwasteRequestSummary request : requests) {
+            requestsByZone.computeIfAbsent(pickupSlots.normalizeZone(request.getPickupZone()), key -> new ArrayList<>())
+                    .add(request);
+        }
+
+        Map<String, List<PickupPersonnel>> personnelByZone = new HashMap<>();
+        for (PickupPersonnel personnel : personnelRepository.findByActiveTrueOrderByIdAsc()) {
+            personnelByZone.computeIfAbsent(personnel.getZone(), key -> new ArrayList<>()).add(personnel);
+        }
+
+        Map<PickupPersonnel, List<EwasteRequestSummary>> assignments = new LinkedHashMap<>();
+        List<Long> unassigned = new ArrayList<>();
+
+        requestsByZone.forEach((zone, zoneRequests) ->
+                assignZone(zoneRequests, personnelByZone.getOrDefault(zone, List.of()), assignments, unassigned));
+
+        /* ---------- ROUTE ---------- */
+
+        long budgetNanos = improveBudgetMs * 1_000_000L;
+
+        List<CompletableFuture<RoutePlan.PersonnelRoute>> routes = new ArrayList<>();
+        assignments.forEach((personnel, stops) -> routes.add(
+                CompletableFuture.supplyAsync(() -> route(personnel, stops, budgetNanos), routePlanningExecutor)));
+
+        List<RoutePlan.PersonnelRoute> manifests = routes.stream().map(CompletableFuture::join).toList();
+
+        /* ---------- APPLY ---------- */
+
+        if (apply) {
+            Map<Long, PickupPersonnel> byRequest = new HashMap<>();
+            assignments.forEach((personnel, stops) -> stops.forEach(stop -> byRequest.put(stop.getId(), personnel)));
+            requestService.assignPersonnel(byRequest);
+        }
+
+        return new RoutePlan(
+                date,
+                requests.size(),
+                requests.size() - unassigned.size(),
+                apply,
+                (System.nanoTime() - started) / 1_000_000,
+                manifests,
+                unassigned
+        );
+    }
+
+    // Cuts the zone's requests, in geohash order, into one consecutive run per person
+    private void assignZone(
+            List<EwasteRequestSummary> requests,
+            List<PickupPersonnel> personnel,
+            Map<PickupPersonnel, List<EwasteRequestSummary>> assignments,
+            List<Long> unassigned
+    ) {
+
+        List<EwasteRequestSummary> ordered = new ArrayList<>(requests);
+        ordered.sort(Comparator.comparing(this::spatialKey));
+
+        // People starting near each other take neighbouring runs
+        List<PickupPersonnel> crew = new ArrayList<>(personnel);
+        crew.sort(Comparator.comparing((PickupPersonnel person) -> person.getStartLatitude() == null
+                ? "~"
+                : Geohash.encode(person.getStartLatitude(), person.getStartLongitude(), Geohash.MAX_PRECISION)));
+
+        long remainingCapacity = crew.stream().mapToLong(PickupPersonnel::getShiftCapacity).sum();
+        int next = 0;
+
+        for (PickupPersonnel person : crew) {
+
+            int remaining = ordered.size() - next;
+            if (remaining == 0) break;
+
+            // Share what is left in proportion to capacity, so nobody is idle while another is full
+            int share = (int) Math.ceil((double) remaining * person.getShiftCapacity() / remainingCapacity);
+            int take = Math.min(Math.min(share, person.getShiftCapacity()), remaining);
+
+            assignments.put(person, ordered.subList(next, next + take));
+            next += take;
+            remainingCapacity -= person.getShiftCapacity();
+        }
+
+        // Requests without coordinates sort last, so they are the first to be left over
+        for (int i = next; i < ordered.size(); i++) {
+            unassigned.add(ordered.get(i).getId());
+        }
+    }
+
+    private String spatialKey(EwasteRequestSummary request) {
+
+        return request.getLatitude() == null
+                ? "~"
+                : Geohash.encode(request.getLatitude(), request.getLongitude(), Geohash.MAX_PRECISION);
+    }
+
+    // One person's day: each slot in time order, continuing from where the previous slot ended
+    private RoutePlan.PersonnelRoute route(PickupPersonnel person, List<EwasteRequestSummary> stops, long budgetNanos) {
+
+        Map<LocalTime, List<EwasteRequestSummary>> bySlot = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        for (EwasteRequestSummary stop : stops) {
+            bySlot.computeIfAbsent(stop.getPickupTime(), key -> new ArrayList<>()).add(stop);
+        }
+
+        RouteSolver.Point position = person.getStartLatitude() == null
+                ? null
+                : new RouteSolver.Point(person.getStartLatitude(), person.getStartLongitude());
+
+        // Each slot gets its share of the budget
+        long slotBudget = budgetNanos / Math.max(1, bySlot.size());
+
+        List<RoutePlan.RouteStop> manifest = new ArrayList<>();
+        double totalKm = 0;
+
+        for (List<EwasteRequestSummary> slot : bySlot.values()) {
+
+            List<EwasteRequestSummary> located = new ArrayList<>();
+            List<EwasteRequestSummary> unlocated = new ArrayList<>();
+
+            for (EwasteRequestSummary stop : slot) {
+                (stop.getLatitude() == null ? unlocated : located).add(stop);
+            }
+
+            List<RouteSolver.Point> points = located.stream()
+                    .map(stop -> new RouteSolver.Point(stop.getLatitude(), stop.getLongitude()))
+                    .toList();
+
+            for (int index : RouteSolver.order(position, points, slotBudget)) {
+
+                RouteSolver.Point point = points.get(index);
+                Double legKm = position == null ? null : RouteSolver.distanceKm(position, point);
+
+                if (legKm != null) totalKm += legKm;
+
+                manifest.add(toStop(manifest.size() + 1, located.get(index), legKm));
+                position = point;
+            }
+
+            // Typed addresses cannot be placed on the route; they close the slot
+            for (EwasteRequestSummary stop : unlocated) {
+                manifest.add(toStop(manifest.size() + 1, stop, null));
+            }
+        }
+
+        return new RoutePlan.PersonnelRoute(
+                person.getId(),
+                person.getName(),
+                person.getZone(),
+                person.getShiftCapacity(),
+                Math.round(totalKm * 100) / 100.0,
+                manifest
+        );
+    }
+
+    private RoutePlan.RouteStop toStop(int sequence, EwasteRequestSummary request, Double legKm) {
+
+        return new RoutePlan.RouteStop(
+                sequence,
+                request.getId(),
+                request.getPickupTime(),
+                request.getPickupAddress(),
+                request.getLatitude(),
+                request.getLongitude(),
+                request.getDeviceType(),
+                request.getQuantity(),
+                request.getRequesterName(),
+                legKm == null ? null : Math.round(legKm * 100) / 100.0
+        );
+    }
+}
@@ -0,0 +1,203 @@
+package com.ewaste.service;
+
+import java.util.List;
+
+/**
+ * Orders the stops of one route: nearest neighbour for a first tour, then
+ * 2-opt moves until none shortens it or the time budget runs out. Routes
+ * are open paths; they end at the last stop rather than returning.
+ */
+final class RouteSolver {
+
+    private static final double EARTH_DIAMETER_KM = 12742;
+
+    // Above this many nodes distances are computed on demand instead of cached
+    private static final int MATRIX_LIMIT = 1000;
+
+    private RouteSolver() {
+    }
+
+    record Point(double latitude, double longitude) {}
+
+    /**
+     * Visiting order of {@code stops} as indexes into the list. With a
+     * {@code start} the route leaves from there; without one it begins at the
+     * stop farthest from the centre, so it sweeps across the area.
+     */
+    static int[] order(Point start, List<Point> stops, long budgetNanos) {
+
+        int n = stops.size();
+
+        if (n == 0) return new int[0];
+        if (n == 1) return new int[] {0};
+
+        long deadline = System.nanoTime() + budgetNanos;
+
+        // Node 0 is the fixed start and stop i is node i + 1. Without a start,
+        // node 0 sits on the outermost stop, which then naturally comes first.
+        Point origin = start != null ? start : stops.get(farthestFromCentre(stops));
+        Distances distances = new Distances(origin, stops);
+
+        int[] path = nearestNeighbour(distances);
+        twoOpt(path, distances, deadline);
+
+        int[] order = new int[n];
+
+        for (int i = 1; i < path.length; i++) {
+            order[i - 1] = path[i] - 1;
+        }
+
+        return order;
+    }
+
+    static double distanceKm(Point a, Point b) {
+
+        double lat1 = Math.toRadians(a.latitude());
+        double lat2 = Math.toRadians(b.latitude());
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(b.longitude() - a.longitude());
+
+        double h = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.pow(Math.sin(dLon / 2), 2);
+
+        return EARTH_DIAMETER_KM * Math.asin(Math.sqrt(Math.min(1, h)));
+    }
+
+    // Greedy tour from node 0
+    private static int[] nearestNeighbour(Distances distances) {
+
+        int size = distances.size();
+        boolean[] visited = new boolean[size];
+        int[] path = new int[size];
+
+        visited[0] = true;
+        int filled = 1;
+
+        while (filled < size) {
+
+            int current = path[filled - 1];
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+
+            for (int candidate = 1; candidate < size; candidate++) {
+                if (visited[candidate]) continue;
+                double distance = distances.between(current, candidate);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = candidate;
+                }
+            }
+
+            path[filled++] = best;
+            visited[best] = true;
+        }
+
+        return path;
+    }
+
+    // Reverses path[i..j] whenever that shortens the route; path[0] never moves
+    private static void twoOpt(int[] path, Distances distances, long deadline) {
+
+        int last = path.length - 1;
+        boolean improved = true;
+
+        while (improved && System.nanoTime() < deadline) {
+
+            improved = false;
+
+            for (int i = 1; i < last; i++) {
+                for (int j = i + 1; j <= last; j++) {
+
+                    int before = path[i - 1];
+                    int head = path[i];
+                    int tail = path[j];
+
+                    double delta = distances.between(before, tail) - distances.between(before, head);
+
+                    if (j < last) {
+                        int after = path[j + 1];
+                        delta += distances.between(head, after) - distances.between(tail, after);
+                    }
+
+                    if (delta < -1e-9) {
+                        reverse(path, i, j);
+                        improved = true;
+                    }
+                }
+
+                if (System.nanoTime() >= deadline) return;
+            }
+        }
+    }
+
+    private static void reverse(int[] path, int from, int to) {
+
+        while (from < to) {
+            int swap = path[from];
+            path[from++] = path[to];
+            path[to--] = swap;
+        }
+    }
+
+    private static int farthestFromCentre(List<Point> stops) {
+
+        double latitude = 0, longitude = 0;
+
+        for (Point stop : stops) {
+            latitude += stop.latitude();
+            longitude += stop.longitude();
+        }
+
+        Point centre = new Point(latitude / stops.size(), longitude / stops.size());
+
+        int farthest = 0;
+        double farthestDistance = -1;
+
+        for (int i = 0; i < stops.size(); i++) {
+            double distance = distanceKm(centre, stops.get(i));
+            if (distance > farthestDistance) {
+                farthestDistance = distance;
+                farthest = i;
+            }
+        }
+
+        return farthest;
+    }
+
+    private static final class Distances {
+
+        private final Point[] nodes;
+        private final double[][] matrix;
+
+        private Distances(Point start, List<Point> stops) {
+
+            nodes = new Point[stops.size() + 1];
+            nodes[0] = start;
+
+            for (int i = 0; i < stops.size(); i++) {
+                nodes[i + 1] = stops.get(i);
+            }
+
+            if (nodes.length > MATRIX_LIMIT) {
+                matrix = null;
+                return;
+            }
+
+            matrix = new double[nodes.length][nodes.length];
+
+            for (int a = 0; a < nodes.length; a++) {
+                for (int b = a + 1; b < nodes.length; b++) {
+                    matrix[a][b] = matrix[b][a] = distanceKm(nodes[a], nodes[b]);
+                }
+            }
+        }
+
+        private int size() {
+            return nodes.length;
+        }
+
+        private double between(int a, int b) {
+            return matrix != null ? matrix[a][b] : distanceKm(nodes[a], nodes[b]);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ewaste.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Delta-sync position: the latest change a client has seen. It only moves
+ * when the data does, so idle polls repeat the same URL and revalidate to
+ * {@code 304}.
+ */
+record SyncCursor(LocalDateTime watermark) {
+
+    // Stands in for "no changes yet" so the cursor is never empty
+    static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    String encode() {
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(watermark.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SyncCursor of(LocalDateTime watermark) {
+
+        return new SyncCursor(watermark == null ? ORIGIN : watermark);
+    }
+
+    static SyncCursor decode(String cursor) {
+
+        try {
+
+            return new SyncCursor(LocalDateTime.parse(
+                    new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+            ));
+
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid since cursor");
+
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ewaste.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import javax.imageio.IIOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ewaste.entity.BlobMetadata;
+import com.ewaste.repository.BlobMetadataRepository;
+import com.ewaste.storage.BlobStore;
+
+/**
+ * Produces fixed-size JPEG thumbnails for stored images. Thumbnails are
+ * written to the blob store under {@code <originalKey>.thumb}, so they land
+ * in the same shard directory as the original.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    public static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+
+    private static final String THUMBNAIL_SUFFIX = ".thumb";
+
+    private static final long MAX_THUMBNAIL_BYTES = 1024L * 1024;
+
+    @Value("${app.images.thumbnail.max-dimension:320}")
+    private int maxDimension;
+
+    @Value("${app.images.thumbnail.quality:0.8}")
+    private float quality;
+
+    @Value("${app.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    private final BlobStore blobStore;
+    private final BlobMetadataRepository blobMetadataRepository;
+    private final Executor imageProcessingExecutor;
+
+    public ThumbnailService(
+            BlobStore blobStore,
+            BlobMetadataRepository blobMetadataRepository,
+            @Qualifier("imageProcessingExecutor") Executor imageProcessingExecutor
+    ) {
+        this.blobStore = blobStore;
+        this.blobMetadataRepository = blobMetadataRepository;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+    }
+
+    public void generateAsync(Collection<String> blobKeys) {
+
+        for (String blobKey : List.copyOf(blobKeys)) {
+            imageProcessingExecutor.execute(() -> {
+                try {
+                    generateIfMissing(blobKey);
+                } catch (RuntimeException exception) {
+                    log.warn("Thumbnail generation failed for blob {}", blobKey, exception);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the thumbnail key for {@code metadata}, generating it inline if
+     * the background worker has not produced it yet. Empty when the original
+     * cannot be decoded (for example WebP, which ImageIO cannot read); that
+     * outcome is recorded, so later requests do not decode it again.
+     */
+    public Optional<String> ensureThumbnail(BlobMetadata metadata) {
+
+        if (metadata.getThumbnailKey() != null && blobStore.exists(metadata.getThumbnailKey())) {
+            return Optional.of(metadata.getThumbnailKey());
+        }
+
+        if (Boolean.TRUE.equals(metadata.getThumbnailFailed())) {
+            return Optional.empty();
+        }
+
+        return generate(metadata.getBlobKey());
+    }
+
+    public static String thumbnailKeyFor(String blobKey) {
+        return blobKey + THUMBNAIL_SUFFIX;
+    }
+
+    // Deduplicated uploads usually point at a blob whose thumbnail already exists
+    private void generateIfMissing(String blobKey) {
+
+        String thumbnailKey = thumbnailKeyFor(blobKey);
+
+        if (blobStore.exists(thumbnailKey)) {
+            blobMetadataRepository.updateThumbnailKey(blobKey, thumbnailKey);
+            return;
+        }
+
+        generate(blobKey);
+    }
+
+    Optional<String> generate(String blobKey) {
+
+        try {
+
+            ImageCodec.Decoded decoded;
+
+            try (InputStream in = blobStore.open(blobKey)) {
+                decoded = ImageCodec.readSubsampled(in, maxDimension, maxPixels);
+            } catch (IIOException | ImageCodec.TooManyPixelsException | RuntimeException exception) {
+                log.debug("Could not decode blob {} for a thumbnail", blobKey, exception);
+                decoded = null;
+            }
+
+            // The bytes never change, so neither will the outcome; a failed read (plain IOException) is retried
+            if (decoded == null) {
+                blobMetadataRepository.markThumbnailFailed(blobKey);
+                return Optional.empty();
+            }
+
+            BufferedImage thumbnail = ImageCodec.orient(ImageCodec.scaleToFit(decoded.image(), maxDimension), decoded.orientation());
+            byte[] jpeg = ImageCodec.encodeJpeg(thumbnail, quality);
+
+            String thumbnailKey = thumbnailKeyFor(blobKey);
+            blobStore.putAt(thumbnailKey, new ByteArrayInputStream(jpeg), MAX_THUMBNAIL_BYTES);
+            blobMetadataRepository.updateThumbnailKey(blobKey, thumbnailKey);
+
+            return Optional.of(thumbnailKey);
+
+        } catch (IOException exception) {
+
+            log.warn("Could not create thumbnail for blob {}", blobKey, exception);
+            return Optional.empty();
+
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ewaste.storage;
+
+import java.nio.file.Path;
+
+import org.springframework.core.io.InputStreamSource;
+
+/**
+ * A readable blob plus what an HTTP response needs to serve it. {@code file}
+ * is set when the bytes live on the local filesystem and can be sent with
+ * zero-copy transfers; otherwise {@code source} streams them.
+ */
+public record BlobContent(String contentType, long length, Path file, InputStreamSource source) {}
@@ -0,0 +1,57 @@
+package com.ewaste.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Binary storage for uploaded files. Callers keep the returned key and
+ * record size, content type and checksum in {@code blob_metadata}.
+ */
+public interface BlobStore {
+
+    /**
+     * Streams {@code content} into the store in fixed-size chunks, computing
+     * size and checksum on the way. Fails with {@link BlobTooLargeException}
+     * as soon as more than {@code maxBytes} have been read, leaving nothing
+     * behind.
+     * <p>
+     * The store is content addressed: the key is the hex SHA-256 of the bytes,
+     * so identical uploads share one file. Storing content that is already
+     * present refreshes its modification time instead of writing it again.
+     */
+    StoredBlob put(InputStream content, long maxBytes) throws IOException;
+
+    /**
+     * Same as {@link #put(InputStream, long)} but under a caller-chosen key,
+     * replacing any existing blob. Used for derived files such as thumbnails
+     * that are named after their original.
+     */
+    StoredBlob putAt(String key, InputStream content, long maxBytes) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    long size(String key) throws IOException;
+
+    /**
+     * The backing file for {@code key} when the store is filesystem based, so
+     * responses can use {@code FileChannel.transferTo}/sendfile.
+     */
+    default Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Deletes {@code key} unless it was written or re-stored after
+     * {@code releasedAt}. The check and the delete are atomic with respect to
+     * {@link #put(InputStream, long)}, so a concurrent re-upload of the same
+     * content always keeps its file.
+     */
+    boolean deleteIfUnmodifiedSince(String key, Instant releasedAt) throws IOException;
+}
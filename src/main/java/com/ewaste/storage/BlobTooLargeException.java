@@ -0,0 +1,17 @@
+package com.ewaste.storage;
+
+import java.io.IOException;
+
+public class BlobTooLargeException extends IOException {
+
+    private final long maxBytes;
+
+    public BlobTooLargeException(long maxBytes) {
+        super("Blob exceeds " + maxBytes + " bytes");
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
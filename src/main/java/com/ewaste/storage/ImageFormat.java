@@ -0,0 +1,55 @@
+package com.ewaste.storage;
+
+import java.util.Optional;
+
+public enum ImageFormat {
+
+    JPEG("image/jpeg"),
+    PNG("image/png"),
+    GIF("image/gif"),
+    WEBP("image/webp");
+
+    public static final int SNIFF_LENGTH = 12;
+
+    private final String contentType;
+
+    ImageFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static Optional<ImageFormat> detect(byte[] header, int length) {
+
+        if (length >= 3 && matches(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return Optional.of(JPEG);
+        }
+
+        if (length >= 8 && matches(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return Optional.of(PNG);
+        }
+
+        if (length >= 6 && (matches(header, 0, 'G', 'I', 'F', '8', '7', 'a') || matches(header, 0, 'G', 'I', 'F', '8', '9', 'a'))) {
+            return Optional.of(GIF);
+        }
+
+        if (length >= 12 && matches(header, 0, 'R', 'I', 'F', 'F') && matches(header, 8, 'W', 'E', 'B', 'P')) {
+            return Optional.of(WEBP);
+        }
+
+        return Optional.empty();
+    }
+
+    private static boolean matches(byte[] header, int offset, int... expected) {
+
+        for (int i = 0; i < expected.length; i++) {
+            if ((header[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,221 @@
+package com.ewaste.storage;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores blobs under {@code <root>/<k0k1>/<k2k3>/<key>} so no directory grows
+ * past a few thousand entries. Writes land in {@code <root>/tmp} first and are
+ * renamed into place atomically, so readers never see a partial file.
+ * <p>
+ * Publishing and deleting a key happen under one of a fixed set of striped
+ * locks, which keeps garbage collection from removing a file that an upload
+ * of the same content is re-using.
+ */
+@Component
+public class LocalFileSystemBlobStore implements BlobStore {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{3,127}");
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+    private final Path tempDir;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public LocalFileSystemBlobStore(@Value("${app.storage.local.root:uploads/blobs}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tempDir = this.root.resolve("tmp");
+        Files.createDirectories(tempDir);
+
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public StoredBlob put(InputStream content, long maxBytes) throws IOException {
+
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        MessageDigest digest = sha256();
+        long size = writeTemp(content, temp, digest, maxBytes);
+
+        String key = HexFormat.of().formatHex(digest.digest());
+        Path target = resolve(key);
+
+        synchronized (lockFor(key)) {
+
+            if (Files.isRegularFile(target)) {
+
+                // Same bytes already stored: keep the existing file, mark it as re-used
+                Files.deleteIfExists(temp);
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+
+            } else {
+
+                moveIntoPlace(temp, target);
+            }
+        }
+
+        return new StoredBlob(key, size, key);
+    }
+
+    @Override
+    public StoredBlob putAt(String key, InputStream content, long maxBytes) throws IOException {
+
+        Path target = resolve(key);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+
+        MessageDigest digest = sha256();
+        long size = writeTemp(content, temp, digest, maxBytes);
+
+        synchronized (lockFor(key)) {
+            moveIntoPlace(temp, target);
+        }
+
+        return new StoredBlob(key, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+
+        Path file = resolve(key);
+
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+
+        Path file = resolve(key);
+
+        synchronized (lockFor(key)) {
+            try {
+                Files.delete(file);
+            } catch (NoSuchFileException ignored) {
+                // Already gone; deletes are idempotent.
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteIfUnmodifiedSince(String key, Instant releasedAt) throws IOException {
+
+        Path file = resolve(key);
+
+        synchronized (lockFor(key)) {
+
+            try {
+
+                if (Files.getLastModifiedTime(file).toInstant().isAfter(releasedAt)) {
+                    return false;
+                }
+
+                Files.delete(file);
+                return true;
+
+            } catch (NoSuchFileException ignored) {
+                return false;
+            }
+        }
+    }
+
+    private long writeTemp(InputStream content, Path temp, MessageDigest digest, long maxBytes) throws IOException {
+
+        long size = 0;
+
+        try (InputStream in = content; FileOutputStream out = new FileOutputStream(temp.toFile())) {
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+
+                if (size + read > maxBytes) {
+                    throw new BlobTooLargeException(maxBytes);
+                }
+
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                size += read;
+            }
+
+            out.getFD().sync();
+
+        } catch (IOException | RuntimeException exception) {
+
+            Files.deleteIfExists(temp);
+            throw exception;
+        }
+
+        return size;
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+
+        try {
+
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException exception) {
+
+            Files.deleteIfExists(temp);
+            throw exception;
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    private Path resolve(String key) {
+
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key");
+        }
+
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.ewaste.storage;
+
+public record StoredBlob(String key, long size, String checksum) {}
@@ -0,0 +1,86 @@
+package com.ewaste.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.service.EwasteRequestService;
+import com.ewaste.service.RequestEventBroadcaster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EwasteRequestControllerTest {
+
+    private static final String EMAIL = "asha@example.com";
+    private static final String ETAG = "W/\"7-2026-01-01T12:00\"";
+
+    private final EwasteRequestService requestService = mock(EwasteRequestService.class);
+    private final EwasteRequestController controller =
+            new EwasteRequestController(requestService, mock(RequestEventBroadcaster.class));
+
+    @Test
+    void unchangedSinceCursorAnswers304WithValidatorAndCacheControl() {
+
+        when(requestService.getRequestVersion(EMAIL, 7L, "cursor"))
+                .thenReturn(new EwasteRequestService.RequestVersion(ETAG, false));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<EwasteRequestSummary> entity = requestById("cursor", null, response);
+
+        assertThat(entity).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache");
+        verify(requestService, never()).getRequestById(EMAIL, 7L);
+    }
+
+    @Test
+    void matchingETagAnswers304WithCacheControl() {
+
+        when(requestService.getRequestVersion(EMAIL, 7L, null))
+                .thenReturn(new EwasteRequestService.RequestVersion(ETAG, true));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(requestById(null, ETAG, response)).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache");
+    }
+
+    @Test
+    void staleETagWinsOverAnUnchangedSinceCursor() {
+
+        when(requestService.getRequestVersion(EMAIL, 7L, "cursor"))
+                .thenReturn(new EwasteRequestService.RequestVersion(ETAG, false));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResponseEntity<EwasteRequestSummary> entity = requestById("cursor", "W/\"7-older\"", response);
+
+        assertThat(entity).isNotNull();
+        assertThat(entity.getStatusCode().value()).isEqualTo(200);
+        assertThat(entity.getHeaders().getETag()).isEqualTo(ETAG);
+        verify(requestService).getRequestById(EMAIL, 7L);
+    }
+
+    private ResponseEntity<EwasteRequestSummary> requestById(String since, String ifNoneMatch, MockHttpServletResponse response) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/requests/7");
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+
+        return controller.requestById(
+                new TestingAuthenticationToken(EMAIL, null),
+                7L,
+                since,
+                new ServletWebRequest(request, response)
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package com.ewaste.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.ewaste.dto.RequestImageRef;
+import com.ewaste.storage.BlobContent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageResponsesTest {
+
+    private static final LocalDateTime STORED_AT = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void recordedThumbnailIsVersionedUnderItsOwnValidator() throws IOException {
+
+        MockHttpServletResponse response = thumbnail(ref("thumb-key"), "abc", Optional.of(content("thumbnail")), null);
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc-thumb\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("immutable");
+        assertThat(response.getContentAsString()).isEqualTo("thumbnail");
+    }
+
+    @Test
+    void freshlyGeneratedThumbnailUsesTheThumbnailValidator() throws IOException {
+
+        MockHttpServletResponse response = thumbnail(ref(null), "abc", Optional.of(content("thumbnail")), null);
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc-thumb\"");
+        assertThat(response.getContentAsString()).isEqualTo("thumbnail");
+    }
+
+    @Test
+    void undecodableImageFallsBackUnderTheOriginalsValidator() throws IOException {
+
+        MockHttpServletResponse response = thumbnail(ref(null), "abc", Optional.empty(), null);
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache").doesNotContain("immutable");
+        assertThat(response.getContentAsString()).isEqualTo("original");
+    }
+
+    @Test
+    void fallbackRevalidatesAgainstTheOriginalsValidator() throws IOException {
+
+        MockHttpServletResponse response = thumbnail(ref(null), "abc", Optional.empty(), "\"abc\"");
+
+        assertThat(response.getStatus()).isEqualTo(304);
+
+        MockHttpServletResponse stale = thumbnail(ref(null), "abc", Optional.empty(), "\"abc-thumb\"");
+
+        assertThat(stale.getStatus()).isEqualTo(200);
+        assertThat(stale.getContentAsString()).isEqualTo("original");
+    }
+
+    private static MockHttpServletResponse thumbnail(
+            RequestImageRef image,
+            String version,
+            Optional<BlobContent> thumbnail,
+            String ifNoneMatch
+    ) throws IOException {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/requests/1/thumbnail");
+        if (ifNoneMatch != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ImageResponses.writeThumbnail(
+                new ServletWebRequest(request, response),
+                image,
+                version,
+                () -> thumbnail,
+                () -> content("original")
+        );
+
+        return response;
+    }
+
+    private static RequestImageRef ref(String thumbnailKey) {
+        return new RequestImageRef(1L, "blob-key", "image/heic", thumbnailKey, "abc", STORED_AT);
+    }
+
+    private static BlobContent content(String body) {
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        return new BlobContent("image/jpeg", bytes.length, null, new ByteArrayResource(bytes));
+    }
+}
@@ -0,0 +1,26 @@
+package com.ewaste.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Hibernate statement inspector that records the SQL it is shown, for tests to inspect. */
+public class CapturedSql implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public synchronized String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static synchronized void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static synchronized List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
@@ -0,0 +1,294 @@
+package com.ewaste.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the SQL behind the admin list filters and the access path H2 picks
+ * for it. Values are inlined so each captured statement can be EXPLAINed as
+ * is. H2 only treats an index as sorted when its first column is the order
+ * column, so sort avoidance behind an equality prefix such as
+ * (status, created_at, id) is left to the SQL shape assertions.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ewaste.repository.CapturedSql",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class EwasteRequestIndexUsageTest {
+
+    private static final Pattern REQUESTS_ACCESS = Pattern.compile("\"ewaste_requests\" \"er1_0\"\\s+/\\* public\\.(\\w+)");
+
+    private static final Sort NEWEST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+    private static final Sort OLDEST = Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "id"));
+
+    @Autowired
+    private EwasteRequestRepository requestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void clearCapturedSql() {
+        CapturedSql.clear();
+    }
+
+    @Test
+    void singleStatusIsAnEqualityOnTheStatusIndex() {
+
+        String sql = capture(EwasteRequestSpecifications.statusIn(List.of(RequestStatus.PENDING)), NEWEST);
+
+        assertThat(sql).contains("where er1_0.status='PENDING'").doesNotContain(" in (");
+        assertOrderedByCreatedAtAndId(sql, "desc");
+        assertThat(leadingColumnOfIndexUsed(sql)).isEqualTo("status");
+    }
+
+    @Test
+    void deviceTypeUsesItsCompositeIndex() {
+
+        String sql = capture(EwasteRequestSpecifications.deviceTypeIs("Laptop"), NEWEST);
+
+        assertThat(sql).contains("where er1_0.device_type='Laptop'");
+        assertOrderedByCreatedAtAndId(sql, "desc");
+        assertThat(indexUsed(sql)).isEqualTo("idx_ewaste_requests_device_created_id");
+    }
+
+    @Test
+    void brandUsesItsCompositeIndex() {
+
+        String sql = capture(EwasteRequestSpecifications.brandIs("Dell"), OLDEST);
+
+        assertThat(sql).contains("where er1_0.brand='Dell'");
+        assertOrderedByCreatedAtAndId(sql, "asc");
+        assertThat(indexUsed(sql)).isEqualTo("idx_ewaste_requests_brand_created_id");
+    }
+
+    @Test
+    void pickupRangeUsesThePickupDateIndex() {
+
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        String sql = capture(EwasteRequestSpecifications.pickupBetween(day, day.plusDays(6)), NEWEST);
+
+        assertThat(sql).contains("er1_0.pickup_date>=date '2026-03-01'").contains("er1_0.pickup_date<=date '2026-03-07'");
+        assertThat(indexUsed(sql)).isEqualTo("idx_ewaste_requests_pickup_date");
+    }
+
+    @Test
+    void createdRangeUsesTheListOrderIndex() {
+
+        String sql = capture(EwasteRequestSpecifications.createdBetween(LocalDate.of(2026, 1, 1), null), NEWEST);
+
+        assertThat(sql).contains("er1_0.created_at>=timestamp '2026-01-01 00:00:00");
+        assertThat(indexUsed(sql)).isEqualTo("idx_ewaste_requests_created_id");
+        assertThat(explain(sql)).contains("index sorted");
+    }
+
+    @Test
+    void unfilteredListWalksTheListOrderIndex() {
+
+        String sql = capture(Specification.unrestricted(), NEWEST);
+
+        assertThat(indexUsed(sql)).isEqualTo("idx_ewaste_requests_created_id");
+        assertThat(explain(sql)).contains("index sorted");
+    }
+
+    @Test
+    void keysetCursorIsARangeOnCreatedAtAndId() {
+
+        LocalDateTime createdAt = LocalDateTime.of(2026, 2, 1, 10, 0);
+        String sql = capture(EwasteRequestSpecifications.after(createdAt, 42L, false), NEWEST);
+
+        assertThat(sql).contains("er1_0.created_at<timestamp '2026-02-01 10:00:00")
+                .contains("er1_0.id<42");
+        assertThat(indexUsed(sql)).isEqualTo("idx_ewaste_requests_created_id");
+    }
+
+    @Test
+    void requesterEmailGoesThroughTheUniqueEmailIndex() {
+
+        String sql = capture(EwasteRequestSpecifications.requesterEmailIs("a@example.com"), NEWEST);
+
+        // The filter reuses the projection's join instead of adding a second one
+        assertThat(sql).containsOnlyOnce("join users").contains("where u1_0.email='a@example.com'");
+
+        String plan = explain(sql);
+        assertThat(plan).containsPattern("\"users\" \"u1_0\"\\s+/\\* public\\.\\w+: email = 'a@example.com'");
+        assertThat(plan).contains("user_id = u1_0.id");
+    }
+
+    @Test
+    void combinedFiltersKeepEveryPredicateSargable() {
+
+        String sql = capture(Specification.allOf(
+                EwasteRequestSpecifications.statusIn(List.of(RequestStatus.SCHEDULED)),
+                EwasteRequestSpecifications.conditionIs(RequestCondition.WORKING),
+                EwasteRequestSpecifications.brandIs("HP"),
+                EwasteRequestSpecifications.pickupBetween(LocalDate.of(2026, 3, 1), null)
+        ), NEWEST);
+
+        assertThat(sql).contains("er1_0.status='SCHEDULED'")
+                .contains("er1_0.device_condition='WORKING'")
+                .contains("er1_0.brand='HP'")
+                .contains("er1_0.pickup_date>=date '2026-03-01'");
+        assertThat(leadingColumnOfIndexUsed(sql)).isIn("status", "brand", "pickup_date");
+    }
+
+    @Test
+    void severalStatusesRunOneIndexedQueryPerStatus() {
+
+        findSummariesByStatus(List.of(RequestStatus.PENDING, RequestStatus.REJECTED), false, 50);
+
+        List<String> statements = CapturedSql.statements();
+
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).contains("where er1_0.status='PENDING'").doesNotContain(" in (");
+        assertThat(statements.get(1)).contains("where er1_0.status='REJECTED'").doesNotContain(" in (");
+
+        for (String sql : statements) {
+            assertOrderedByCreatedAtAndId(sql, "desc");
+            assertThat(leadingColumnOfIndexUsed(sql)).isEqualTo("status");
+        }
+    }
+
+    @Test
+    void severalStatusesMergeIntoOnePageInListOrder() {
+
+        User user = new User();
+        user.setName("Owner");
+        user.setEmail("owner@example.com");
+        entityManager.persist(user);
+
+        RequestStatus[] statuses = {
+                RequestStatus.PENDING, RequestStatus.REJECTED, RequestStatus.ACCEPTED,
+                RequestStatus.PENDING, RequestStatus.REJECTED, RequestStatus.PENDING
+        };
+
+        for (int i = 0; i < statuses.length; i++) {
+            EwasteRequest request = newRequest(user, statuses[i]);
+            entityManager.persist(request);
+            entityManager.flush();
+            // Two rows share a timestamp so the id tie-break is exercised
+            entityManager.createNativeQuery("update ewaste_requests set created_at = :createdAt where id = :id")
+                    .setParameter("createdAt", LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(Math.min(i, 4)))
+                    .setParameter("id", request.getId())
+                    .executeUpdate();
+        }
+
+        entityManager.clear();
+
+        List<RequestStatus> wanted = List.of(RequestStatus.PENDING, RequestStatus.REJECTED);
+
+        List<EwasteRequestSummary> newest = findSummariesByStatus(wanted, false, 3);
+        List<EwasteRequestSummary> oldest = findSummariesByStatus(wanted, true, 10);
+
+        assertThat(newest).extracting(EwasteRequestSummary::getStatus)
+                .containsExactly(RequestStatus.PENDING, RequestStatus.REJECTED, RequestStatus.PENDING);
+        assertThat(newest.get(0).getId()).isGreaterThan(newest.get(1).getId());
+
+        assertThat(oldest).hasSize(5).extracting(EwasteRequestSummary::getStatus).doesNotContain(RequestStatus.ACCEPTED);
+        assertThat(oldest).isSortedAccordingTo((a, b) -> a.getCreatedAt().equals(b.getCreatedAt())
+                ? a.getId().compareTo(b.getId())
+                : a.getCreatedAt().compareTo(b.getCreatedAt()));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private List<EwasteRequestSummary> findSummariesByStatus(List<RequestStatus> statuses, boolean ascending, int limit) {
+        return requestRepository.findSummariesByStatus(Specification.unrestricted(), statuses, ascending, limit);
+    }
+
+    private String capture(Specification<EwasteRequest> spec, Sort sort) {
+
+        requestRepository.findSummaries(spec, sort, 51);
+
+        List<String> statements = CapturedSql.statements();
+        assertThat(statements).hasSize(1);
+
+        return statements.get(0);
+    }
+
+    // Projection positions 20 and 1 are created_at and id
+    private void assertOrderedByCreatedAtAndId(String sql, String direction) {
+
+        String suffix = direction.equals("asc") ? "" : " " + direction;
+
+        assertThat(sql).contains("er1_0.created_at,").contains("order by 20" + suffix + ",1" + suffix + " ");
+    }
+
+    private String explain(String sql) {
+        // The row limit is the only bound parameter left
+        return String.valueOf(entityManager.createNativeQuery("explain " + sql.replace("?", "51")).getSingleResult());
+    }
+
+    private String indexUsed(String sql) {
+
+        Matcher matcher = REQUESTS_ACCESS.matcher(explain(sql));
+
+        assertThat(matcher.find()).as("ewaste_requests is read through an index").isTrue();
+
+        return matcher.group(1);
+    }
+
+    private String leadingColumnOfIndexUsed(String sql) {
+
+        String index = indexUsed(sql);
+
+        assertThat(declaredIndexes()).as("declared index used").containsKey(index);
+
+        return declaredIndexes().get(index);
+    }
+
+    private static Map<String, String> declaredIndexes() {
+
+        Map<String, String> leadingColumns = new HashMap<>();
+
+        for (Index index : EwasteRequest.class.getAnnotation(Table.class).indexes()) {
+            leadingColumns.put(index.name(), Arrays.stream(index.columnList().split(",")).findFirst().orElseThrow().trim());
+        }
+
+        return leadingColumns;
+    }
+
+    private static EwasteRequest newRequest(User user, RequestStatus status) {
+
+        EwasteRequest request = new EwasteRequest();
+        request.setUser(user);
+        request.setDeviceType("Laptop");
+        request.setBrand("Dell");
+        request.setModel("XPS");
+        request.setCondition(RequestCondition.WORKING);
+        request.setQuantity(1);
+        request.setPickupAddress("12 Main Road");
+        request.setStatus(status);
+
+        return request;
+    }
+}
@@ -0,0 +1,165 @@
+package com.ewaste.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.entity.User;
+
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The list, detail and search reads each come back in one statement, with
+ * the requester joined in and no image collection touched, however many
+ * rows and images there are.
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ewaste.repository.CapturedSql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class EwasteRequestSummaryReadTest {
+
+    private static final String EMAIL = "owner@example.com";
+
+    @Autowired
+    private EwasteRequestRepository requestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+
+        User user = new User();
+        user.setName("Owner");
+        user.setEmail(EMAIL);
+        entityManager.persist(user);
+
+        for (int i = 0; i < 5; i++) {
+
+            EwasteRequest request = new EwasteRequest();
+            request.setUser(user);
+            request.setDeviceType("Laptop");
+            request.setBrand("Brand " + i);
+            request.setModel("Model " + i);
+            request.setCondition(RequestCondition.WORKING);
+            request.setQuantity(1);
+            request.setPickupAddress("12 Main Road");
+            request.setStatus(RequestStatus.PENDING);
+            request.setImages(new ArrayList<>(List.of("aW1hZ2U=", "aW1hZ2U=")));
+            request.setImageContentTypes(new ArrayList<>(List.of("image/jpeg", "image/jpeg")));
+
+            entityManager.persist(request);
+            ids.add(request.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        CapturedSql.clear();
+    }
+
+    @Test
+    void firstPageOfMyRequestsIsOneStatement() {
+
+        List<EwasteRequestSummary> page = requestRepository.findFirstSummaryPageOfUser(EMAIL, PageRequest.of(0, 3));
+
+        assertThat(page).hasSize(3).allSatisfy(this::hasRequester);
+        assertSingleSummaryStatement();
+    }
+
+    @Test
+    void laterPageOfMyRequestsIsOneStatement() {
+
+        EwasteRequestSummary last = requestRepository.findFirstSummaryPageOfUser(EMAIL, PageRequest.of(0, 2)).get(1);
+        CapturedSql.clear();
+
+        List<EwasteRequestSummary> page = requestRepository.findSummaryPageOfUserAfter(
+                EMAIL, last.getCreatedAt(), last.getId(), PageRequest.of(0, 10));
+
+        assertThat(page).hasSize(3).allSatisfy(this::hasRequester);
+        assertSingleSummaryStatement();
+    }
+
+    @Test
+    void adminListIsOneStatement() {
+
+        List<EwasteRequestSummary> page = requestRepository.findSummaries(
+                EwasteRequestSpecifications.requesterEmailIs(EMAIL),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                10
+        );
+
+        assertThat(page).hasSize(5).allSatisfy(this::hasRequester);
+        assertSingleSummaryStatement();
+    }
+
+    @Test
+    void detailIsOneStatement() {
+
+        Optional<EwasteRequestSummary> detail = requestRepository.findSummaryByIdAndUserEmail(ids.get(2), EMAIL);
+
+        assertThat(detail).hasValueSatisfying(this::hasRequester);
+        assertSingleSummaryStatement();
+    }
+
+    @Test
+    void detailOfSomeoneElsesRequestIsOneStatementAndEmpty() {
+
+        assertThat(requestRepository.findSummaryByIdAndUserEmail(ids.get(2), "other@example.com")).isEmpty();
+        assertSingleSummaryStatement();
+    }
+
+    @Test
+    void searchHitsAreLoadedInOneStatement() {
+
+        List<EwasteRequestSummary> hits = requestRepository.findSummariesByIdIn(ids);
+
+        assertThat(hits).hasSize(5).allSatisfy(this::hasRequester);
+        assertSingleSummaryStatement();
+    }
+
+    @Test
+    void unrestrictedAdminListIsOneStatement() {
+
+        requestRepository.findSummaries(Specification.unrestricted(), Sort.by("id"), 100);
+
+        assertSingleSummaryStatement();
+    }
+
+    /* ---------- helpers ---------- */
+
+    private void hasRequester(EwasteRequestSummary summary) {
+        assertThat(summary.getRequesterName()).isEqualTo("Owner");
+        assertThat(summary.getRequesterEmail()).isEqualTo(EMAIL);
+    }
+
+    private void assertSingleSummaryStatement() {
+
+        List<String> statements = CapturedSql.statements();
+
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0))
+                .startsWith("select")
+                .contains("join users")
+                .doesNotContain("ewaste_request_images")
+                .doesNotContain("ewaste_request_image_types");
+    }
+}
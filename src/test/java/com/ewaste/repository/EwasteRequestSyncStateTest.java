@@ -0,0 +1,100 @@
+package com.ewaste.repository;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ewaste.dto.RequestSyncState;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.entity.User;
+
+import jakarta.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** A rename changes what every summary shows, so it has to change the validators too. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class EwasteRequestSyncStateTest {
+
+    private static final String EMAIL = "renamed@example.com";
+
+    @Autowired
+    private EwasteRequestRepository requestRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void renameChangesTheListEtagAndWatermark() {
+
+        User user = seed();
+
+        RequestSyncState before = requestRepository.findSyncState(EMAIL).orElseThrow();
+
+        rename(user, before.lastUpdatedAt().plusSeconds(5));
+
+        RequestSyncState after = requestRepository.findSyncState(EMAIL).orElseThrow();
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.watermark()).isEqualTo(after.profileUpdatedAt()).isAfter(before.watermark());
+        assertThat(after.requests()).isEqualTo(before.requests());
+    }
+
+    @Test
+    void detailVersionIsTheLaterOfUpdateAndRename() {
+
+        User user = seed();
+        Long id = requestRepository.findFirstSummaryPageOfUser(EMAIL, Pageable.ofSize(1))
+                .get(0).getId();
+
+        LocalDateTime updatedAt = requestRepository.findVersionOfUser(id, EMAIL).orElseThrow();
+
+        rename(user, updatedAt.minusDays(1));
+        assertThat(requestRepository.findVersionOfUser(id, EMAIL)).contains(updatedAt);
+
+        rename(user, updatedAt.plusSeconds(5));
+        assertThat(requestRepository.findVersionOfUser(id, EMAIL)).contains(updatedAt.plusSeconds(5));
+    }
+
+    private User seed() {
+
+        User user = new User();
+        user.setName("Before");
+        user.setEmail(EMAIL);
+        entityManager.persist(user);
+
+        EwasteRequest request = new EwasteRequest();
+        request.setUser(user);
+        request.setDeviceType("Laptop");
+        request.setBrand("Dell");
+        request.setModel("XPS");
+        request.setCondition(RequestCondition.WORKING);
+        request.setQuantity(1);
+        request.setPickupAddress("12 Main Road");
+        request.setStatus(RequestStatus.PENDING);
+        entityManager.persist(request);
+
+        entityManager.flush();
+
+        return user;
+    }
+
+    private void rename(User user, LocalDateTime at) {
+
+        User managed = entityManager.find(User.class, user.getId());
+        managed.setName("After " + at);
+        managed.setProfileUpdatedAt(at);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,295 @@
+package com.ewaste.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ewaste.dto.AdminRequestBatchItem;
+import com.ewaste.dto.AdminRequestBatchRequest;
+import com.ewaste.dto.AdminRequestBatchResult;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.PickupSlot;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.entity.User;
+import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.PickupSlotRepository;
+import com.ewaste.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Counts the JDBC round trips of a scheduling batch. Slot moves are netted
+ * per slot, so the statement count depends on the slots touched and not on
+ * the number of items.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AdminRequestBatchStatementsTest {
+
+    private static final LocalTime MORNING = LocalTime.of(9, 0);
+    private static final LocalTime NOON = LocalTime.of(12, 0);
+
+    @Autowired
+    private EwasteRequestService requestService;
+
+    @Autowired
+    private EwasteRequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PickupSlotRepository slotRepository;
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RoundTrips.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Test
+    void schedulingBatchWritesEachSlotOnce() {
+
+        String zone = "zone-" + UUID.randomUUID().toString().substring(0, 8);
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        List<Long> ids = seedPendingRequests(12);
+
+        List<AdminRequestBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            items.add(schedule(ids.get(i), day, i % 2 == 0 ? MORNING : NOON, zone));
+        }
+
+        AdminRequestBatchRequest batch = new AdminRequestBatchRequest();
+        batch.setUpdates(items);
+
+        List<AdminRequestBatchResult> results;
+
+        RoundTrips.start();
+        try {
+            results = requestService.adminUpdateRequests(batch);
+        } finally {
+            RoundTrips.stop();
+        }
+
+        assertThat(results).extracting(AdminRequestBatchResult::status).containsOnly(200);
+
+        List<String> statements = RoundTrips.statements();
+
+        // Requests with their users, then one capacity read per slot
+        assertThat(statements).filteredOn(sql -> sql.startsWith("select")).hasSize(3);
+
+        // One row created and one conditional update per slot, whatever the item count
+        assertThat(statements).filteredOn(sql -> sql.startsWith("insert into pickup_slots")).hasSize(2);
+        assertThat(statements).filteredOn(sql -> sql.startsWith("update pickup_slots")).hasSize(2);
+
+        // The request updates and outbox rows go out as JDBC batches
+        assertThat(statements).filteredOn(sql -> sql.startsWith("batch update ewaste_requests")).hasSize(1);
+        assertThat(statements).filteredOn(sql -> sql.startsWith("batch insert into request_outbox")).hasSize(1);
+        assertThat(statements).noneMatch(sql -> sql.startsWith("update ewaste_requests"));
+
+        assertThat(statements).hasSize(9);
+
+        assertThat(slotRepository.findByZoneAndDateBetween(zone, day, day))
+                .extracting(PickupSlot::getReserved)
+                .containsExactly(6, 6);
+    }
+
+    @Test
+    void reschedulingWithinABatchNetsOutPerSlot() {
+
+        String zone = "zone-" + UUID.randomUUID().toString().substring(0, 8);
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        List<Long> ids = seedPendingRequests(4);
+
+        AdminRequestBatchRequest first = new AdminRequestBatchRequest();
+        first.setUpdates(ids.stream().map(id -> schedule(id, day, MORNING, zone)).toList());
+        requestService.adminUpdateRequests(first);
+
+        // Two move to noon, one is rejected and one stays
+        AdminRequestBatchRequest second = new AdminRequestBatchRequest();
+        second.setUpdates(List.of(
+                schedule(ids.get(0), day, NOON, zone),
+                schedule(ids.get(1), day, NOON, zone),
+                reject(ids.get(2)),
+                schedule(ids.get(3), day, MORNING, zone)
+        ));
+
+        RoundTrips.start();
+        try {
+            assertThat(requestService.adminUpdateRequests(second))
+                    .extracting(AdminRequestBatchResult::status).containsOnly(200);
+        } finally {
+            RoundTrips.stop();
+        }
+
+        assertThat(RoundTrips.statements()).filteredOn(sql -> sql.startsWith("update pickup_slots")).hasSize(2);
+
+        assertThat(slotRepository.findByZoneAndDateBetween(zone, day, day))
+                .extracting(PickupSlot::getTime, PickupSlot::getReserved)
+                .containsExactlyInAnyOrder(
+                        tuple(MORNING, 1),
+                        tuple(NOON, 2));
+    }
+
+    /* ---------- helpers ---------- */
+
+    private List<Long> seedPendingRequests(int count) {
+
+        User user = new User();
+        user.setName("Owner");
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        userRepository.save(user);
+
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+
+            EwasteRequest request = new EwasteRequest();
+            request.setUser(user);
+            request.setDeviceType("Laptop");
+            request.setBrand("Dell");
+            request.setModel("XPS");
+            request.setCondition(RequestCondition.WORKING);
+            request.setQuantity(1);
+            request.setPickupAddress("12 Main Road");
+            request.setStatus(RequestStatus.PENDING);
+
+            ids.add(requestRepository.save(request).getId());
+        }
+
+        return ids;
+    }
+
+    private static AdminRequestBatchItem schedule(Long id, LocalDate day, LocalTime time, String zone) {
+
+        AdminRequestBatchItem item = new AdminRequestBatchItem();
+        item.setId(id);
+        item.setStatus("SCHEDULED");
+        item.setPickupDate(day);
+        item.setPickupTime(time);
+        item.setPickupZone(zone);
+
+        return item;
+    }
+
+    private static AdminRequestBatchItem reject(Long id) {
+
+        AdminRequestBatchItem item = new AdminRequestBatchItem();
+        item.setId(id);
+        item.setStatus("REJECTED");
+        item.setRejectionReason("Not accepted");
+
+        return item;
+    }
+
+    /**
+     * Records each statement sent to the database by the thread that called
+     * {@link #start}; a JDBC batch is one entry, prefixed with "batch ".
+     */
+    static final class RoundTrips {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+        private static volatile Thread recording;
+
+        static void start() {
+            synchronized (STATEMENTS) {
+                STATEMENTS.clear();
+            }
+            recording = Thread.currentThread();
+        }
+
+        static void stop() {
+            recording = null;
+        }
+
+        static List<String> statements() {
+            synchronized (STATEMENTS) {
+                return List.copyOf(STATEMENTS);
+            }
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+
+        private static Connection wrap(Connection connection) {
+
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                if (!(result instanceof Statement statement)) return result;
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(statement, sql);
+            });
+        }
+
+        private static Statement wrap(Statement statement, String preparedSql) {
+
+            Class<?> type = statement instanceof PreparedStatement
+                    ? PreparedStatement.class
+                    : Statement.class;
+
+            return (Statement) proxy(type, statement, (target, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("execute") && recording == Thread.currentThread()) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    String normalized = sql == null ? "" : sql.strip().replaceAll("\\s+", " ").toLowerCase();
+                    synchronized (STATEMENTS) {
+                        STATEMENTS.add(name.equals("executeBatch") ? "batch " + normalized : normalized);
+                    }
+                }
+                return method.invoke(target, args);
+            });
+        }
+
+        @FunctionalInterface
+        private interface Call {
+            Object invoke(Object target, Method method, Object[] args) throws Exception;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, Object target, Call call) {
+
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                try {
+                    return call.invoke(target, method, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ewaste.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.ewaste.repository.EwasteRequestRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EwasteRequestVersionTest {
+
+    private static final String EMAIL = "asha@example.com";
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private EwasteRequestRepository requestRepository;
+
+    @InjectMocks
+    private EwasteRequestService requestService;
+
+    @Test
+    void writeStampedJustBeforeTheWatermarkCountsAsChanged() {
+
+        // Stamped before Y's write that set the watermark, but committed after the client read it
+        when(requestRepository.findVersionOfUser(7L, EMAIL)).thenReturn(Optional.of(WATERMARK.minusSeconds(2)));
+
+        assertThat(version().changed()).isTrue();
+    }
+
+    @Test
+    void writesOlderThanTheOverlapAreUnchanged() {
+
+        when(requestRepository.findVersionOfUser(7L, EMAIL)).thenReturn(Optional.of(WATERMARK.minusMinutes(1)));
+
+        EwasteRequestService.RequestVersion version = version();
+
+        assertThat(version.changed()).isFalse();
+        assertThat(version.etag()).isEqualTo("W/\"7-" + WATERMARK.minusMinutes(1) + "\"");
+    }
+
+    @Test
+    void withoutASinceCursorTheRequestIsAlwaysChanged() {
+
+        when(requestRepository.findVersionOfUser(7L, EMAIL)).thenReturn(Optional.of(WATERMARK.minusMinutes(1)));
+
+        assertThat(requestService.getRequestVersion(EMAIL, 7L, null).changed()).isTrue();
+    }
+
+    private EwasteRequestService.RequestVersion version() {
+        return requestService.getRequestVersion(EMAIL, 7L, SyncCursor.of(WATERMARK).encode());
+    }
+}
@@ -0,0 +1,109 @@
+package com.ewaste.service;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GeohashTest {
+
+    @Test
+    void encodesKnownPoints() {
+
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(42.6, -5.6, 5)).isEqualTo("ezs42");
+        assertThat(Geohash.encode(0, 0, 1)).isEqualTo("s");
+        assertThat(Geohash.encode(-90, -180, 3)).isEqualTo("000");
+    }
+
+    @Test
+    void shorterHashIsAPrefixOfTheLongerOne() {
+
+        String full = Geohash.encode(12.9716, 77.5946, Geohash.MAX_PRECISION);
+
+        for (int precision = 1; precision < Geohash.MAX_PRECISION; precision++) {
+            assertThat(full).startsWith(Geohash.encode(12.9716, 77.5946, precision));
+        }
+    }
+
+    @Test
+    void boundsContainTheEncodedPoint() {
+
+        Geohash.Box box = Geohash.bounds(Geohash.encode(12.9716, 77.5946, 7));
+
+        assertThat(box.south()).isLessThanOrEqualTo(12.9716);
+        assertThat(box.north()).isGreaterThan(12.9716);
+        assertThat(box.west()).isLessThanOrEqualTo(77.5946);
+        assertThat(box.east()).isGreaterThan(77.5946);
+
+        Geohash.Box ezs42 = Geohash.bounds("ezs42");
+        assertThat(ezs42.south()).isCloseTo(42.583, within(0.001));
+        assertThat(ezs42.west()).isCloseTo(-5.625, within(0.001));
+    }
+
+    @Test
+    void boundsRejectCharactersOutsideTheAlphabet() {
+
+        assertThatThrownBy(() -> Geohash.bounds("ezs4a")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void coveringCellsAreTheCellAndItsEightNeighbours() {
+
+        List<String> cells = Geohash.coveringCells(42.6, -5.6, 2);
+
+        assertThat(cells).hasSize(9).doesNotHaveDuplicates();
+        assertThat(cells).allSatisfy(cell -> assertThat(cell).hasSize(cells.get(0).length()));
+        assertThat(cells).contains(Geohash.encode(42.6, -5.6, cells.get(0).length()));
+    }
+
+    @Test
+    void coveringCellsReachEveryPointWithinTheRadius() {
+
+        double latitude = 12.9716, longitude = 77.5946, radiusKm = 3;
+
+        List<String> cells = Geohash.coveringCells(latitude, longitude, radiusKm);
+        int precision = cells.get(0).length();
+
+        double dLat = radiusKm / 110.574;
+        double dLon = radiusKm / (111.320 * Math.cos(Math.toRadians(latitude)));
+
+        for (int degrees = 0; degrees < 360; degrees += 15) {
+
+            double angle = Math.toRadians(degrees);
+            double lat = latitude + dLat * Math.sin(angle);
+            double lon = longitude + dLon * Math.cos(angle);
+
+            assertThat(cells).contains(Geohash.encode(lat, lon, precision));
+        }
+    }
+
+    @Test
+    void coveringCellsWrapAroundTheAntimeridian() {
+
+        List<String> cells = Geohash.coveringCells(10, 179.999, 5);
+        int precision = cells.get(0).length();
+
+        assertThat(cells).contains(Geohash.encode(10, 179.999, precision));
+        assertThat(cells).contains(Geohash.encode(10, -179.999, precision));
+    }
+
+    @Test
+    void boundingBoxSpansEveryLongitudeAcrossTheAntimeridian() {
+
+        Geohash.Box inside = Geohash.boundingBox(0, 0, 111.32);
+        assertThat(inside.west()).isCloseTo(-1, within(1e-6));
+        assertThat(inside.east()).isCloseTo(1, within(1e-6));
+
+        Geohash.Box crossing = Geohash.boundingBox(0, 179.9, 50);
+        assertThat(crossing.west()).isEqualTo(-180);
+        assertThat(crossing.east()).isEqualTo(180);
+
+        Geohash.Box pole = Geohash.boundingBox(90, 0, 10);
+        assertThat(pole.north()).isEqualTo(90);
+        assertThat(pole.west()).isEqualTo(-180);
+    }
+}
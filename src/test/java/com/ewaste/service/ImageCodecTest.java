@@ -0,0 +1,150 @@
+package com.ewaste.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.storage.ImageFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageCodecTest {
+
+    @Test
+    void strippingDropsExifIptcAndCommentsButKeepsTheImage() throws IOException {
+
+        byte[] jpeg = withMetadata(ImageCodec.encodeJpeg(new BufferedImage(32, 16, BufferedImage.TYPE_INT_RGB), 0.8f));
+
+        byte[] stripped = ImageCodec.stripJpegMetadata(new ByteArrayInputStream(jpeg));
+
+        assertThat(contains(jpeg, "Exif")).isTrue();
+        assertThat(contains(stripped, "Exif")).isFalse();
+        assertThat(contains(stripped, "Photoshop 3.0")).isFalse();
+        assertThat(contains(stripped, "camera serial")).isFalse();
+        assertThat(contains(stripped, "ICC_PROFILE")).isTrue();
+        assertThat(contains(stripped, "JFIF")).isTrue();
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(stripped));
+        assertThat(decoded.getWidth()).isEqualTo(32);
+        assertThat(decoded.getHeight()).isEqualTo(16);
+    }
+
+    @Test
+    void strippingRefusesSomethingThatIsNotAJpeg() {
+
+        assertThatThrownBy(() -> ImageCodec.stripJpegMetadata(new ByteArrayInputStream(new byte[] {1, 2, 3})))
+                .isInstanceOf(IOException.class);
+
+        byte[] truncated = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0x10, 0x00, 'E', 'x'};
+
+        assertThatThrownBy(() -> ImageCodec.stripJpegMetadata(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void pixelLimitIsCheckedFromTheHeader() throws IOException {
+
+        byte[] png = png(200, 100);
+
+        assertThatThrownBy(() -> ImageCodec.readSubsampled(new ByteArrayInputStream(png), 64, 19_999))
+                .isInstanceOf(ImageCodec.TooManyPixelsException.class);
+        assertThatThrownBy(() -> ImageCodec.checkPixels(new ByteArrayInputStream(png), 19_999))
+                .isInstanceOf(ImageCodec.TooManyPixelsException.class);
+
+        assertThat(ImageCodec.readSubsampled(new ByteArrayInputStream(png), 64, 20_000)).isNotNull();
+        ImageCodec.checkPixels(new ByteArrayInputStream(png), 20_000);
+    }
+
+    @Test
+    void undecodableJpegIsStoredWithoutItsMetadata() throws IOException {
+
+        byte[] jpeg = withMetadata(ImageCodec.encodeJpeg(new BufferedImage(32, 16, BufferedImage.TYPE_INT_RGB), 0.8f));
+
+        // Arithmetic coding (SOF9) is valid JPEG that ImageIO cannot decode
+        byte[] arithmetic = jpeg.clone();
+        for (int i = 0; i + 1 < arithmetic.length; i++) {
+            if ((arithmetic[i] & 0xFF) == 0xFF && (arithmetic[i + 1] & 0xFF) == 0xC0) {
+                arithmetic[i + 1] = (byte) 0xC9;
+                break;
+            }
+        }
+
+        Optional<byte[]> stored = normalizer(40_000_000)
+                .normalize(new ByteArrayResource(arithmetic), ImageFormat.JPEG, arithmetic.length);
+
+        assertThat(stored).isPresent();
+        assertThat(contains(stored.get(), "Exif")).isFalse();
+        // Stripped rather than re-encoded: the colour profile survives
+        assertThat(contains(stored.get(), "ICC_PROFILE")).isTrue();
+    }
+
+    @Test
+    void normalizerRefusesTooManyPixels() throws IOException {
+
+        byte[] png = png(200, 100);
+
+        assertThatThrownBy(() -> normalizer(10_000).normalize(new ByteArrayResource(png), ImageFormat.PNG, png.length))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("megapixels");
+    }
+
+    private static ImageNormalizer normalizer(long maxPixels) {
+
+        ImageNormalizer normalizer = new ImageNormalizer();
+        ReflectionTestUtils.setField(normalizer, "enabled", true);
+        ReflectionTestUtils.setField(normalizer, "maxDimension", 1920);
+        ReflectionTestUtils.setField(normalizer, "quality", 0.85f);
+        ReflectionTestUtils.setField(normalizer, "maxPixels", maxPixels);
+
+        return normalizer;
+    }
+
+    // Inserts APP1 (EXIF), APP2 (ICC), APP13 (IPTC) and a comment right after SOI
+    private static byte[] withMetadata(byte[] jpeg) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        segment(out, 0xE1, "Exif\0\0MM\0*\0\0\0\bGPS 51.5N camera serial");
+        segment(out, 0xE2, "ICC_PROFILE\0\1\1profile");
+        segment(out, 0xED, "Photoshop 3.0\0IPTC");
+        segment(out, 0xFE, "camera serial 1234");
+        out.write(jpeg, 2, jpeg.length - 2);
+
+        return out.toByteArray();
+    }
+
+    private static void segment(ByteArrayOutputStream out, int marker, String payload) {
+
+        byte[] bytes = payload.getBytes(StandardCharsets.ISO_8859_1);
+        int length = bytes.length + 2;
+
+        out.write(0xFF);
+        out.write(marker);
+        out.write(length >> 8);
+        out.write(length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+
+        return out.toByteArray();
+    }
+
+    private static boolean contains(byte[] haystack, String needle) {
+        return new String(haystack, StandardCharsets.ISO_8859_1).contains(needle);
+    }
+}
@@ -0,0 +1,220 @@
+package com.ewaste.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.RequestImageRef;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.repository.BlobMetadataRepository;
+import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.RequestImageRepository;
+import com.ewaste.storage.BlobStore;
+import com.ewaste.storage.LocalFileSystemBlobStore;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ImageStorageServiceTest {
+
+    private static final long MAX_BYTES = 1024;
+
+    @TempDir
+    Path root;
+
+    private final BlobMetadataRepository blobMetadataRepository = mock(BlobMetadataRepository.class);
+    private final RequestImageRepository requestImageRepository = mock(RequestImageRepository.class);
+    private ImageStorageService imageStorageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        imageStorageService = service(new LocalFileSystemBlobStore(root.toString()));
+    }
+
+    // Normalization is mocked to keep uploads as-is, so the original part is what gets streamed
+    private ImageStorageService service(BlobStore blobStore) {
+
+        ImageStorageService service = new ImageStorageService(
+                blobStore,
+                blobMetadataRepository,
+                requestImageRepository,
+                mock(EwasteRequestRepository.class),
+                mock(ThumbnailService.class),
+                mock(ImageNormalizer.class),
+                Runnable::run,
+                mock(BlobGarbageCollector.class),
+                JsonMapper.builder().build()
+        );
+
+        ReflectionTestUtils.setField(service, "maxImageSizeBytes", MAX_BYTES);
+        ReflectionTestUtils.setField(service, "decodesPerUpload", 2);
+
+        return service;
+    }
+
+    /* ---------- INGEST ---------- */
+
+    @Test
+    void declaredSizeOverTheLimitIsRefusedBeforeReading() throws IOException {
+
+        MultipartFile image = mock(MultipartFile.class);
+        when(image.isEmpty()).thenReturn(false);
+        when(image.getSize()).thenReturn(MAX_BYTES + 1);
+
+        assertBadRequest(image, "at most");
+
+        verify(image, never()).getInputStream();
+        assertThat(storedFiles()).isEmpty();
+    }
+
+    @Test
+    void partLargerThanDeclaredIsCutOffWhileCopyingAndLeavesNothingBehind() throws IOException {
+
+        byte[] gif = new byte[(int) MAX_BYTES * 3];
+        System.arraycopy("GIF89a".getBytes(), 0, gif, 0, 6);
+
+        MultipartFile image = new MockMultipartFile("images", "tile.gif", "image/gif", gif) {
+            @Override
+            public long getSize() {
+                return 100;
+            }
+        };
+
+        assertBadRequest(image, "at most");
+
+        assertThat(storedFiles()).isEmpty();
+        verify(blobMetadataRepository, never()).insertIfAbsent(
+                anyString(), anyLong(), anyString(), anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void storedContentTypeComesFromTheMagicBytesNotTheClient() throws IOException {
+
+        MultipartFile image = new MockMultipartFile("images", "photo.jpg", "image/jpeg", png(4, 3));
+
+        imageStorageService.attachImages(new EwasteRequest(), new MultipartFile[] {image});
+
+        verify(blobMetadataRepository).insertIfAbsent(
+                anyString(), anyLong(), eq("image/png"), anyString(), eq(4), eq(3), eq((long) image.getSize()), any());
+        assertThat(storedFiles()).hasSize(1);
+    }
+
+    @Test
+    void partsThatAreNoKnownImageFormatAreRefused() throws IOException {
+
+        MultipartFile image = new MockMultipartFile("images", "photo.png", "image/png", "<svg onload=alert(1)>".getBytes());
+
+        assertBadRequest(image, "Only JPEG, PNG, GIF or WebP");
+
+        assertThat(storedFiles()).isEmpty();
+        verify(requestImageRepository, never()).save(any());
+    }
+
+    @Test
+    void emptyPartsAreSkipped() {
+
+        imageStorageService.attachImages(new EwasteRequest(), new MultipartFile[] {
+                null, new MockMultipartFile("images", "empty.png", "image/png", new byte[0])
+        });
+
+        verifyNoInteractions(blobMetadataRepository, requestImageRepository);
+    }
+
+    /* ---------- BATCH ---------- */
+
+    @Test
+    void unreadableBlobsBecomeErrorElementsAndTheArrayIsClosed() throws IOException {
+
+        BlobStore blobStore = mock(BlobStore.class);
+        when(blobStore.open("good")).thenAnswer(invocation -> new ByteArrayInputStream("tile".getBytes()));
+        when(blobStore.open("missing")).thenThrow(new NoSuchFileException("missing"));
+        when(blobStore.open("broken")).thenAnswer(invocation -> new SequenceInputStream(
+                new ByteArrayInputStream(new byte[4096]),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Input/output error");
+                    }
+                }));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service(blobStore).writeImageBatch(List.of(ref(1L, "good"), ref(2L, "missing"), ref(3L, "broken"), ref(4L, "good")), false, out);
+
+        JsonNode batch = JsonMapper.builder().build().readTree(out.toByteArray());
+
+        assertThat(batch.size()).isEqualTo(4);
+        assertThat(batch.get(0).get("base64Data").asString()).isEqualTo(Base64.getEncoder().encodeToString("tile".getBytes()));
+        assertThat(batch.get(0).has("error")).isFalse();
+        assertThat(batch.get(1).get("requestId").asLong()).isEqualTo(2);
+        assertThat(batch.get(1).has("base64Data")).isFalse();
+        assertThat(batch.get(1).get("error").asString()).isNotBlank();
+        assertThat(batch.get(2).get("error").asString()).isNotBlank();
+        assertThat(batch.get(3).get("base64Data").asString()).isNotEmpty();
+    }
+
+    /* ---------- HELPERS ---------- */
+
+    private static RequestImageRef ref(Long requestId, String blobKey) {
+        return new RequestImageRef(requestId, blobKey, "image/jpeg", null, "v1", LocalDateTime.of(2026, 1, 1, 12, 0));
+    }
+
+
+    private void assertBadRequest(MultipartFile image, String message) {
+
+        assertThatThrownBy(() -> imageStorageService.attachImages(new EwasteRequest(), new MultipartFile[] {image}))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(e.getReason()).contains(message);
+                });
+    }
+
+    // Blob files and leftover temp files alike
+    private List<Path> storedFiles() throws IOException {
+
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
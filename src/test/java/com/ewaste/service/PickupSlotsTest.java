@@ -0,0 +1,162 @@
+package com.ewaste.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.EwasteRequestRepository;
+import com.ewaste.repository.PickupSlotRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PickupSlotsTest {
+
+    private static final LocalTime MIDNIGHT = LocalTime.MIDNIGHT;
+    private static final LocalTime NOON = LocalTime.NOON;
+
+    private final PickupSlotRepository slotRepository = mock(PickupSlotRepository.class);
+    private final PickupSlotSettings settings = new PickupSlotSettings();
+    private final PickupSlots pickupSlots =
+            new PickupSlots(slotRepository, mock(EwasteRequestRepository.class), settings);
+
+    PickupSlotsTest() {
+        settings.setSlotTimes(List.of(MIDNIGHT, NOON));
+    }
+
+    @Test
+    void pickedUpRequestKeepsHoldingItsSlot() {
+
+        LocalDate day = LocalDate.now().minusDays(1);
+
+        assertThat(pickupSlots.heldBy(request(RequestStatus.PICKED_UP, day)))
+                .isEqualTo(new PickupSlots.Slot(day, NOON, "default"));
+        assertThat(pickupSlots.heldBy(request(RequestStatus.SCHEDULED, day))).isNotNull();
+        assertThat(pickupSlots.heldBy(request(RequestStatus.REJECTED, day))).isNull();
+    }
+
+    @Test
+    void slotThatHasStartedTodayCannotBeBooked() {
+
+        PickupSlots.Slot started = new PickupSlots.Slot(LocalDate.now(), MIDNIGHT, "default");
+
+        assertThatThrownBy(() -> inTransaction(() -> pickupSlots.move(null, started)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        verify(slotRepository, never()).findReserved(any(), any(), any());
+    }
+
+    @Test
+    void movesAreNettedPerSlotAndWrittenBeforeCommit() {
+
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        PickupSlots.Slot morning = new PickupSlots.Slot(tomorrow, MIDNIGHT, "default");
+        PickupSlots.Slot noon = new PickupSlots.Slot(tomorrow, NOON, "default");
+
+        when(slotRepository.findReserved(noon.date(), noon.time(), noon.zone())).thenReturn(Optional.of(2));
+        when(slotRepository.findReserved(morning.date(), morning.time(), morning.zone())).thenReturn(Optional.empty());
+        when(slotRepository.reserve(any(), any(), any(), anyInt(), anyInt())).thenReturn(1);
+
+        inTransaction(() -> {
+            pickupSlots.move(morning, noon);
+            pickupSlots.move(morning, noon);
+            pickupSlots.move(null, noon);
+            pickupSlots.move(null, morning);
+
+            verify(slotRepository, never()).reserve(any(), any(), any(), anyInt(), anyInt());
+        });
+
+        verify(slotRepository, times(1)).findReserved(noon.date(), noon.time(), noon.zone());
+        verify(slotRepository).reserve(noon.date(), noon.time(), noon.zone(), 3, 10);
+        verify(slotRepository).release(morning.date(), morning.time(), morning.zone(), 1);
+        verify(slotRepository, never()).createIfAbsent(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void slotIsFullOnceStoredAndPendingReservationsReachCapacity() {
+
+        PickupSlots.Slot slot = new PickupSlots.Slot(LocalDate.now().plusDays(1), NOON, "default");
+
+        when(slotRepository.findReserved(slot.date(), slot.time(), slot.zone())).thenReturn(Optional.of(8));
+        when(slotRepository.reserve(slot.date(), slot.time(), slot.zone(), 2, 10)).thenReturn(1);
+
+        inTransaction(() -> {
+            pickupSlots.move(null, slot);
+            pickupSlots.move(null, slot);
+
+            assertThatThrownBy(() -> pickupSlots.move(null, slot))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        });
+    }
+
+    @Test
+    void missingRowIsCreatedBeforeTheReservation() {
+
+        PickupSlots.Slot slot = new PickupSlots.Slot(LocalDate.now().plusDays(1), NOON, "default");
+
+        when(slotRepository.findReserved(slot.date(), slot.time(), slot.zone())).thenReturn(Optional.empty());
+        when(slotRepository.reserve(slot.date(), slot.time(), slot.zone(), 1, 10)).thenReturn(1);
+
+        inTransaction(() -> pickupSlots.move(null, slot));
+
+        verify(slotRepository).createIfAbsent(slot.date(), slot.time(), slot.zone(), 0);
+        verify(slotRepository).reserve(slot.date(), slot.time(), slot.zone(), 1, 10);
+    }
+
+    @Test
+    void losingTheRaceAtCommitIsAConflict() {
+
+        PickupSlots.Slot slot = new PickupSlots.Slot(LocalDate.now().plusDays(1), NOON, "default");
+
+        when(slotRepository.findReserved(slot.date(), slot.time(), slot.zone())).thenReturn(Optional.of(9));
+        when(slotRepository.reserve(slot.date(), slot.time(), slot.zone(), 1, 10)).thenReturn(0);
+
+        assertThatThrownBy(() -> inTransaction(() -> pickupSlots.move(null, slot)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    // Runs the body with transaction synchronization active, then fires beforeCommit
+    private static void inTransaction(Runnable body) {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            body.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+    }
+
+    private static EwasteRequest request(RequestStatus status, LocalDate day) {
+
+        EwasteRequest request = new EwasteRequest();
+        request.setStatus(status);
+        request.setPickupDate(day);
+        request.setPickupTime(NOON);
+
+        return request;
+    }
+}
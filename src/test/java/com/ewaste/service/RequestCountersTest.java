@@ -0,0 +1,106 @@
+package com.ewaste.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ewaste.dto.RequestCountRow;
+import com.ewaste.dto.RequestStats;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.EwasteRequestRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestCountersTest {
+
+    private static final RequestCounters.Snapshot NEW_LAPTOP =
+            new RequestCounters.Snapshot(RequestStatus.PENDING, RequestCondition.WORKING, "Laptop", LocalDate.now());
+
+    private final EwasteRequestRepository requestRepository = mock(EwasteRequestRepository.class);
+    private final RequestCounters counters = new RequestCounters(requestRepository);
+
+    @Test
+    void reconcileReplacesCountsWithTheGroupedTotals() {
+
+        when(requestRepository.countByStatusConditionAndDeviceType()).thenReturn(List.of(
+                new RequestCountRow(RequestStatus.PENDING, RequestCondition.WORKING, "Laptop", 3L),
+                new RequestCountRow(RequestStatus.SCHEDULED, RequestCondition.DEAD, "Phone", 2L)
+        ));
+        when(requestRepository.countByCreatedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(1L);
+
+        counters.reconcile();
+
+        RequestStats stats = counters.stats();
+
+        assertThat(stats.total()).isEqualTo(5);
+        assertThat(stats.submittedToday()).isEqualTo(1);
+        assertThat(stats.byStatus()).containsEntry(RequestStatus.PENDING, 3L).containsEntry(RequestStatus.SCHEDULED, 2L)
+                .containsEntry(RequestStatus.REJECTED, 0L);
+        assertThat(stats.byCondition()).containsEntry(RequestCondition.WORKING, 3L).containsEntry(RequestCondition.DEAD, 2L);
+        assertThat(stats.byDeviceType()).containsOnly(entry("Laptop", 3L), entry("Phone", 2L));
+    }
+
+    @Test
+    void movesOutsideATransactionApplyImmediately() {
+
+        counters.moveAfterCommit(null, NEW_LAPTOP);
+        counters.moveAfterCommit(NEW_LAPTOP, new RequestCounters.Snapshot(
+                RequestStatus.REJECTED, RequestCondition.WORKING, "Laptop", LocalDate.now()));
+
+        RequestStats stats = counters.stats();
+
+        assertThat(stats.total()).isEqualTo(1);
+        assertThat(stats.submittedToday()).isEqualTo(1);
+        assertThat(stats.byStatus()).containsEntry(RequestStatus.PENDING, 0L).containsEntry(RequestStatus.REJECTED, 1L);
+    }
+
+    @Test
+    void incrementRacingWithTheSwapIsLostUntilTheNextReconcile() {
+
+        // A create commits while the GROUP BY runs: its row is not in the result,
+        // and its increment lands on the counts that are about to be replaced
+        when(requestRepository.countByStatusConditionAndDeviceType()).thenAnswer(invocation -> {
+            counters.moveAfterCommit(null, NEW_LAPTOP);
+            return List.of(new RequestCountRow(RequestStatus.PENDING, RequestCondition.WORKING, "Laptop", 3L));
+        });
+        when(requestRepository.countByCreatedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(0L);
+
+        counters.reconcile();
+
+        assertThat(counters.stats().total()).isEqualTo(3);
+        assertThat(counters.stats().byStatus()).containsEntry(RequestStatus.PENDING, 3L);
+
+        // The next pass sees the committed row
+        when(requestRepository.countByStatusConditionAndDeviceType()).thenReturn(List.of(
+                new RequestCountRow(RequestStatus.PENDING, RequestCondition.WORKING, "Laptop", 4L)
+        ));
+        when(requestRepository.countByCreatedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(1L);
+
+        counters.reconcile();
+
+        RequestStats stats = counters.stats();
+
+        assertThat(stats.total()).isEqualTo(4);
+        assertThat(stats.submittedToday()).isEqualTo(1);
+        assertThat(stats.byStatus()).containsEntry(RequestStatus.PENDING, 4L);
+    }
+
+    @Test
+    void reconcileRecordsWhenItRan() {
+
+        when(requestRepository.countByStatusConditionAndDeviceType()).thenReturn(List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        counters.reconcile();
+
+        assertThat(counters.stats().reconciledAt()).isAfterOrEqualTo(before);
+        assertThat(counters.stats().total()).isZero();
+    }
+}
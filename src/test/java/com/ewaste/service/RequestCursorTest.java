@@ -0,0 +1,63 @@
+package com.ewaste.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCursorTest {
+
+    @Test
+    void roundTripsTheKeysetPosition() {
+
+        RequestCursor cursor = new RequestCursor(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+        assertThat(RequestCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsWholeMinutesAndLargeIds() {
+
+        RequestCursor cursor = new RequestCursor(LocalDateTime.of(2026, 1, 1, 0, 0), Long.MAX_VALUE);
+
+        assertThat(RequestCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesAsUrlSafeBase64WithoutPadding() {
+
+        for (long id = 1; id < 200; id++) {
+            String token = new RequestCursor(LocalDateTime.of(2026, 5, 1, 12, 30, 15, 123_000_000), id).encode();
+            assertThat(token).matches("[A-Za-z0-9_-]+");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "a+b/c=="})
+    void rejectsTokensThatAreNotUrlSafeBase64(String token) {
+
+        assertBadRequest(token);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2026-01-01T00:00", "|42", "nonsense|42", "2026-01-01T00:00|abc", "2026-13-01T00:00|42"})
+    void rejectsPayloadsItDidNotIssue(String raw) {
+
+        assertBadRequest(Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void assertBadRequest(String token) {
+
+        assertThatThrownBy(() -> RequestCursor.decode(token))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,180 @@
+package com.ewaste.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.ewaste.dto.EwasteRequestSummary;
+import com.ewaste.entity.EwasteRequest;
+import com.ewaste.entity.RequestCondition;
+import com.ewaste.entity.RequestStatus;
+import com.ewaste.repository.EwasteRequestRepository;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestExporterTest {
+
+    private static final Specification<EwasteRequest> ALL = Specification.unrestricted();
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final EwasteRequestRepository requestRepository = mock(EwasteRequestRepository.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final RequestExporter exporter = new RequestExporter(requestRepository, objectMapper);
+
+    RequestExporterTest() {
+        ReflectionTestUtils.setField(exporter, "fetchSize", 500);
+    }
+
+    @Test
+    void csvStartsWithABomAndHeaderAndQuotesWhatNeedsIt() throws IOException {
+
+        when(requestRepository.streamSummaries(ALL, BY_ID, 500)).thenReturn(Stream.of(
+                row(1L, "Laptop", "Dell, Inc.", "said \"fragile\""),
+                row(2L, "Phone", null, "=HYPERLINK(\"http://x\")")
+        ));
+
+        String csv = export(RequestExporter.Format.CSV);
+        String[] lines = csv.split("\r\n");
+
+        assertThat(csv).startsWith("\uFEFFid,createdAt,updatedAt,status,deviceType,brand,");
+        assertThat(csv).endsWith("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).startsWith("1,2026-01-02T10:15,,PENDING,Laptop,\"Dell, Inc.\",X1,WORKING,2,");
+        assertThat(lines[1]).contains(",\"said \"\"fragile\"\"\",");
+        assertThat(lines[2]).startsWith("2,2026-01-02T10:15,,PENDING,Phone,,X1,");
+        assertThat(lines[2]).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+
+        when(requestRepository.streamSummaries(ALL, BY_ID, 500)).thenReturn(Stream.of(
+                row(1L, "Laptop", "Dell", "multi\nline"),
+                row(2L, "Phone", "Nokia", null)
+        ));
+
+        String ndjson = export(RequestExporter.Format.NDJSON);
+        String[] lines = ndjson.split("\n");
+
+        assertThat(ndjson).doesNotStartWith("\uFEFF").endsWith("\n");
+        assertThat(lines).hasSize(2);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(first.get("additionalRemarks").asString()).isEqualTo("multi\nline");
+        assertThat(objectMapper.readTree(lines[1]).get("brand").asString()).isEqualTo("Nokia");
+    }
+
+    @Test
+    void rowsAreWrittenWhileTheCursorIsStillBeingReadAndTheCursorIsClosed() throws IOException {
+
+        int total = 20_000;
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger readAtFirstWrite = new AtomicInteger(-1);
+        AtomicBoolean closed = new AtomicBoolean();
+
+        Stream<EwasteRequestSummary> rows = Stream.iterate(1L, id -> id <= total, id -> id + 1)
+                .map(id -> row(id, "Laptop", "Dell", "remark " + id))
+                .peek(row -> read.incrementAndGet())
+                .onClose(() -> closed.set(true));
+
+        when(requestRepository.streamSummaries(any(), any(), anyInt())).thenReturn(rows);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream out = new OutputStream() {
+
+            @Override
+            public void write(int b) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                readAtFirstWrite.compareAndSet(-1, read.get());
+                bytes.write(buffer, offset, length);
+            }
+        };
+
+        exporter.write(ALL, BY_ID, RequestExporter.Format.CSV, out);
+
+        assertThat(read.get()).isEqualTo(total);
+        assertThat(readAtFirstWrite.get()).isBetween(1, total - 1);
+        assertThat(closed).isTrue();
+        assertThat(bytes.toString(StandardCharsets.UTF_8).split("\r\n")).hasSize(total + 1);
+    }
+
+    @Test
+    void theCursorIsClosedWhenTheClientGoesAway() {
+
+        AtomicBoolean closed = new AtomicBoolean();
+
+        Stream<EwasteRequestSummary> rows = Stream.iterate(1L, id -> id + 1)
+                .map(id -> row(id, "Laptop", "Dell", "remark " + id))
+                .onClose(() -> closed.set(true));
+
+        when(requestRepository.streamSummaries(eq(ALL), eq(BY_ID), anyInt())).thenReturn(rows);
+
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> exporter.write(ALL, BY_ID, RequestExporter.Format.NDJSON, disconnected))
+                .isInstanceOf(IOException.class);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void formatDefaultsToCsvAndRejectsAnythingElse() {
+
+        assertThat(RequestExporter.Format.fromInput(null)).isEqualTo(RequestExporter.Format.CSV);
+        assertThat(RequestExporter.Format.fromInput(" ")).isEqualTo(RequestExporter.Format.CSV);
+        assertThat(RequestExporter.Format.fromInput(" NDjson ")).isEqualTo(RequestExporter.Format.NDJSON);
+
+        assertThatThrownBy(() -> RequestExporter.Format.fromInput("xlsx"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private String export(RequestExporter.Format format) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.write(ALL, BY_ID, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static EwasteRequestSummary row(Long id, String deviceType, String brand, String remarks) {
+
+        return new EwasteRequestSummary(
+                id, deviceType, brand, "X1", RequestCondition.WORKING, 2, "12 Main St", null, null, remarks,
+                RequestStatus.PENDING, LocalDate.of(2026, 1, 5), LocalTime.of(10, 0), "NORTH", null, null, null,
+                "Asha", "asha@example.com", LocalDateTime.of(2026, 1, 2, 10, 15), null
+        );
+    }
+}
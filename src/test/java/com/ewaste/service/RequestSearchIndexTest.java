@@ -0,0 +1,132 @@
+package com.ewaste.service;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.ewaste.dto.RequestSearchDocument;
+import com.ewaste.repository.EwasteRequestRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestSearchIndexTest {
+
+    private final EwasteRequestRepository requestRepository = mock(EwasteRequestRepository.class);
+    private final RequestSearchIndex index = new RequestSearchIndex(requestRepository);
+
+    @Test
+    void tokensAreLowercasedAccentFoldedWordsAndNumbers() {
+
+        assertThat(RequestSearchIndex.tokenize("Café-Crème  iPhone_12, 3 Ünits"))
+                .containsExactly("cafe", "creme", "iphone", "12", "3", "units");
+        assertThat(RequestSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(RequestSearchIndex.tokenize(null)).isEmpty();
+        assertThat(RequestSearchIndex.tokenize("--!!--")).isEmpty();
+    }
+
+    @Test
+    void brandMatchesOutrankRemarkMatches() {
+
+        index.indexAfterCommit(document(1L, "Laptop", "Dell", "XPS", "the dell charger is missing", null));
+        index.indexAfterCommit(document(2L, "Laptop", "Lenovo", "T480", "came with a dell charger", null));
+        index.indexAfterCommit(document(3L, "Monitor", "Dell", "U2419", null, null));
+        index.indexAfterCommit(document(4L, "Phone", "Nokia", "3310", null, null));
+
+        RequestSearchIndex.SearchHits hits = index.search("DELL", 0, 10);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.ids()).last().isEqualTo(2L);
+        assertThat(hits.ids()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void rarerTermsWeighMore() {
+
+        index.indexAfterCommit(document(1L, "Laptop", "Acme", null, null, null));
+        index.indexAfterCommit(document(2L, "Laptop", "Acme", null, null, null));
+        index.indexAfterCommit(document(3L, "Laptop", "Zenith", null, null, null));
+        index.indexAfterCommit(document(4L, "Laptop", "Acme", null, null, null));
+
+        // Both match one term; the rarer brand decides
+        assertThat(index.search("acme zenith", 0, 10).ids()).first().isEqualTo(3L);
+    }
+
+    @Test
+    void onlyTheLastTermMatchesAsAPrefix() {
+
+        index.indexAfterCommit(document(1L, "Phone", "Samsung", "Galaxy", null, null));
+        index.indexAfterCommit(document(2L, "Tablet", "Apple", "iPad", null, null));
+
+        assertThat(index.search("sams", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("sams ipad", 0, 10).ids()).containsExactly(2L);
+        assertThat(index.search("ipad s", 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    void equalScoresListTheNewestFirstAndPageThroughTheRanking() {
+
+        for (long id = 1; id <= 5; id++) {
+            index.indexAfterCommit(document(id, "Printer", null, null, null, null));
+        }
+
+        assertThat(index.search("printer", 0, 2).ids()).containsExactly(5L, 4L);
+        assertThat(index.search("printer", 4, 2).ids()).containsExactly(1L);
+        assertThat(index.search("printer", 9, 2).ids()).isEmpty();
+        assertThat(index.search("printer", 9, 2).total()).isEqualTo(5);
+    }
+
+    @Test
+    void updatesReplaceOldTermsAndRemovalsDropTheRequest() {
+
+        index.indexAfterCommit(document(1L, "Laptop", "Dell", null, null, null));
+        index.indexAfterCommit(document(1L, "Laptop", "HP", null, null, null));
+        index.indexAfterCommit(document(2L, "Phone", "Dell", null, null, null));
+
+        assertThat(index.search("dell", 0, 10).ids()).containsExactly(2L);
+        assertThat(index.search("hp", 0, 10).ids()).containsExactly(1L);
+
+        index.removeAfterCommit(2L);
+
+        assertThat(index.search("dell", 0, 10).total()).isZero();
+        assertThat(index.search("laptop", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void rebuildLoadsEveryBatchAndDropsWhatWasThereBefore() {
+
+        index.indexAfterCommit(document(99L, "Stale", null, null, null, null));
+
+        when(requestRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(document(1L, "Laptop", null, null, null, null), document(2L, "Laptop", null, null, null, null)));
+        when(requestRepository.findSearchDocumentsAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(document(7L, "Laptop", null, null, null, null)));
+        when(requestRepository.findSearchDocumentsAfter(eq(7L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        index.rebuild();
+
+        assertThat(index.search("laptop", 0, 10).ids()).containsExactly(7L, 2L, 1L);
+        assertThat(index.search("stale", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void blankQueriesAndAnEmptyIndexFindNothing() {
+
+        assertThat(index.search("laptop", 0, 10).total()).isZero();
+
+        index.indexAfterCommit(document(1L, "Laptop", null, null, null, null));
+
+        assertThat(index.search(" ,. ", 0, 10).total()).isZero();
+    }
+
+    private static RequestSearchDocument document(
+            Long id, String deviceType, String brand, String model, String remarks, String address) {
+
+        return new RequestSearchDocument(id, deviceType, brand, model, remarks, address);
+    }
+}
@@ -0,0 +1,131 @@
+package com.ewaste.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RouteSolverTest {
+
+    private static final long NO_BUDGET = 0;
+    private static final long BUDGET = 2_000_000_000L;
+
+    @Test
+    void distanceIsGreatCircle() {
+
+        RouteSolver.Point origin = new RouteSolver.Point(0, 0);
+
+        assertThat(RouteSolver.distanceKm(origin, origin)).isZero();
+        assertThat(RouteSolver.distanceKm(origin, new RouteSolver.Point(1, 0))).isCloseTo(111.19, within(0.01));
+        assertThat(RouteSolver.distanceKm(origin, new RouteSolver.Point(0, 180))).isCloseTo(20015.1, within(0.1));
+    }
+
+    @Test
+    void trivialRoutes() {
+
+        assertThat(RouteSolver.order(null, List.of(), BUDGET)).isEmpty();
+        assertThat(RouteSolver.order(null, List.of(new RouteSolver.Point(1, 1)), BUDGET)).containsExactly(0);
+    }
+
+    @Test
+    void stopsOnALineAreVisitedInOrderFromTheStart() {
+
+        List<RouteSolver.Point> stops = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            stops.add(new RouteSolver.Point(12.9, 77.5 + i * 0.01));
+        }
+        Collections.shuffle(stops, new Random(7));
+
+        int[] order = RouteSolver.order(new RouteSolver.Point(12.9, 77.5), stops, BUDGET);
+
+        double[] longitudes = Arrays.stream(order).mapToDouble(index -> stops.get(index).longitude()).toArray();
+        assertThat(longitudes).isSorted();
+    }
+
+    @Test
+    void withoutAStartTheRouteBeginsAtTheOutermostStop() {
+
+        List<RouteSolver.Point> stops = List.of(
+                new RouteSolver.Point(12.90, 77.52),
+                new RouteSolver.Point(12.90, 77.60),
+                new RouteSolver.Point(12.90, 77.51),
+                new RouteSolver.Point(12.90, 77.53)
+        );
+
+        int[] order = RouteSolver.order(null, stops, BUDGET);
+
+        assertThat(order).containsExactly(1, 3, 0, 2);
+    }
+
+    @Test
+    void twoOptNeverLengthensTheNearestNeighbourTourAndLeavesNoImprovingMove() {
+
+        RouteSolver.Point start = new RouteSolver.Point(12.97, 77.59);
+        List<RouteSolver.Point> stops = randomStops(60, new Random(42));
+
+        int[] greedy = RouteSolver.order(start, stops, NO_BUDGET);
+        int[] improved = RouteSolver.order(start, stops, BUDGET);
+
+        assertThat(improved).containsExactlyInAnyOrder(greedy);
+        assertThat(length(start, stops, improved)).isLessThan(length(start, stops, greedy));
+
+        // A 2-opt optimum: no segment reversal shortens the path any further
+        double best = length(start, stops, improved);
+
+        for (int i = 0; i < improved.length - 1; i++) {
+            for (int j = i + 1; j < improved.length; j++) {
+                int[] reversed = improved.clone();
+                reverse(reversed, i, j);
+                assertThat(length(start, stops, reversed)).isGreaterThan(best - 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void largeRoutesWithoutTheDistanceMatrixStillVisitEveryStop() {
+
+        List<RouteSolver.Point> stops = randomStops(1200, new Random(3));
+
+        int[] order = RouteSolver.order(null, stops, 50_000_000L);
+
+        assertThat(order).containsExactlyInAnyOrder(IntStream.range(0, stops.size()).toArray());
+    }
+
+    private static List<RouteSolver.Point> randomStops(int count, Random random) {
+
+        List<RouteSolver.Point> stops = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            stops.add(new RouteSolver.Point(12.9 + random.nextDouble() * 0.2, 77.5 + random.nextDouble() * 0.2));
+        }
+        return stops;
+    }
+
+    private static double length(RouteSolver.Point start, List<RouteSolver.Point> stops, int[] order) {
+
+        double total = 0;
+        RouteSolver.Point position = start;
+
+        for (int index : order) {
+            total += RouteSolver.distanceKm(position, stops.get(index));
+            position = stops.get(index);
+        }
+
+        return total;
+    }
+
+    private static void reverse(int[] order, int from, int to) {
+
+        while (from < to) {
+            int swap = order[from];
+            order[from++] = order[to];
+            order[to--] = swap;
+        }
+    }
+}
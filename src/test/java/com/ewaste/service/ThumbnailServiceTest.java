@@ -0,0 +1,92 @@
+package com.ewaste.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ewaste.entity.BlobMetadata;
+import com.ewaste.repository.BlobMetadataRepository;
+import com.ewaste.storage.BlobStore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ThumbnailServiceTest {
+
+    private final BlobStore blobStore = mock(BlobStore.class);
+    private final BlobMetadataRepository blobMetadataRepository = mock(BlobMetadataRepository.class);
+    private final ThumbnailService thumbnailService = new ThumbnailService(blobStore, blobMetadataRepository, Runnable::run);
+
+    ThumbnailServiceTest() {
+        ReflectionTestUtils.setField(thumbnailService, "maxDimension", 320);
+        ReflectionTestUtils.setField(thumbnailService, "quality", 0.8f);
+        ReflectionTestUtils.setField(thumbnailService, "maxPixels", 40_000_000L);
+    }
+
+    @Test
+    void undecodableOriginalIsRecordedAsHavingNoThumbnail() throws IOException {
+
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 not really".getBytes(StandardCharsets.ISO_8859_1);
+        when(blobStore.open("webp")).thenAnswer(invocation -> new ByteArrayInputStream(webp));
+
+        assertThat(thumbnailService.ensureThumbnail(metadata("webp", false))).isEmpty();
+
+        verify(blobMetadataRepository).markThumbnailFailed("webp");
+        verify(blobStore, never()).putAt(anyString(), any(), anyLong());
+    }
+
+    @Test
+    void recordedFailureServesTheOriginalWithoutDecodingAgain() {
+
+        assertThat(thumbnailService.ensureThumbnail(metadata("webp", true))).isEmpty();
+
+        verifyNoInteractions(blobStore, blobMetadataRepository);
+    }
+
+    @Test
+    void aFailedReadIsNotRecorded() throws IOException {
+
+        when(blobStore.open("jpeg")).thenThrow(new IOException("Input/output error"));
+
+        assertThat(thumbnailService.ensureThumbnail(metadata("jpeg", false))).isEmpty();
+
+        verify(blobMetadataRepository, never()).markThumbnailFailed(anyString());
+    }
+
+    @Test
+    void decodableOriginalGetsAThumbnail() throws IOException {
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), "png", png);
+        when(blobStore.open("png")).thenAnswer(invocation -> new ByteArrayInputStream(png.toByteArray()));
+
+        assertThat(thumbnailService.ensureThumbnail(metadata("png", false))).isEqualTo(Optional.of("png.thumb"));
+
+        verify(blobStore).putAt(anyString(), any(), anyLong());
+        verify(blobMetadataRepository).updateThumbnailKey("png", "png.thumb");
+        verify(blobMetadataRepository, never()).markThumbnailFailed(anyString());
+    }
+
+    private static BlobMetadata metadata(String blobKey, boolean thumbnailFailed) {
+
+        BlobMetadata metadata = new BlobMetadata();
+        metadata.setBlobKey(blobKey);
+        metadata.setThumbnailFailed(thumbnailFailed);
+        return metadata;
+    }
+}
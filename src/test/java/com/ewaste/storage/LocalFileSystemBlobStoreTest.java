@@ -0,0 +1,216 @@
+package com.ewaste.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalFileSystemBlobStoreTest {
+
+    private static final byte[] PHOTO = "jpeg bytes of a broken laptop".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    @Test
+    void identicalContentIsStoredOnceUnderItsHash() throws Exception {
+
+        LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        StoredBlob first = store.put(stream(PHOTO), 1024);
+        StoredBlob second = store.put(stream(PHOTO), 1024);
+
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(PHOTO));
+
+        assertThat(first).isEqualTo(new StoredBlob(sha256, PHOTO.length, sha256));
+        assertThat(second).isEqualTo(first);
+        assertThat(store.localFile(sha256)).contains(
+                root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256));
+        assertThat(blobFiles()).hasSize(1);
+        assertThat(tempFiles()).isEmpty();
+
+        try (InputStream in = store.open(sha256)) {
+            assertThat(in.readAllBytes()).isEqualTo(PHOTO);
+        }
+    }
+
+    @Test
+    void reusingContentRefreshesTheModificationTime() throws IOException {
+
+        LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        String key = store.put(stream(PHOTO), 1024).key();
+        Path file = store.localFile(key).orElseThrow();
+        Instant longAgo = Instant.now().minus(2, ChronoUnit.HOURS);
+        Files.setLastModifiedTime(file, FileTime.from(longAgo));
+
+        store.put(stream(PHOTO), 1024);
+
+        assertThat(Files.getLastModifiedTime(file).toInstant()).isAfter(longAgo.plus(1, ChronoUnit.HOURS));
+    }
+
+    @Test
+    void collectionSkipsABlobReusedAfterItWasReleased() throws IOException {
+
+        LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        String key = store.put(stream(PHOTO), 1024).key();
+        Path file = store.localFile(key).orElseThrow();
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+
+        Instant releasedAt = Instant.now().minus(1, ChronoUnit.HOURS);
+
+        store.put(stream(PHOTO), 1024);
+        assertThat(store.deleteIfUnmodifiedSince(key, releasedAt)).isFalse();
+        assertThat(store.exists(key)).isTrue();
+
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+        assertThat(store.deleteIfUnmodifiedSince(key, releasedAt)).isTrue();
+        assertThat(store.exists(key)).isFalse();
+        assertThat(store.deleteIfUnmodifiedSince(key, releasedAt)).isFalse();
+    }
+
+    @Test
+    void uploadsRacingWithCollectionAlwaysLeaveTheBlobInPlace() throws Exception {
+
+        LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        // The last reference was dropped a moment ago; the file itself is older than that
+        String key = store.put(stream(PHOTO), 1024).key();
+        Files.setLastModifiedTime(store.localFile(key).orElseThrow(), FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+        Instant releasedAt = Instant.now().minusSeconds(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        AtomicBoolean uploading = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+
+            Future<?> collector = pool.submit(() -> {
+                start.await();
+                while (uploading.get()) {
+                    store.deleteIfUnmodifiedSince(key, releasedAt);
+                }
+                return null;
+            });
+
+            List<Future<Integer>> uploads = new ArrayList<>();
+
+            for (int thread = 0; thread < 4; thread++) {
+                uploads.add(pool.submit(() -> {
+                    start.await();
+                    int missing = 0;
+                    for (int i = 0; i < 200; i++) {
+                        // Once put returns, the blob is newer than the release and must not be collected
+                        store.put(stream(PHOTO), 1024);
+                        if (!store.exists(key)) missing++;
+                    }
+                    return missing;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Integer> upload : uploads) {
+                assertThat(upload.get(30, TimeUnit.SECONDS)).isZero();
+            }
+
+            uploading.set(false);
+            collector.get(30, TimeUnit.SECONDS);
+
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(store.deleteIfUnmodifiedSince(key, releasedAt)).isFalse();
+        try (InputStream in = store.open(key)) {
+            assertThat(in.readAllBytes()).isEqualTo(PHOTO);
+        }
+        assertThat(blobFiles()).hasSize(1);
+        assertThat(tempFiles()).isEmpty();
+    }
+
+    @Test
+    void oversizedUploadsLeaveNothingBehind() throws IOException {
+
+        LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        assertThatThrownBy(() -> store.put(stream(PHOTO), PHOTO.length - 1))
+                .isInstanceOfSatisfying(BlobTooLargeException.class,
+                        e -> assertThat(e.getMaxBytes()).isEqualTo(PHOTO.length - 1));
+
+        assertThat(blobFiles()).isEmpty();
+        assertThat(tempFiles()).isEmpty();
+    }
+
+    @Test
+    void putAtReplacesTheBlobAndReportsTheContentHash() throws Exception {
+
+        LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+        byte[] thumbnail = "thumbnail".getBytes(StandardCharsets.UTF_8);
+
+        store.putAt("thumb-42", stream(PHOTO), 1024);
+        StoredBlob replaced = store.putAt("thumb-42", stream(thumbnail), 1024);
+
+        assertThat(replaced.key()).isEqualTo("thumb-42");
+        assertThat(replaced.size()).isEqualTo(thumbnail.length);
+        assertThat(replaced.checksum())
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(thumbnail)));
+        assertThat(store.size("thumb-42")).isEqualTo(thumbnail.length);
+
+        store.delete("thumb-42");
+        store.delete("thumb-42");
+
+        assertThat(store.exists("thumb-42")).isFalse();
+    }
+
+    @Test
+    void keysThatCouldEscapeTheRootAreRejected() throws IOException {
+
+        LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        assertThatThrownBy(() -> store.open("../../etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.exists("ab")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.delete(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private List<Path> blobFiles() throws IOException {
+
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).filter(file -> !file.startsWith(root.resolve("tmp"))).toList();
+        }
+    }
+
+    private List<Path> tempFiles() throws IOException {
+
+        try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+            return files.toList();
+        }
+    }
+}